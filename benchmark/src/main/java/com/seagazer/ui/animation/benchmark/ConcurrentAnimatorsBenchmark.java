@@ -0,0 +1,95 @@
+package com.seagazer.ui.animation.benchmark;
+
+import com.seagazer.ui.animation.AnimationHandler;
+import com.seagazer.ui.animation.ManualFrameSource;
+import com.seagazer.ui.animation.ValueAnimator;
+import ohos.agp.animation.Animator;
+import ohos.agp.components.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of one frame of many concurrent animators, each one moves its own component. Compare the score of
+ * 500 animators with 500 times the score of 1 animator to see the overhead of the shared frame driver.
+ * <p>
+ * The "repeat" run measures one frame of infinite animators. The "end" and "cancel" runs measure a whole run
+ * of one frame: all the animators are started, play one frame, and then end together in the next frame or are
+ * canceled together, so the cost of leaving the frame driver is included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConcurrentAnimatorsBenchmark {
+    @Param({"1", "500"})
+    public int animatorCount;
+    @Param({"repeat", "end", "cancel"})
+    public String run;
+    private ManualFrameSource frameSource;
+    private Component[] components;
+    private ValueAnimator[] animators;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        frameSource = new ManualFrameSource();
+        AnimationHandler.getInstance().setFrameSource(frameSource);
+        // the animators hold the targets weakly
+        components = new Component[animatorCount];
+        animators = new ValueAnimator[animatorCount];
+        for (int i = 0; i < animatorCount; i++) {
+            components[i] = new Component();
+            ValueAnimator animator = ValueAnimator.ofObject(components[i], 0f, 1000f,
+                    ValueAnimator.Property.TRANSLATION_X);
+            if ("repeat".equals(run)) {
+                animator.setDuration(Frames.DURATION);
+                animator.setRepeatCount(Animator.INFINITE);
+                animator.start();
+            } else {
+                animator.setDuration(Frames.INTERVAL);
+            }
+            animators[i] = animator;
+        }
+        Frames.warmUp(frameSource);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (ValueAnimator animator : animators) {
+            animator.cancel();
+        }
+    }
+
+    @Benchmark
+    public void frame() {
+        if ("repeat".equals(run)) {
+            frameSource.advance(Frames.INTERVAL);
+            return;
+        }
+        for (ValueAnimator animator : animators) {
+            animator.start();
+        }
+        frameSource.advance(Frames.INTERVAL);
+        if ("end".equals(run)) {
+            frameSource.advance(Frames.INTERVAL);
+        } else {
+            for (ValueAnimator animator : animators) {
+                animator.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.seagazer.ui.animation.benchmark;
+
+import com.seagazer.ui.animation.ManualFrameSource;
+
+/**
+ * The frame settings shared by the benchmarks, one benchmark operation is one frame.
+ */
+final class Frames {
+    /**
+     * The interval of frames, 60fps.
+     */
+    static final long INTERVAL = 16;
+    /**
+     * The duration of the animators, they repeat infinitely so the benchmarks never reach the end.
+     */
+    static final long DURATION = 1000;
+
+    private Frames() {
+    }
+
+    /**
+     * Deliver the first frame which takes the start time, so every measured frame does a full update.
+     *
+     * @param frameSource The frame source of the benchmark.
+     */
+    static void warmUp(ManualFrameSource frameSource) {
+        frameSource.advance(INTERVAL);
+    }
+}
@@ -0,0 +1,82 @@
+package com.seagazer.ui.animation.benchmark;
+
+import com.seagazer.ui.animation.AnimationHandler;
+import com.seagazer.ui.animation.ManualFrameSource;
+import com.seagazer.ui.animation.ValueAnimator;
+import ohos.agp.animation.Animator;
+import ohos.agp.components.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of one frame of fading 500 components with the same values, by one animator for each component or by
+ * one animator bound to all of them. The "WIDTH" property is buffered by the layout write buffer of the frame,
+ * one slot for each of the 500 components.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MultiTargetBenchmark {
+    @Param({"false", "true"})
+    public boolean shared;
+    @Param({"ALPHA", "WIDTH"})
+    public ValueAnimator.Property property;
+    private final int targetCount = 500;
+    private ManualFrameSource frameSource;
+    private Component[] components;
+    private ValueAnimator[] animators;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        frameSource = new ManualFrameSource();
+        AnimationHandler.getInstance().setFrameSource(frameSource);
+        // the animators hold the targets weakly
+        components = new Component[targetCount];
+        for (int i = 0; i < targetCount; i++) {
+            components[i] = new Component();
+        }
+        if (shared) {
+            animators = new ValueAnimator[]{
+                    ValueAnimator.ofObject(components, 0f, 100f, property)};
+        } else {
+            animators = new ValueAnimator[targetCount];
+            for (int i = 0; i < targetCount; i++) {
+                animators[i] = ValueAnimator.ofObject(components[i], 0f, 100f, property);
+            }
+        }
+        for (ValueAnimator animator : animators) {
+            animator.setDuration(Frames.DURATION);
+            animator.setRepeatCount(Animator.INFINITE);
+            animator.start();
+        }
+        Frames.warmUp(frameSource);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (ValueAnimator animator : animators) {
+            animator.cancel();
+        }
+    }
+
+    @Benchmark
+    public void frame() {
+        frameSource.advance(Frames.INTERVAL);
+    }
+}
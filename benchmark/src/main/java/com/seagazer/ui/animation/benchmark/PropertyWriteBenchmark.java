@@ -0,0 +1,78 @@
+package com.seagazer.ui.animation.benchmark;
+
+import com.seagazer.ui.animation.AnimationHandler;
+import com.seagazer.ui.animation.ManualFrameSource;
+import com.seagazer.ui.animation.PropertyValuesHolder;
+import com.seagazer.ui.animation.ValueAnimator;
+import ohos.agp.animation.Animator;
+import ohos.agp.components.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of one frame of a single animator writing 1 to 8 properties of a component. The properties are
+ * taken in the declared order, so 7 and 8 include the buffered width and height. The "shared" values write one
+ * value to all the properties, the "holders" give each property its own {@link PropertyValuesHolder}, whose
+ * values are published for {@link ValueAnimator#getAnimatedValue(ValueAnimator.Property)} on every frame.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PropertyWriteBenchmark {
+    @Param({"1", "2", "4", "6", "8"})
+    public int propertyCount;
+    @Param({"shared", "holders"})
+    public String values;
+    private ManualFrameSource frameSource;
+    private Component component;
+    private ValueAnimator animator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        frameSource = new ManualFrameSource();
+        AnimationHandler.getInstance().setFrameSource(frameSource);
+        ValueAnimator.Property[] properties = Arrays.copyOf(ValueAnimator.Property.values(), propertyCount);
+        // the animator holds the target weakly
+        component = new Component();
+        if ("holders".equals(values)) {
+            PropertyValuesHolder[] holders = new PropertyValuesHolder[propertyCount];
+            for (int i = 0; i < propertyCount; i++) {
+                holders[i] = PropertyValuesHolder.ofFloat(properties[i], 0f, 1000f + i);
+            }
+            animator = ValueAnimator.ofPropertyValuesHolder(component, holders);
+        } else {
+            animator = ValueAnimator.ofObject(component, 0f, 1000f, properties);
+        }
+        animator.setDuration(Frames.DURATION);
+        animator.setRepeatCount(Animator.INFINITE);
+        animator.start();
+        Frames.warmUp(frameSource);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        animator.cancel();
+    }
+
+    @Benchmark
+    public void frame() {
+        frameSource.advance(Frames.INTERVAL);
+    }
+}
@@ -0,0 +1,90 @@
+package com.seagazer.ui.animation.benchmark;
+
+import com.seagazer.ui.animation.AnimationHandler;
+import com.seagazer.ui.animation.ManualFrameSource;
+import com.seagazer.ui.animation.StaggerAnimator;
+import com.seagazer.ui.animation.ValueAnimator;
+import ohos.agp.animation.Animator;
+import ohos.agp.components.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of one frame of animating many items, by one {@link StaggerAnimator} or by one
+ * {@link ValueAnimator} per item. Both write ALPHA and TRANSLATION_Y of every item.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StaggerAnimatorBenchmark {
+    // long enough that no item ends during the benchmark
+    private static final long ITEM_DURATION = 1000000000L;
+    @Param({"300"})
+    public int itemCount;
+    @Param({"group", "animators"})
+    public String mode;
+    private ManualFrameSource frameSource;
+    private Component[] components;
+    private StaggerAnimator group;
+    private ValueAnimator[] animators;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        frameSource = new ManualFrameSource();
+        AnimationHandler.getInstance().setFrameSource(frameSource);
+        components = new Component[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            components[i] = new Component();
+        }
+        if ("group".equals(mode)) {
+            group = new StaggerAnimator(components, 0f, 1f,
+                    ValueAnimator.Property.ALPHA, ValueAnimator.Property.TRANSLATION_Y);
+            group.setDuration(ITEM_DURATION);
+            group.setStaggerDelay(0);
+            group.start();
+        } else {
+            animators = new ValueAnimator[itemCount];
+            for (int i = 0; i < itemCount; i++) {
+                ValueAnimator animator = ValueAnimator.ofObject(components[i], 0f, 1f,
+                        ValueAnimator.Property.ALPHA, ValueAnimator.Property.TRANSLATION_Y);
+                animator.setDuration(ITEM_DURATION);
+                animator.setRepeatCount(Animator.INFINITE);
+                animator.start();
+                animators[i] = animator;
+            }
+        }
+        Frames.warmUp(frameSource);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (group != null) {
+            group.cancel();
+        } else {
+            for (ValueAnimator animator : animators) {
+                animator.cancel();
+            }
+        }
+    }
+
+    @Benchmark
+    public void frame() {
+        frameSource.advance(Frames.INTERVAL);
+    }
+}
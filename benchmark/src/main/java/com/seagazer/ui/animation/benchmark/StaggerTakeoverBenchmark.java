@@ -0,0 +1,69 @@
+package com.seagazer.ui.animation.benchmark;
+
+import com.seagazer.ui.animation.AnimationHandler;
+import com.seagazer.ui.animation.ManualFrameSource;
+import com.seagazer.ui.animation.StaggerAnimator;
+import com.seagazer.ui.animation.ValueAnimator;
+import ohos.agp.components.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of one {@link StaggerAnimator} taking over all the items of another one, each item of the previous
+ * group is released by its component.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StaggerTakeoverBenchmark {
+    @Param({"300", "1000"})
+    public int itemCount;
+    private StaggerAnimator[] groups;
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AnimationHandler.getInstance().setFrameSource(new ManualFrameSource());
+        Component[] components = new Component[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            components[i] = new Component();
+        }
+        groups = new StaggerAnimator[2];
+        for (int i = 0; i < groups.length; i++) {
+            groups[i] = new StaggerAnimator(components, 0f, 1f,
+                    ValueAnimator.Property.ALPHA, ValueAnimator.Property.TRANSLATION_Y);
+            groups[i].setDuration(Frames.DURATION);
+        }
+        groups[0].start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (StaggerAnimator group : groups) {
+            group.cancel();
+        }
+    }
+
+    @Benchmark
+    public void takeover() {
+        // the started group takes over the running one, which is canceled
+        next ^= 1;
+        groups[next].start();
+    }
+}
@@ -0,0 +1,76 @@
+package com.seagazer.ui.animation.benchmark;
+
+import com.seagazer.ui.animation.AnimationHandler;
+import com.seagazer.ui.animation.ManualFrameSource;
+import com.seagazer.ui.animation.ValueAnimator;
+import ohos.agp.animation.Animator;
+import ohos.agp.components.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of one frame of many infinite pulses with a curve and several keyframes, evaluated on every frame or
+ * replayed from the shared trajectory sampled at the first start.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrajectoryReplayBenchmark {
+    @Param({"false", "true"})
+    public boolean replay;
+    private final int animatorCount = 500;
+    private ManualFrameSource frameSource;
+    private Component[] components;
+    private ValueAnimator[] animators;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        frameSource = new ManualFrameSource();
+        AnimationHandler.getInstance().setFrameSource(frameSource);
+        // the animators hold the targets weakly
+        components = new Component[animatorCount];
+        animators = new ValueAnimator[animatorCount];
+        for (int i = 0; i < animatorCount; i++) {
+            components[i] = new Component();
+            ValueAnimator animator = ValueAnimator.ofObject(components[i], 1f, 1.2f,
+                    ValueAnimator.Property.SCALE_X);
+            animator.setFloatValues(1f, 1.2f, 0.9f, 1f);
+            animator.setDuration(Frames.DURATION);
+            animator.setInterpolatorType(Animator.CurveType.ACCELERATE_DECELERATE);
+            animator.setRepeatCount(Animator.INFINITE);
+            animator.setRepeatMode(ValueAnimator.RepeatMode.REVERSE);
+            animator.setTrajectoryReplay(replay);
+            animator.start();
+            animators[i] = animator;
+        }
+        Frames.warmUp(frameSource);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (ValueAnimator animator : animators) {
+            animator.cancel();
+        }
+    }
+
+    @Benchmark
+    public void frame() {
+        frameSource.advance(Frames.INTERVAL);
+    }
+}
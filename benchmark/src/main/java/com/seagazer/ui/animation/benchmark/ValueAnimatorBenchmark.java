@@ -0,0 +1,97 @@
+package com.seagazer.ui.animation.benchmark;
+
+import com.seagazer.ui.animation.AnimationHandler;
+import com.seagazer.ui.animation.ManualFrameSource;
+import com.seagazer.ui.animation.ValueAnimator;
+import ohos.agp.animation.Animator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of one frame of a single animator without target: the value evaluation and the dispatch to update
+ * listeners. The "object" listeners box the value every frame, the "primitive" listeners do not.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValueAnimatorBenchmark {
+    @Param({"float", "int"})
+    public String valueType;
+    @Param({"0", "1", "10"})
+    public int listenerCount;
+    @Param({"object", "primitive"})
+    public String listenerType;
+    private ManualFrameSource frameSource;
+    private ValueAnimator animator;
+    private float floatSink;
+    private int intSink;
+
+    private final ValueAnimator.AnimatorUpdateListener objectListener = new ValueAnimator.AnimatorUpdateListener() {
+        @Override
+        public void onAnimationUpdate(ValueAnimator animator, float fraction, Object animatedValue) {
+            floatSink += ((Number) animatedValue).floatValue();
+        }
+    };
+
+    private final ValueAnimator.FloatUpdateListener floatListener = new ValueAnimator.FloatUpdateListener() {
+        @Override
+        public void onAnimationUpdate(ValueAnimator animator, float fraction, float animatedValue) {
+            floatSink += animatedValue;
+        }
+    };
+
+    private final ValueAnimator.IntUpdateListener intListener = new ValueAnimator.IntUpdateListener() {
+        @Override
+        public void onAnimationUpdate(ValueAnimator animator, float fraction, int animatedValue) {
+            intSink += animatedValue;
+        }
+    };
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        frameSource = new ManualFrameSource();
+        AnimationHandler.getInstance().setFrameSource(frameSource);
+        boolean isInt = "int".equals(valueType);
+        animator = isInt ? ValueAnimator.ofInt(0, 1000) : ValueAnimator.ofFloat(0f, 1000f);
+        animator.setDuration(Frames.DURATION);
+        animator.setRepeatCount(Animator.INFINITE);
+        for (int i = 0; i < listenerCount; i++) {
+            if ("object".equals(listenerType)) {
+                // the same listener added many times still costs a dispatch and a boxing each
+                animator.addUpdateListener(objectListener);
+            } else if (isInt) {
+                animator.addIntUpdateListener(intListener);
+            } else {
+                animator.addFloatUpdateListener(floatListener);
+            }
+        }
+        animator.start();
+        Frames.warmUp(frameSource);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        animator.cancel();
+    }
+
+    @Benchmark
+    public void frame() {
+        frameSource.advance(Frames.INTERVAL);
+    }
+}
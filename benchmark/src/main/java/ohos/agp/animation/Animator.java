@@ -0,0 +1,51 @@
+package ohos.agp.animation;
+
+/**
+ * Stand-in of the platform class for the benchmarks on the desktop JVM, only the members used by the
+ * animation library are provided.
+ */
+public class Animator {
+    public static final int INFINITE = -1;
+    private long duration;
+    private int loopedCount;
+
+    public static class CurveType {
+        public static final int INVALID = -1;
+        public static final int LINEAR = 0;
+        public static final int ACCELERATE = 1;
+        public static final int DECELERATE = 2;
+        public static final int ACCELERATE_DECELERATE = 3;
+        public static final int ANTICIPATE = 4;
+        public static final int OVERSHOOT = 5;
+        public static final int ANTICIPATE_OVERSHOOT = 6;
+        public static final int BOUNCE = 7;
+        public static final int CYCLE = 8;
+        public static final int SPRING = 9;
+    }
+
+    public interface TimelineCurve {
+        float getCurvedTime(float fraction);
+    }
+
+    public void start() {
+    }
+
+    public void stop() {
+    }
+
+    public void setDuration(long duration) {
+        this.duration = duration;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public void setLoopedCount(int loopedCount) {
+        this.loopedCount = loopedCount;
+    }
+
+    public int getLoopedCount() {
+        return loopedCount;
+    }
+}
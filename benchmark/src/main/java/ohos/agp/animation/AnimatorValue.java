@@ -0,0 +1,17 @@
+package ohos.agp.animation;
+
+/**
+ * Stand-in of the platform class for the benchmarks on the desktop JVM, it never ticks. The benchmarks drive
+ * the frames by {@code ManualFrameSource} instead.
+ */
+public class AnimatorValue extends Animator {
+    private ValueUpdateListener listener;
+
+    public interface ValueUpdateListener {
+        void onUpdate(AnimatorValue animator, float fraction);
+    }
+
+    public void setValueUpdateListener(ValueUpdateListener listener) {
+        this.listener = listener;
+    }
+}
@@ -0,0 +1,106 @@
+package ohos.agp.components;
+
+/**
+ * Stand-in of the platform class for the benchmarks on the desktop JVM. The properties are plain fields, so
+ * a write costs a field store and the benchmarks measure the animation library only.
+ */
+public class Component {
+    public static final int VISIBLE = 0;
+    public static final int INVISIBLE = 1;
+    public static final int HIDE = 2;
+    private final ComponentContainer.LayoutConfig layoutConfig = new ComponentContainer.LayoutConfig();
+    private float scaleX = 1f;
+    private float scaleY = 1f;
+    private float translationX;
+    private float translationY;
+    private float alpha = 1f;
+    private float rotation;
+    private int visibility = VISIBLE;
+
+    public void setScaleX(float scaleX) {
+        this.scaleX = scaleX;
+    }
+
+    public float getScaleX() {
+        return scaleX;
+    }
+
+    public void setScaleY(float scaleY) {
+        this.scaleY = scaleY;
+    }
+
+    public float getScaleY() {
+        return scaleY;
+    }
+
+    public void setTranslationX(float translationX) {
+        this.translationX = translationX;
+    }
+
+    public float getTranslationX() {
+        return translationX;
+    }
+
+    public void setTranslationY(float translationY) {
+        this.translationY = translationY;
+    }
+
+    public float getTranslationY() {
+        return translationY;
+    }
+
+    public void setAlpha(float alpha) {
+        this.alpha = alpha;
+    }
+
+    public float getAlpha() {
+        return alpha;
+    }
+
+    public void setRotation(float rotation) {
+        this.rotation = rotation;
+    }
+
+    public float getRotation() {
+        return rotation;
+    }
+
+    public void setWidth(int width) {
+        layoutConfig.width = width;
+    }
+
+    public int getWidth() {
+        return layoutConfig.width;
+    }
+
+    public void setHeight(int height) {
+        layoutConfig.height = height;
+    }
+
+    public int getHeight() {
+        return layoutConfig.height;
+    }
+
+    public ComponentContainer.LayoutConfig getLayoutConfig() {
+        return layoutConfig;
+    }
+
+    public void setLayoutConfig(ComponentContainer.LayoutConfig config) {
+        if (config != layoutConfig) {
+            layoutConfig.width = config.width;
+            layoutConfig.height = config.height;
+        }
+    }
+
+    public void setVisibility(int visibility) {
+        this.visibility = visibility;
+    }
+
+    public int getVisibility() {
+        return visibility;
+    }
+
+    public boolean isBoundToWindow() {
+        return true;
+    }
+}
@@ -0,0 +1,12 @@
+package ohos.agp.components;
+
+/**
+ * Stand-in of the platform class for the benchmarks on the desktop JVM.
+ */
+public class ComponentContainer extends Component {
+
+    public static class LayoutConfig {
+        public int width;
+        public int height;
+    }
+}
@@ -0,0 +1,30 @@
+package ohos.agp.utils;
+
+/**
+ * Stand-in of the platform class for the benchmarks on the desktop JVM.
+ */
+public class Point {
+    private float x;
+    private float y;
+
+    public Point() {
+    }
+
+    public Point(float x, float y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    public float getPointX() {
+        return x;
+    }
+
+    public float getPointY() {
+        return y;
+    }
+
+    public void modify(float x, float y) {
+        this.x = x;
+        this.y = y;
+    }
+}
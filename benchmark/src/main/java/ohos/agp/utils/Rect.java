@@ -0,0 +1,25 @@
+package ohos.agp.utils;
+
+/**
+ * Stand-in of the platform class for the benchmarks on the desktop JVM.
+ */
+public class Rect {
+    public int left;
+    public int top;
+    public int right;
+    public int bottom;
+
+    public Rect() {
+    }
+
+    public Rect(int left, int top, int right, int bottom) {
+        set(left, top, right, bottom);
+    }
+
+    public void set(int left, int top, int right, int bottom) {
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+    }
+}
@@ -0,0 +1,14 @@
+package ohos.eventhandler;
+
+/**
+ * Stand-in of the platform class for the benchmarks on the desktop JVM, only the members used by the
+ * animation library are provided.
+ */
+public class EventHandler {
+    public EventHandler(EventRunner runner) {
+    }
+
+    public final void postTask(Runnable task) {
+        task.run();
+    }
+}
@@ -0,0 +1,17 @@
+package ohos.eventhandler;
+
+/**
+ * Stand-in of the platform class for the benchmarks on the desktop JVM, only the members used by the
+ * animation library are provided.
+ */
+public class EventRunner {
+    private static final EventRunner MAIN = new EventRunner();
+
+    public static EventRunner getMainEventRunner() {
+        return MAIN;
+    }
+
+    public boolean isCurrentRunnerThread() {
+        return true;
+    }
+}
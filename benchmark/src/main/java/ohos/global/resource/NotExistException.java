@@ -0,0 +1,13 @@
+package ohos.global.resource;
+
+/**
+ * Stand-in of the platform class for the benchmarks on the desktop JVM, only the members used by the
+ * animation library are provided.
+ */
+public class NotExistException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    public NotExistException(String message) {
+        super(message);
+    }
+}
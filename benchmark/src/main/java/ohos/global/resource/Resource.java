@@ -0,0 +1,10 @@
+package ohos.global.resource;
+
+import java.io.InputStream;
+
+/**
+ * Stand-in of the platform class for the benchmarks on the desktop JVM, only the members used by the
+ * animation library are provided.
+ */
+public abstract class Resource extends InputStream {
+}
@@ -0,0 +1,13 @@
+package ohos.global.resource;
+
+import java.io.IOException;
+
+/**
+ * Stand-in of the platform class for the benchmarks on the desktop JVM, only the members used by the
+ * animation library are provided.
+ */
+public class ResourceManager {
+    public Resource getResource(int id) throws IOException, NotExistException {
+        throw new NotExistException("No resources on the desktop JVM");
+    }
+}
@@ -1,14 +1,16 @@
 package com.seagazer.ui;
 
+import com.seagazer.ui.animation.AnimatorPool;
+import com.seagazer.ui.animation.AnimatorSpecInflater;
 import com.seagazer.ui.animation.ValueAnimator;
 import ohos.aafwk.ability.Ability;
 import ohos.aafwk.content.Intent;
-import ohos.agp.animation.Animator;
 import ohos.agp.animation.AnimatorValue;
 import ohos.agp.components.Text;
 
 public class AnimatorAbility extends Ability {
     private static final int DURATION = 2000;
+    private final AnimatorPool animatorPool = new AnimatorPool(5);
     private Text target;
     private ValueAnimator number;
     private ValueAnimator scale;
@@ -25,52 +27,35 @@ public class AnimatorAbility extends Ability {
         // 数值变化
         findComponentById(ResourceTable.Id_number).setClickedListener(component -> {
             stop();
-            number = ValueAnimator.ofInt(0, 100);
-            number.setDuration(DURATION);
-            number.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            number = obtain("number");
+            number.addIntUpdateListener(new ValueAnimator.IntUpdateListener() {
                 @Override
-                public void onAnimationUpdate(ValueAnimator animatorValue, float fraction, Object animatedValue) {
-                    System.out.println(animatedValue.toString());
-                    int v = (int) animatedValue;
-                    target.setText(v + "");
+                public void onAnimationUpdate(ValueAnimator animatorValue, float fraction, int animatedValue) {
+                    target.setText(animatedValue + "");
                 }
             });
             number.start();
         });
-        // 缩放
+        // 缩放，平移和旋转可以同时播放，重复点击时新动画从当前的数值和速度接管属性，不会跳回起始值
         findComponentById(ResourceTable.Id_scale).setClickedListener(component -> {
-            stop();
+            animatorPool.recycle(number);
+            number = null;
             target.setText("演示");
-            scale = ValueAnimator.ofObject(target, 1f, 1.5f, ValueAnimator.Property.SCALE_X, ValueAnimator.Property.SCALE_Y);
-            scale.setDuration(DURATION);
-            scale.setInterpolatorType(Animator.CurveType.ACCELERATE);
-            scale.setRepeatCount(AnimatorValue.INFINITE);
-            scale.setRepeatMode(ValueAnimator.RepeatMode.REVERSE);
-            scale.start();
+            scale = restart(scale, "scale");
         });
         // 平移
         findComponentById(ResourceTable.Id_translation).setClickedListener(component -> {
-            stop();
-            translation = ValueAnimator.ofObject(target, 0, 200, ValueAnimator.Property.TRANSLATION_X, ValueAnimator.Property.TRANSLATION_Y);
-            translation.setDuration(DURATION);
-            translation.setRepeatCount(AnimatorValue.INFINITE);
-            translation.setRepeatMode(ValueAnimator.RepeatMode.REVERSE);
-            translation.start();
+            translation = restart(translation, "translation");
         });
-        // 旋转
+        // 旋转，装饰性的循环动画，30帧足够，帧预算紧张时优先降帧
         findComponentById(ResourceTable.Id_rotation).setClickedListener(component -> {
-            stop();
-            rotation = ValueAnimator.ofObject(target, 0, 360, ValueAnimator.Property.ROTATION);
-            rotation.setDuration(DURATION);
-            rotation.setInterpolatorType(Animator.CurveType.ACCELERATE_DECELERATE);
-            rotation.setRepeatCount(AnimatorValue.INFINITE);
-            rotation.start();
-
+            rotation = restart(rotation, "rotation");
         });
         // 尺寸布局
         findComponentById(ResourceTable.Id_layout).setClickedListener(component -> {
             stop();
-            layout = ValueAnimator.ofObject(target, target.getWidth(), target.getWidth() * 2, ValueAnimator.Property.WIDTH);
+            layout = animatorPool.obtain();
+            layout.setObjectProperties(target, target.getWidth(), target.getWidth() * 2, ValueAnimator.Property.WIDTH);
             layout.setDuration(DURATION);
             layout.setRepeatCount(AnimatorValue.INFINITE);
             layout.setRepeatMode(ValueAnimator.RepeatMode.REVERSE);
@@ -78,21 +63,32 @@ public class AnimatorAbility extends Ability {
         });
     }
 
+    private ValueAnimator obtain(String name) {
+        // 动画声明在resources/base/profile/animator_demo.json中，资源只在第一次使用时解析
+        ValueAnimator animator = animatorPool.obtain();
+        AnimatorSpecInflater.getSpec(getResourceManager(), ResourceTable.Profile_animator_demo, name)
+                .applyTo(animator, target);
+        return animator;
+    }
+
+    private ValueAnimator restart(ValueAnimator running, String name) {
+        // 先启动新动画接管属性，再回收旧动画
+        ValueAnimator animator = obtain(name);
+        animator.start();
+        animatorPool.recycle(running);
+        return animator;
+    }
+
     private void stop() {
-        if (number != null) {
-            number.cancel();
-        }
-        if (scale != null) {
-            scale.cancel();
-        }
-        if (translation != null) {
-            translation.cancel();
-        }
-        if (rotation != null) {
-            rotation.cancel();
-        }
-        if (layout != null) {
-            layout.cancel();
-        }
+        animatorPool.recycle(number);
+        animatorPool.recycle(scale);
+        animatorPool.recycle(translation);
+        animatorPool.recycle(rotation);
+        animatorPool.recycle(layout);
+        number = null;
+        scale = null;
+        translation = null;
+        rotation = null;
+        layout = null;
     }
 }
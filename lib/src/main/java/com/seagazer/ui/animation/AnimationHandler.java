@@ -0,0 +1,376 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.animation.AnimatorValue;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * AnimationHandler drives all active animations from one shared {@link FrameSource}, like the choreographer
+ * of android. Animations join the active list when started and leave it when ended or canceled, so only one
+ * platform animator is running no matter how many animations are playing.
+ * <p>
+ * The frames come from {@link AnimatorValueFrameSource} by default, set a {@link ManualFrameSource} to run
+ * the animations on the JVM. All methods should be called on the UI thread, except {@link #runOnUiThread(Runnable)}
+ * which hands the commands of other threads to the UI thread.
+ */
+public final class AnimationHandler {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long DEFAULT_FRAME_INTERVAL_MILLIS = 16;
+    // the count of frames under the budget before a throttle level is released
+    private static final int RECOVER_FRAMES = 30;
+    // the count of longer intervals in a row before the frame interval follows a lower refresh rate
+    private static final int SLOWDOWN_FRAMES = 8;
+    private static final int MAX_THROTTLE_LEVEL = ValueAnimator.Priority.HIGH.ordinal();
+    private static final AnimationHandler INSTANCE = new AnimationHandler();
+    private volatile FrameSource frameSource = new AnimatorValueFrameSource();
+    // the commands from other threads, drained on the UI thread at the start of each frame
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean isDrainPosted = new AtomicBoolean(false);
+    private final LayoutWriteBuffer layoutWriteBuffer = new LayoutWriteBuffer();
+    private FrameCallback[] callbacks = new FrameCallback[INITIAL_CAPACITY];
+    private int callbackCount = 0;
+    // the slot of each registered callback, so adding and removing do not scan the callbacks
+    private final IdentityIndexMap callbackSlots = new IdentityIndexMap();
+    private boolean isDispatching = false;
+    private boolean hasRemoved = false;
+    private boolean isDriving = false;
+    private long lastFrameTime = -1;
+    private long frameIntervalMillis = DEFAULT_FRAME_INTERVAL_MILLIS;
+    private long longerIntervalMillis = Long.MAX_VALUE;
+    private int longerIntervalFrames = 0;
+    private long frameBudgetNanos = 0;
+    private int throttleLevel = 0;
+    private int underBudgetFrames = 0;
+
+    private final FrameCallback tick = new FrameCallback() {
+        @Override
+        public void doAnimationFrame(long frameTime) {
+            doFrame(frameTime);
+        }
+    };
+
+    private final Runnable drainTask = new Runnable() {
+        @Override
+        public void run() {
+            isDrainPosted.set(false);
+            drainCommands();
+        }
+    };
+
+    private AnimationHandler() {
+    }
+
+    /**
+     * Get the shared AnimationHandler instance.
+     *
+     * @return The shared AnimationHandler.
+     */
+    public static AnimationHandler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * The time base of all frames, in milliseconds.
+     *
+     * @return The current time of the frame source in milliseconds.
+     */
+    public static long currentTimeMillis() {
+        return getInstance().getFrameSource().currentTimeMillis();
+    }
+
+    /**
+     * Replace the source of frames, the running animations continue with the new source.
+     *
+     * @param frameSource The new frame source.
+     */
+    public void setFrameSource(FrameSource frameSource) {
+        if (frameSource == null) {
+            throw new IllegalArgumentException("The frame source can not be null!");
+        }
+        if (isDriving && this.frameSource != null) {
+            this.frameSource.stop();
+        }
+        this.frameSource = frameSource;
+        // the new source has its own time base and refresh rate
+        lastFrameTime = -1;
+        frameIntervalMillis = DEFAULT_FRAME_INTERVAL_MILLIS;
+        longerIntervalFrames = 0;
+        if (isDriving) {
+            frameSource.start(tick);
+        }
+        // the wake up posted to the previous source may never run
+        isDrainPosted.set(false);
+        drainCommands();
+    }
+
+    /**
+     * Get the source of frames, the platform frame source if not set.
+     *
+     * @return The frame source.
+     */
+    public FrameSource getFrameSource() {
+        return frameSource;
+    }
+
+    /**
+     * Whether the caller is on the UI thread which receives the frames.
+     *
+     * @return True if on the UI thread.
+     */
+    public boolean isUiThread() {
+        return frameSource.isFrameThread();
+    }
+
+    /**
+     * Run the command on the UI thread. It runs at once if called on the UI thread, otherwise it is queued without
+     * locking and runs at the start of the next frame, or soon on the UI thread if no frame is running. The
+     * commands of one thread run in order.
+     *
+     * @param command The command to run.
+     */
+    public void runOnUiThread(Runnable command) {
+        FrameSource source = frameSource;
+        if (source.isFrameThread()) {
+            command.run();
+            return;
+        }
+        commands.offer(command);
+        // wake up the UI thread once for a batch of commands, in case no frame is coming
+        if (isDrainPosted.compareAndSet(false, true)) {
+            source.post(drainTask);
+        }
+    }
+
+    private void drainCommands() {
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            command.run();
+        }
+    }
+
+    /**
+     * Get the platform animator which ticks all the animations.
+     *
+     * @return The shared platform animator, null if the frame source is not {@link AnimatorValueFrameSource}.
+     */
+    AnimatorValue getDriver() {
+        FrameSource source = getFrameSource();
+        if (source instanceof AnimatorValueFrameSource) {
+            return ((AnimatorValueFrameSource) source).getDriver();
+        }
+        return null;
+    }
+
+    /**
+     * Get the buffer which coalesces the size changes of components in a frame.
+     *
+     * @return The layout write buffer.
+     */
+    LayoutWriteBuffer getLayoutWriteBuffer() {
+        return layoutWriteBuffer;
+    }
+
+    /**
+     * Set the time budget of all the animations in one frame. When a frame runs over the budget, the animators of
+     * {@link ValueAnimator.Priority#LOW} are throttled first, then {@link ValueAnimator.Priority#NORMAL}, the
+     * throttle is released step by step when the frames keep under the budget.
+     * {@link ValueAnimator.Priority#HIGH} is never throttled.
+     *
+     * @param budgetMillis The budget per frame in milliseconds, 0 to disable, disabled by default.
+     */
+    public void setFrameBudgetMillis(float budgetMillis) {
+        frameBudgetNanos = (long) (Math.max(0f, budgetMillis) * 1000000L);
+        if (frameBudgetNanos == 0) {
+            throttleLevel = 0;
+        }
+        underBudgetFrames = 0;
+    }
+
+    /**
+     * Get the time budget of all the animations in one frame.
+     *
+     * @return The budget per frame in milliseconds, 0 if disabled.
+     */
+    public float getFrameBudgetMillis() {
+        return frameBudgetNanos / 1000000f;
+    }
+
+    /**
+     * Get the current throttle level of the frame budget.
+     *
+     * @return 0 if no animator is throttled, 1 if the low priority animators are throttled,
+     * 2 if the normal priority animators are throttled too.
+     */
+    public int getThrottleLevel() {
+        return throttleLevel;
+    }
+
+    /**
+     * Whether the animators of the priority are throttled by the frame budget now.
+     *
+     * @param priority The priority of animator.
+     * @return True if throttled.
+     */
+    boolean isThrottled(ValueAnimator.Priority priority) {
+        return priority.ordinal() < throttleLevel;
+    }
+
+    /**
+     * Get the interval between two frames, it follows the refresh rate of the device and ignores the dropped frames.
+     *
+     * @return The frame interval, in milliseconds.
+     */
+    public long getFrameIntervalMillis() {
+        return frameIntervalMillis;
+    }
+
+    /**
+     * Register a callback to be invoked on every frame until it is removed.
+     * The callback added during a frame will receive its first frame on the next tick.
+     *
+     * @param callback The callback to be added.
+     */
+    public void addFrameCallback(FrameCallback callback) {
+        if (callbackSlots.get(callback) >= 0) {
+            return;
+        }
+        if (callbackCount == callbacks.length) {
+            FrameCallback[] newCallbacks = new FrameCallback[callbackCount * 2];
+            System.arraycopy(callbacks, 0, newCallbacks, 0, callbackCount);
+            callbacks = newCallbacks;
+        }
+        callbackSlots.put(callback, callbackCount);
+        callbacks[callbackCount++] = callback;
+        if (!isDriving) {
+            isDriving = true;
+            getFrameSource().start(tick);
+        }
+    }
+
+    /**
+     * Remove a frame callback, it will not receive any frame after this call. The slot is left empty and the
+     * callbacks are compacted once after the next frame, so removing many callbacks costs no more than the frame.
+     *
+     * @param callback The callback to be removed.
+     */
+    public void removeFrameCallback(FrameCallback callback) {
+        int slot = callbackSlots.remove(callback);
+        if (slot < 0) {
+            return;
+        }
+        callbacks[slot] = null;
+        hasRemoved = true;
+        if (!isDispatching && callbackSlots.size() == 0) {
+            // stop the frames at once when the last callback is removed
+            compactCallbacks();
+        }
+    }
+
+    /**
+     * Returns how many callbacks are currently driven by this handler.
+     *
+     * @return The count of active callbacks.
+     */
+    public int getActiveCount() {
+        return callbackSlots.size();
+    }
+
+    private void doFrame(long frameTime) {
+        drainCommands();
+        if (lastFrameTime >= 0 && frameTime > lastFrameTime) {
+            updateFrameInterval(frameTime - lastFrameTime);
+        }
+        lastFrameTime = frameTime;
+        long startNanos = frameBudgetNanos > 0 ? System.nanoTime() : 0;
+        isDispatching = true;
+        layoutWriteBuffer.begin();
+        try {
+            int count = callbackCount;
+            for (int i = 0; i < count; i++) {
+                FrameCallback callback = callbacks[i];
+                if (callback != null) {
+                    callback.doAnimationFrame(frameTime);
+                }
+            }
+        } finally {
+            // a throwing callback must not leave the buffer holding the size writes of later frames
+            layoutWriteBuffer.flush();
+            isDispatching = false;
+        }
+        if (frameBudgetNanos > 0) {
+            updateThrottleLevel(System.nanoTime() - startNanos);
+        }
+        compactCallbacks();
+    }
+
+    private void updateThrottleLevel(long frameNanos) {
+        if (frameNanos > frameBudgetNanos) {
+            underBudgetFrames = 0;
+            if (throttleLevel < MAX_THROTTLE_LEVEL) {
+                throttleLevel++;
+            }
+        } else if (throttleLevel > 0 && ++underBudgetFrames >= RECOVER_FRAMES) {
+            underBudgetFrames = 0;
+            throttleLevel--;
+        }
+    }
+
+    private void compactCallbacks() {
+        if (hasRemoved) {
+            int index = 0;
+            for (int i = 0; i < callbackCount; i++) {
+                FrameCallback callback = callbacks[i];
+                if (callback != null) {
+                    if (index != i) {
+                        callbacks[index] = callback;
+                        callbackSlots.put(callback, index);
+                    }
+                    index++;
+                }
+            }
+            for (int i = index; i < callbackCount; i++) {
+                callbacks[i] = null;
+            }
+            callbackCount = index;
+            hasRemoved = false;
+        }
+        if (callbackCount == 0 && isDriving) {
+            isDriving = false;
+            lastFrameTime = -1;
+            getFrameSource().stop();
+        }
+    }
+
+    /**
+     * Follow a higher refresh rate at once, and a lower one only after it lasts for {@link #SLOWDOWN_FRAMES}, so
+     * the gap of a dropped frame is not taken as the frame interval.
+     *
+     * @param interval The interval since the last frame, in milliseconds.
+     */
+    private void updateFrameInterval(long interval) {
+        if (interval <= frameIntervalMillis) {
+            frameIntervalMillis = interval;
+            longerIntervalFrames = 0;
+            return;
+        }
+        longerIntervalMillis = longerIntervalFrames == 0 ? interval : Math.min(longerIntervalMillis, interval);
+        if (++longerIntervalFrames >= SLOWDOWN_FRAMES) {
+            frameIntervalMillis = longerIntervalMillis;
+            longerIntervalFrames = 0;
+        }
+    }
+
+    /**
+     * Callbacks receive a tick from the shared driver on every frame.
+     */
+    public interface FrameCallback {
+        /**
+         * Called on every frame while the callback is registered.
+         *
+         * @param frameTime The time of current frame, based on {@link #currentTimeMillis()}.
+         */
+        void doAnimationFrame(long frameTime);
+    }
+}
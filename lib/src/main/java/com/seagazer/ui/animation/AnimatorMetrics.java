@@ -0,0 +1,266 @@
+package com.seagazer.ui.animation;
+
+import java.util.Arrays;
+
+/**
+ * AnimatorMetrics records the frame timing of a {@link ValueAnimator}: the interval between two updates on the frame
+ * clock, the time spent in one update (compute values, write properties and notify listeners) and the count of
+ * missed frames. An update is expected every frame interval measured by {@link AnimationHandler}, or every few
+ * frames if the frame rate of the animator is capped or throttled.
+ * The timings are recorded into fixed-bucket histograms, no object is allocated per frame.
+ * <p>
+ * Enable it by {@link ValueAnimator#enableMetrics(String)}, read it by {@link #snapshot()} or {@link #dump()}.
+ */
+public final class AnimatorMetrics {
+    private static final long[] INTERVAL_BUCKETS_MILLIS = {8, 12, 17, 20, 25, 34, 50, 67, 100, 250};
+    private static final long[] UPDATE_BUCKETS_MICROS = {25, 50, 100, 250, 500, 1000, 2000, 4000, 8000, 16000};
+    private final String name;
+    private final long[] intervalCounts = new long[INTERVAL_BUCKETS_MILLIS.length + 1];
+    private final long[] updateCounts = new long[UPDATE_BUCKETS_MICROS.length + 1];
+    private static final long NANOS_PER_MILLI = 1000000L;
+    // 0 to expect the update interval of the animator
+    private long frameIntervalNanos = 0;
+    private long lastFrameTime = -1;
+    private long frameCount = 0;
+    private long missedFrameCount = 0;
+    private long totalUpdateNanos = 0;
+    private long maxUpdateNanos = 0;
+    private long maxIntervalNanos = 0;
+
+    AnimatorMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Get the upper bounds of the buckets of update interval, the last bucket holds the rest.
+     *
+     * @return The upper bounds, in milliseconds.
+     */
+    public static long[] getIntervalBucketsMillis() {
+        return INTERVAL_BUCKETS_MILLIS.clone();
+    }
+
+    /**
+     * Get the upper bounds of the buckets of update time, the last bucket holds the rest.
+     *
+     * @return The upper bounds, in microseconds.
+     */
+    public static long[] getUpdateBucketsMicros() {
+        return UPDATE_BUCKETS_MICROS.clone();
+    }
+
+    /**
+     * Set a fixed interval of updates to count the missed frames, by default it follows the frame interval of the
+     * device and the frame rate of the animator.
+     *
+     * @param frameIntervalNanos The expected interval of updates in nanoseconds, 0 to follow the animator.
+     */
+    public void setFrameIntervalNanos(long frameIntervalNanos) {
+        if (frameIntervalNanos < 0) {
+            throw new IllegalArgumentException("The frame interval can not be negative!");
+        }
+        this.frameIntervalNanos = frameIntervalNanos;
+    }
+
+    /**
+     * Get the name of the animator.
+     *
+     * @return The name set when enabled.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Record an update of the animator.
+     *
+     * @param frameTime            The time of the frame, based on {@link AnimationHandler#currentTimeMillis()}.
+     * @param updateIntervalMillis The expected interval between two updates of the animator, in milliseconds.
+     * @param updateNanos          The time spent in the update.
+     */
+    void recordUpdate(long frameTime, long updateIntervalMillis, long updateNanos) {
+        frameCount++;
+        totalUpdateNanos += updateNanos;
+        maxUpdateNanos = Math.max(maxUpdateNanos, updateNanos);
+        updateCounts[bucketOf(UPDATE_BUCKETS_MICROS, updateNanos / 1000L)]++;
+        if (lastFrameTime >= 0) {
+            long interval = (frameTime - lastFrameTime) * NANOS_PER_MILLI;
+            maxIntervalNanos = Math.max(maxIntervalNanos, interval);
+            intervalCounts[bucketOf(INTERVAL_BUCKETS_MILLIS, interval / NANOS_PER_MILLI)]++;
+            long expected = frameIntervalNanos > 0 ? frameIntervalNanos : updateIntervalMillis * NANOS_PER_MILLI;
+            if (expected > 0) {
+                long frames = (interval + expected / 2) / expected;
+                if (frames > 1) {
+                    missedFrameCount += frames - 1;
+                }
+            }
+        }
+        lastFrameTime = frameTime;
+    }
+
+    /**
+     * The animation starts or resumes, the gap before the next update is not an interval of frames.
+     */
+    void markDiscontinuity() {
+        lastFrameTime = -1;
+    }
+
+    /**
+     * Clear all the records.
+     */
+    public void reset() {
+        Arrays.fill(intervalCounts, 0);
+        Arrays.fill(updateCounts, 0);
+        lastFrameTime = -1;
+        frameCount = 0;
+        missedFrameCount = 0;
+        totalUpdateNanos = 0;
+        maxUpdateNanos = 0;
+        maxIntervalNanos = 0;
+    }
+
+    /**
+     * Copy the current records.
+     *
+     * @return The snapshot of records.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * Format the current records into readable text.
+     *
+     * @return The text of records.
+     */
+    public String dump() {
+        return snapshot().toString();
+    }
+
+    private static int bucketOf(long[] bounds, long value) {
+        for (int i = 0; i < bounds.length; i++) {
+            if (value < bounds[i]) {
+                return i;
+            }
+        }
+        return bounds.length;
+    }
+
+    /**
+     * The immutable copy of {@link AnimatorMetrics}.
+     */
+    public static final class Snapshot {
+        private final String name;
+        private final long[] intervalCounts;
+        private final long[] updateCounts;
+        private final long frameCount;
+        private final long missedFrameCount;
+        private final long totalUpdateNanos;
+        private final long maxUpdateNanos;
+        private final long maxIntervalNanos;
+
+        private Snapshot(AnimatorMetrics metrics) {
+            name = metrics.name;
+            intervalCounts = metrics.intervalCounts.clone();
+            updateCounts = metrics.updateCounts.clone();
+            frameCount = metrics.frameCount;
+            missedFrameCount = metrics.missedFrameCount;
+            totalUpdateNanos = metrics.totalUpdateNanos;
+            maxUpdateNanos = metrics.maxUpdateNanos;
+            maxIntervalNanos = metrics.maxIntervalNanos;
+        }
+
+        /**
+         * Get the name of the animator.
+         *
+         * @return The name set when enabled.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the counts of update interval in each bucket of {@link #getIntervalBucketsMillis()}.
+         *
+         * @return The counts, the last one counts the intervals out of all the bounds.
+         */
+        public long[] getIntervalCounts() {
+            return intervalCounts.clone();
+        }
+
+        /**
+         * Get the counts of update time in each bucket of {@link #getUpdateBucketsMicros()}.
+         *
+         * @return The counts, the last one counts the updates out of all the bounds.
+         */
+        public long[] getUpdateCounts() {
+            return updateCounts.clone();
+        }
+
+        /**
+         * Get the count of updates.
+         *
+         * @return The count of updates.
+         */
+        public long getFrameCount() {
+            return frameCount;
+        }
+
+        /**
+         * Get the count of frames skipped between updates.
+         *
+         * @return The count of missed frames.
+         */
+        public long getMissedFrameCount() {
+            return missedFrameCount;
+        }
+
+        /**
+         * Get the average time spent in one update.
+         *
+         * @return The average update time, in nanoseconds.
+         */
+        public long getAverageUpdateNanos() {
+            return frameCount == 0 ? 0 : totalUpdateNanos / frameCount;
+        }
+
+        /**
+         * Get the max time spent in one update.
+         *
+         * @return The max update time, in nanoseconds.
+         */
+        public long getMaxUpdateNanos() {
+            return maxUpdateNanos;
+        }
+
+        /**
+         * Get the max interval between two updates.
+         *
+         * @return The max interval, in nanoseconds.
+         */
+        public long getMaxIntervalNanos() {
+            return maxIntervalNanos;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            builder.append("AnimatorMetrics[").append(name).append("] frames=").append(frameCount)
+                    .append(" missed=").append(missedFrameCount)
+                    .append(" avgUpdate=").append(getAverageUpdateNanos() / 1000L).append("us")
+                    .append(" maxUpdate=").append(maxUpdateNanos / 1000L).append("us")
+                    .append(" maxInterval=").append(maxIntervalNanos / 1000000L).append("ms");
+            appendHistogram(builder, "\n  interval(ms)", INTERVAL_BUCKETS_MILLIS, intervalCounts);
+            appendHistogram(builder, "\n  update(us)", UPDATE_BUCKETS_MICROS, updateCounts);
+            return builder.toString();
+        }
+
+        private static void appendHistogram(StringBuilder builder, String title, long[] bounds, long[] counts) {
+            builder.append(title);
+            for (int i = 0; i < counts.length; i++) {
+                builder.append(i < bounds.length ? " <" + bounds[i] : " >=" + bounds[bounds.length - 1])
+                        .append(':').append(counts[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.seagazer.ui.animation;
+
+/**
+ * AnimatorPool keeps a bounded number of {@link ValueAnimator} to be reused, so the list cells or click handlers
+ * which create animations frequently do not allocate a new animator every time.
+ * <p>
+ * The pool is not thread safe, use it on the UI thread.
+ */
+public class AnimatorPool {
+    private final ValueAnimator[] pool;
+    private int size = 0;
+
+    /**
+     * Create a pool.
+     *
+     * @param capacity The max count of animators kept by the pool.
+     */
+    public AnimatorPool(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be positive!");
+        }
+        pool = new ValueAnimator[capacity];
+    }
+
+    /**
+     * Get an animator in the clean state, reuse the recycled one if any.
+     *
+     * @return A clean animator.
+     */
+    public ValueAnimator obtain() {
+        if (size == 0) {
+            return new ValueAnimator();
+        }
+        ValueAnimator animator = pool[--size];
+        pool[size] = null;
+        animator.isInPool = false;
+        return animator;
+    }
+
+    /**
+     * Reset the animator and put it back to the pool, the running animation is canceled silently.
+     * The animator should not be used by the caller any more after recycled.
+     *
+     * @param animator The animator to be recycled.
+     * @return True if the animator is kept by the pool, false if the pool is full.
+     */
+    public boolean recycle(ValueAnimator animator) {
+        if (animator == null || animator.isInPool) {
+            return false;
+        }
+        animator.reset();
+        if (size == pool.length) {
+            return false;
+        }
+        animator.isInPool = true;
+        pool[size++] = animator;
+        return true;
+    }
+
+    /**
+     * Get the count of animators kept by the pool.
+     *
+     * @return The count of pooled animators.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the max count of animators kept by the pool.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return pool.length;
+    }
+
+    /**
+     * Release all the pooled animators.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            pool[i].isInPool = false;
+            pool[i] = null;
+        }
+        size = 0;
+    }
+}
@@ -0,0 +1,535 @@
+package com.seagazer.ui.animation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * AnimatorSet plays a group of {@link ValueAnimator} together or in sequence like android.
+ * <p>
+ * The dependencies are compiled into one timeline when the set starts, each child gets a fixed start offset,
+ * and the whole set is driven by one frame callback of {@link AnimationHandler}. A child starts in the same
+ * frame its dependency ends, no listener hand-off is involved.
+ * <p>
+ * A child running by itself is canceled when the set starts, and a child started by itself later leaves the set.
+ * Each child keeps its frame rate and priority. A child suspended by its hidden target holds the time of the
+ * whole set until the target returns, so the children after it still start when it ends.
+ */
+public class AnimatorSet {
+    private static final long NEVER = Long.MAX_VALUE;
+    private static final int STATE_IDLE = 0;
+    private static final int STATE_STARTED = 1;
+    private static final int STATE_ENDED = 2;
+    private final List<Node> nodes = new ArrayList<>();
+    private final HashMap<ValueAnimator, Node> nodeMap = new HashMap<>();
+    private Node[] timeline = new Node[0];
+    private long startDelay = 0;
+    private long totalDuration = 0;
+    private long startTime = -1;
+    private long pauseTime;
+    private long suspendTime = -1;
+    private boolean isStarted = false;
+    private boolean isPaused = false;
+    private final ListenerList<AnimatorSetListener> listeners = new ListenerList<>();
+
+    /**
+     * Sets up this AnimatorSet to play all of the supplied animations at the same time.
+     *
+     * @param animators The animations that will be started simultaneously.
+     */
+    public void playTogether(ValueAnimator... animators) {
+        for (ValueAnimator animator : animators) {
+            getNode(animator);
+        }
+    }
+
+    /**
+     * Sets up this AnimatorSet to play each of the supplied animations when the previous animation ends.
+     *
+     * @param animators The animations that will be started one after another.
+     */
+    public void playSequentially(ValueAnimator... animators) {
+        for (int i = 0; i < animators.length; i++) {
+            Node node = getNode(animators[i]);
+            if (i > 0) {
+                node.addAfter(getNode(animators[i - 1]));
+            }
+        }
+    }
+
+    /**
+     * Create a {@link Builder} to set up the relationship between the animation and others.
+     *
+     * @param animator The animation to be played.
+     * @return The builder of the animation.
+     */
+    public Builder play(ValueAnimator animator) {
+        return new Builder(getNode(animator));
+    }
+
+    private Node getNode(ValueAnimator animator) {
+        Node node = nodeMap.get(animator);
+        if (node == null) {
+            node = new Node(animator);
+            nodeMap.put(animator, node);
+            nodes.add(node);
+        }
+        return node;
+    }
+
+    /**
+     * Get all the child animations of this set.
+     *
+     * @return The child animations.
+     */
+    public List<ValueAnimator> getChildAnimations() {
+        List<ValueAnimator> animators = new ArrayList<>(nodes.size());
+        for (Node node : nodes) {
+            animators.add(node.animator);
+        }
+        return animators;
+    }
+
+    /**
+     * The amount of time, in milliseconds, to delay starting the set after {@link #start()} is called.
+     *
+     * @param startDelay The amount of the delay, in milliseconds.
+     */
+    public void setStartDelay(long startDelay) {
+        this.startDelay = Math.max(0, startDelay);
+    }
+
+    /**
+     * The amount of time, in milliseconds, to delay starting the set after {@link #start()} is called.
+     *
+     * @return The amount of the delay, in milliseconds.
+     */
+    public long getStartDelay() {
+        return startDelay;
+    }
+
+    /**
+     * Gets the total duration of the set, include the start delay.
+     *
+     * @return The total length in milliseconds, or {@link ValueAnimator#DURATION_INFINITE} if any child
+     * repeats infinitely.
+     */
+    public long getTotalDuration() {
+        compileTimeline();
+        return totalDuration == NEVER ? ValueAnimator.DURATION_INFINITE : startDelay + totalDuration;
+    }
+
+    /**
+     * Adds a listener to the set of listeners that are sent events through the life of the set.
+     *
+     * @param listener The listener to be added.
+     */
+    public void addListener(AnimatorSetListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener from the set listening to this animation.
+     *
+     * @param listener The listener to be removed.
+     */
+    public void removeListener(AnimatorSetListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Start the set, the timeline is compiled from the current settings of the children.
+     */
+    public void start() {
+        if (isStarted) {
+            cancel();
+        }
+        compileTimeline();
+        for (Node node : timeline) {
+            node.state = STATE_IDLE;
+            // a child running by itself is taken by the set, it is never driven twice in a frame
+            node.animator.cancel();
+        }
+        isStarted = true;
+        isPaused = false;
+        startTime = -1;
+        suspendTime = -1;
+        AnimationHandler.getInstance().addFrameCallback(frameCallback);
+        Object[] snapshot = listeners.getListeners();
+        for (int i = 0; i < snapshot.length; i++) {
+            ((AnimatorSetListener) snapshot[i]).onAnimationStart(this);
+        }
+    }
+
+    /**
+     * Cancel the set and all the running children.
+     */
+    public void cancel() {
+        if (!isStarted) {
+            return;
+        }
+        AnimationHandler.getInstance().removeFrameCallback(frameCallback);
+        isStarted = false;
+        isPaused = false;
+        for (Node node : timeline) {
+            if (node.state == STATE_STARTED) {
+                node.state = STATE_ENDED;
+                if (node.animator.isDrivenByParent()) {
+                    node.animator.cancel();
+                }
+            }
+        }
+        Object[] snapshot = listeners.getListeners();
+        for (int i = 0; i < snapshot.length; i++) {
+            ((AnimatorSetListener) snapshot[i]).onAnimationCancel(this);
+        }
+    }
+
+    /**
+     * End the set, all the children which can finish jump to their end values in timeline order.
+     */
+    public void end() {
+        if (!isStarted) {
+            return;
+        }
+        for (Node node : timeline) {
+            if (node.state == STATE_ENDED || node.startOffset == NEVER
+                    || node.state == STATE_STARTED && !node.animator.isDrivenByParent()) {
+                continue;
+            }
+            if (node.state == STATE_IDLE) {
+                node.animator.startByParent();
+            }
+            node.state = STATE_ENDED;
+            node.animator.end();
+        }
+        endSet();
+    }
+
+    /**
+     * Pauses a running set.
+     */
+    public void pause() {
+        if (!isStarted || isPaused) {
+            return;
+        }
+        isPaused = true;
+        pauseTime = AnimationHandler.currentTimeMillis();
+        if (suspendTime >= 0) {
+            // close the suspended period, the time from now on is excluded by the pause
+            startTime += pauseTime - suspendTime;
+            suspendTime = -1;
+        }
+        AnimationHandler.getInstance().removeFrameCallback(frameCallback);
+    }
+
+    /**
+     * Resumes a paused set.
+     */
+    public void resume() {
+        if (!isPaused) {
+            return;
+        }
+        isPaused = false;
+        if (startTime >= 0) {
+            startTime += AnimationHandler.currentTimeMillis() - pauseTime;
+        }
+        AnimationHandler.getInstance().addFrameCallback(frameCallback);
+    }
+
+    /**
+     * Returns whether this set has been started and not yet ended.
+     *
+     * @return Whether the set has been started.
+     */
+    public boolean isStarted() {
+        return isStarted;
+    }
+
+    /**
+     * Returns whether this set is currently in a paused state.
+     *
+     * @return True if the set is currently paused, false otherwise.
+     */
+    public boolean isPaused() {
+        return isPaused;
+    }
+
+    private void endSet() {
+        AnimationHandler.getInstance().removeFrameCallback(frameCallback);
+        isStarted = false;
+        isPaused = false;
+        Object[] snapshot = listeners.getListeners();
+        for (int i = 0; i < snapshot.length; i++) {
+            ((AnimatorSetListener) snapshot[i]).onAnimationEnd(this);
+        }
+    }
+
+    private final AnimationHandler.FrameCallback frameCallback = new AnimationHandler.FrameCallback() {
+        @Override
+        public void doAnimationFrame(long frameTime) {
+            if (startTime < 0) {
+                startTime = frameTime + startDelay;
+            }
+            if (frameTime < startTime) {
+                return;
+            }
+            if (isSuspended(frameTime)) {
+                return;
+            }
+            long playTime = frameTime - startTime;
+            boolean allEnded = true;
+            for (Node node : timeline) {
+                if (node.state == STATE_ENDED) {
+                    continue;
+                }
+                if (playTime < node.startOffset) {
+                    // the timeline is sorted by start offset, no more child should start in this frame
+                    allEnded = false;
+                    break;
+                }
+                ValueAnimator animator = node.animator;
+                if (node.state == STATE_IDLE && animator.isStarted()) {
+                    // the child has been started by itself before its start offset, it leaves the set
+                    node.state = STATE_ENDED;
+                    continue;
+                }
+                if (node.state == STATE_IDLE) {
+                    node.state = STATE_STARTED;
+                    animator.startByParent();
+                } else if (!animator.isStarted() || !animator.isDrivenByParent()) {
+                    // the child has been canceled or started by itself outside
+                    node.state = STATE_ENDED;
+                    continue;
+                }
+                if (!animator.isFrameDue(frameTime)) {
+                    allEnded = false;
+                    continue;
+                }
+                if (animator.animateBasedOnPlayTime(playTime - node.startOffset)) {
+                    node.state = STATE_ENDED;
+                } else {
+                    allEnded = false;
+                }
+            }
+            if (allEnded && isStarted) {
+                endSet();
+            }
+        }
+    };
+
+    /**
+     * Check the targets of the running children, the set holds its time while any of them is suspended.
+     *
+     * @param frameTime The time of current frame.
+     * @return True if the set is suspended.
+     */
+    private boolean isSuspended(long frameTime) {
+        boolean suspended = false;
+        for (Node node : timeline) {
+            if (node.state == STATE_STARTED && node.animator.checkTargetByParent()) {
+                suspended = true;
+            }
+        }
+        if (suspended) {
+            if (suspendTime < 0) {
+                suspendTime = frameTime;
+            }
+        } else if (suspendTime >= 0) {
+            startTime += frameTime - suspendTime;
+            suspendTime = -1;
+        }
+        return suspended;
+    }
+
+    private void compileTimeline() {
+        for (Node node : nodes) {
+            node.isResolved = false;
+            node.isResolving = false;
+            node.members.clear();
+        }
+        for (Node node : nodes) {
+            findGroup(node).members.add(node);
+        }
+        long end = 0;
+        for (Node node : nodes) {
+            end = Math.max(end, resolveEnd(node));
+        }
+        totalDuration = end;
+        if (timeline.length != nodes.size()) {
+            timeline = new Node[nodes.size()];
+        }
+        nodes.toArray(timeline);
+        Arrays.sort(timeline, START_OFFSET_COMPARATOR);
+    }
+
+    /**
+     * Resolve the anchor shared by the group of animations played together, the latest of their dependencies.
+     *
+     * @param group The root node of the group.
+     */
+    private void resolveGroup(Node group) {
+        if (group.isResolved) {
+            return;
+        }
+        if (group.isResolving) {
+            throw new IllegalStateException("Circular dependencies in AnimatorSet!");
+        }
+        group.isResolving = true;
+        long anchor = 0;
+        for (Node member : group.members) {
+            anchor = Math.max(anchor, member.minAnchor);
+            for (Node after : member.afterNodes) {
+                anchor = Math.max(anchor, resolveEnd(after));
+            }
+        }
+        for (Node member : group.members) {
+            long delay = member.animator.getStartDelay();
+            long total = member.animator.getTotalDuration();
+            member.startOffset = anchor == NEVER ? NEVER : anchor + delay;
+            if (member.startOffset == NEVER || total == ValueAnimator.DURATION_INFINITE) {
+                member.endOffset = NEVER;
+            } else {
+                member.endOffset = member.startOffset + total - delay;
+            }
+        }
+        group.isResolving = false;
+        group.isResolved = true;
+    }
+
+    private long resolveEnd(Node node) {
+        resolveGroup(findGroup(node));
+        return node.endOffset;
+    }
+
+    private static Node findGroup(Node node) {
+        while (node.group != node) {
+            node.group = node.group.group;
+            node = node.group;
+        }
+        return node;
+    }
+
+    private static final Comparator<Node> START_OFFSET_COMPARATOR = new Comparator<Node>() {
+        @Override
+        public int compare(Node o1, Node o2) {
+            return Long.compare(o1.startOffset, o2.startOffset);
+        }
+    };
+
+    private static class Node {
+        final ValueAnimator animator;
+        final List<Node> afterNodes = new ArrayList<>();
+        // the members of the group played together, only filled on the root node of the group
+        final List<Node> members = new ArrayList<>();
+        // the animations played together form a group, linked to the root node
+        Node group = this;
+        long minAnchor = 0;
+        long startOffset;
+        long endOffset;
+        int state = STATE_IDLE;
+        boolean isResolving;
+        boolean isResolved;
+
+        Node(ValueAnimator animator) {
+            this.animator = animator;
+        }
+
+        void addAfter(Node node) {
+            if (!afterNodes.contains(node)) {
+                afterNodes.add(node);
+            }
+        }
+
+        void addWith(Node node) {
+            Node root = findGroup(node);
+            Node other = findGroup(this);
+            if (root != other) {
+                other.group = root;
+            }
+        }
+    }
+
+    /**
+     * Builder set up the relationship between the animation passed to {@link #play(ValueAnimator)} and others.
+     */
+    public class Builder {
+        private final Node current;
+
+        private Builder(Node current) {
+            this.current = current;
+        }
+
+        /**
+         * The animation will start at the same time as the current animation.
+         *
+         * @param animator The animation to be played together.
+         * @return This builder.
+         */
+        public Builder with(ValueAnimator animator) {
+            getNode(animator).addWith(current);
+            return this;
+        }
+
+        /**
+         * The animation will start when the current animation ends.
+         *
+         * @param animator The animation to be played after the current one.
+         * @return This builder.
+         */
+        public Builder before(ValueAnimator animator) {
+            getNode(animator).addAfter(current);
+            return this;
+        }
+
+        /**
+         * The current animation will start when the animation ends.
+         *
+         * @param animator The animation to be played before the current one.
+         * @return This builder.
+         */
+        public Builder after(ValueAnimator animator) {
+            current.addAfter(getNode(animator));
+            return this;
+        }
+
+        /**
+         * The current animation will start at least the delay after the set starts.
+         *
+         * @param delay The start offset in the set, in milliseconds.
+         * @return This builder.
+         */
+        public Builder after(long delay) {
+            current.minAnchor = Math.max(current.minAnchor, delay);
+            return this;
+        }
+    }
+
+    /**
+     * AnimatorSet state changed listener.
+     */
+    public interface AnimatorSetListener {
+        /**
+         * Notifies the start of the set.
+         *
+         * @param animatorSet The started set.
+         */
+        void onAnimationStart(AnimatorSet animatorSet);
+
+        /**
+         * Notifies the end of the set.
+         *
+         * @param animatorSet The set which reached its end.
+         */
+        void onAnimationEnd(AnimatorSet animatorSet);
+
+        /**
+         * Notifies the cancellation of the set.
+         *
+         * @param animatorSet The set which was canceled.
+         */
+        void onAnimationCancel(AnimatorSet animatorSet);
+    }
+}
@@ -0,0 +1,105 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.components.Component;
+
+/**
+ * AnimatorSpec is the compiled form of an animation declared in a json resource, see {@link AnimatorSpecInflater}.
+ * A spec is validated once when compiled and never changes, so it can be shared by all the animators created from
+ * it, and creating an animator only copies the compiled values.
+ */
+public final class AnimatorSpec {
+    private final String name;
+    private final KeyframeSet keyframes;
+    private final ValueAnimator.Property[] properties;
+    private final long duration;
+    private final long startDelay;
+    private final int curveType;
+    private final int repeatCount;
+    private final ValueAnimator.RepeatMode repeatMode;
+    private final int frameRate;
+    private final ValueAnimator.Priority priority;
+    private final boolean replayTrajectory;
+
+    AnimatorSpec(String name, KeyframeSet keyframes, ValueAnimator.Property[] properties, long duration,
+                 long startDelay, int curveType, int repeatCount, ValueAnimator.RepeatMode repeatMode,
+                 int frameRate, ValueAnimator.Priority priority, boolean replayTrajectory) {
+        this.name = name;
+        this.keyframes = keyframes;
+        this.properties = properties;
+        this.duration = duration;
+        this.startDelay = startDelay;
+        this.curveType = curveType;
+        this.repeatCount = repeatCount;
+        this.repeatMode = repeatMode;
+        this.frameRate = frameRate;
+        this.priority = priority;
+        this.replayTrajectory = replayTrajectory;
+    }
+
+    /**
+     * Create an animator of this spec.
+     *
+     * @param target The target component to be animated, maybe null if only read the values.
+     * @return ValueAnimator instance.
+     */
+    public ValueAnimator create(Component target) {
+        ValueAnimator animator = new ValueAnimator();
+        applyTo(animator, target);
+        return animator;
+    }
+
+    /**
+     * Setup an animator by this spec, such as an animator obtained from {@link AnimatorPool}. The listeners of the
+     * animator are kept.
+     *
+     * @param animator The animator which is not running.
+     * @param target   The target component to be animated, maybe null if only read the values.
+     */
+    public void applyTo(ValueAnimator animator, Component target) {
+        animator.setCompiledValues(target, properties, keyframes);
+        animator.setDuration(duration);
+        animator.setStartDelay(startDelay);
+        animator.setInterpolatorType(curveType);
+        animator.setRepeatCount(repeatCount);
+        animator.setRepeatMode(repeatMode);
+        animator.setFrameRate(frameRate);
+        animator.setPriority(priority);
+        animator.setTrajectoryReplay(replayTrajectory);
+    }
+
+    /**
+     * Get the name of spec in the resource.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the properties animated by this spec.
+     *
+     * @return A copy of the properties, empty if the spec only produces values.
+     */
+    public ValueAnimator.Property[] getProperties() {
+        return properties.clone();
+    }
+
+    /**
+     * Get the duration of this spec.
+     *
+     * @return The duration, in milliseconds.
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * Get the repeat count of this spec.
+     *
+     * @return The repeat count, {@link ohos.agp.animation.Animator#INFINITE} if repeat infinitely.
+     */
+    public int getRepeatCount() {
+        return repeatCount;
+    }
+}
@@ -0,0 +1,371 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.animation.Animator;
+import ohos.agp.components.Component;
+import ohos.global.resource.NotExistException;
+import ohos.global.resource.Resource;
+import ohos.global.resource.ResourceManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * AnimatorSpecInflater creates animators from the specs declared in a json resource, such as
+ * resources/base/profile/animators.json:
+ * <pre>
+ *     {
+ *       "animators": {
+ *         "scale": {
+ *           "values": [1, 1.5],
+ *           "properties": ["scale_x", "scale_y"],
+ *           "duration": 2000,
+ *           "curve": "accelerate",
+ *           "repeatCount": "infinite",
+ *           "repeatMode": "reverse"
+ *         }
+ *       }
+ *     }
+ * </pre>
+ * Each resource is parsed and validated once into immutable {@link AnimatorSpec}, the compiled specs are kept in
+ * a LRU cache by resource id, so the next animators of the same resource only copy the compiled values.
+ * <pre>
+ *     ValueAnimator scale = AnimatorSpecInflater.inflate(getResourceManager(), ResourceTable.Profile_animators,
+ *             "scale", component);
+ * </pre>
+ * The keys of a spec:
+ * <ul>
+ *     <li>values: the values spread evenly over the animation, or keyframes: [{"fraction", "value", "curve"}]</li>
+ *     <li>type: "float" by default, or "int" for the specs without properties</li>
+ *     <li>properties: the names of {@link ValueAnimator.Property}, no property if only read the values</li>
+ *     <li>duration, startDelay: in milliseconds</li>
+ *     <li>curve: the name of {@link Animator.CurveType} in lower case, such as "accelerate_decelerate"</li>
+ *     <li>repeatCount: a count or "infinite", repeatMode: "restart" or "reverse"</li>
+ *     <li>frameRate: the frame rate cap, priority: "low", "normal" or "high"</li>
+ *     <li>replay: true to replay the sampled trajectory of an infinite animation</li>
+ * </ul>
+ */
+public final class AnimatorSpecInflater {
+    /**
+     * The default count of resources kept in the cache.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 16;
+    private static final String KEY_ANIMATORS = "animators";
+    private static final List<String> SPEC_KEYS = Arrays.asList("type", "values", "keyframes", "properties",
+            "duration", "startDelay", "curve", "repeatCount", "repeatMode", "frameRate", "priority",
+            "replay");
+    private static final Map<String, Integer> CURVES = new HashMap<>();
+    private static int cacheSize = DEFAULT_CACHE_SIZE;
+    private static final Map<Integer, Map<String, AnimatorSpec>> CACHE =
+            new LinkedHashMap<Integer, Map<String, AnimatorSpec>>(DEFAULT_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, Map<String, AnimatorSpec>> eldest) {
+                    return size() > cacheSize;
+                }
+            };
+
+    static {
+        CURVES.put("linear", Animator.CurveType.LINEAR);
+        CURVES.put("accelerate", Animator.CurveType.ACCELERATE);
+        CURVES.put("decelerate", Animator.CurveType.DECELERATE);
+        CURVES.put("accelerate_decelerate", Animator.CurveType.ACCELERATE_DECELERATE);
+        CURVES.put("anticipate", Animator.CurveType.ANTICIPATE);
+        CURVES.put("overshoot", Animator.CurveType.OVERSHOOT);
+        CURVES.put("anticipate_overshoot", Animator.CurveType.ANTICIPATE_OVERSHOOT);
+        CURVES.put("bounce", Animator.CurveType.BOUNCE);
+        CURVES.put("cycle", Animator.CurveType.CYCLE);
+    }
+
+    private AnimatorSpecInflater() {
+    }
+
+    /**
+     * Create an animator by the spec in the resource.
+     *
+     * @param resourceManager The resource manager of the ability or application.
+     * @param resId           The id of the json resource.
+     * @param name            The name of the spec.
+     * @param target          The target component to be animated, maybe null if only read the values.
+     * @return ValueAnimator instance.
+     */
+    public static ValueAnimator inflate(ResourceManager resourceManager, int resId, String name, Component target) {
+        return getSpec(resourceManager, resId, name).create(target);
+    }
+
+    /**
+     * Get the compiled spec in the resource, the resource is parsed on the first call only.
+     *
+     * @param resourceManager The resource manager of the ability or application.
+     * @param resId           The id of the json resource.
+     * @param name            The name of the spec.
+     * @return The compiled spec.
+     */
+    public static AnimatorSpec getSpec(ResourceManager resourceManager, int resId, String name) {
+        AnimatorSpec spec = getSpecs(resourceManager, resId).get(name);
+        if (spec == null) {
+            throw new IllegalArgumentException("No animator spec named " + name + " in resource " + resId + "!");
+        }
+        return spec;
+    }
+
+    /**
+     * Get all the compiled specs in the resource, the resource is parsed on the first call only.
+     *
+     * @param resourceManager The resource manager of the ability or application.
+     * @param resId           The id of the json resource.
+     * @return The unmodifiable specs by name.
+     */
+    public static Map<String, AnimatorSpec> getSpecs(ResourceManager resourceManager, int resId) {
+        synchronized (CACHE) {
+            Map<String, AnimatorSpec> specs = CACHE.get(resId);
+            if (specs != null) {
+                return specs;
+            }
+        }
+        Map<String, AnimatorSpec> specs = parse(readResource(resourceManager, resId));
+        synchronized (CACHE) {
+            CACHE.put(resId, specs);
+        }
+        return specs;
+    }
+
+    /**
+     * Set the count of resources kept in the cache, the least recently used ones are dropped first.
+     *
+     * @param size The count of resources, {@link #DEFAULT_CACHE_SIZE} by default.
+     */
+    public static void setCacheSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("The cache size must be positive!");
+        }
+        synchronized (CACHE) {
+            cacheSize = size;
+            while (CACHE.size() > cacheSize) {
+                CACHE.remove(CACHE.keySet().iterator().next());
+            }
+        }
+    }
+
+    /**
+     * Drop all the compiled specs, such as after the configuration of resources changed.
+     */
+    public static void clearCache() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    private static String readResource(ResourceManager resourceManager, int resId) {
+        try (Resource resource = resourceManager.getResource(resId)) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int length;
+            while ((length = resource.read(buffer)) != -1) {
+                output.write(buffer, 0, length);
+            }
+            return new String(output.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException | NotExistException e) {
+            throw new RuntimeException("Can not read the animator resource " + resId + "!", e);
+        }
+    }
+
+    /**
+     * Parse and validate all the specs of the json.
+     *
+     * @param json The json text.
+     * @return The unmodifiable specs by name.
+     */
+    static Map<String, AnimatorSpec> parse(String json) {
+        Map<String, Object> root = asObject(JsonParser.parse(json), "The root");
+        Map<String, Object> animators = asObject(root.get(KEY_ANIMATORS), "The " + KEY_ANIMATORS);
+        Map<String, AnimatorSpec> specs = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : animators.entrySet()) {
+            String name = entry.getKey();
+            specs.put(name, compile(name, asObject(entry.getValue(), "The animator spec " + name)));
+        }
+        return Collections.unmodifiableMap(specs);
+    }
+
+    private static AnimatorSpec compile(String name, Map<String, Object> spec) {
+        String where = "The animator spec " + name;
+        for (String key : spec.keySet()) {
+            if (!SPEC_KEYS.contains(key)) {
+                throw new IllegalArgumentException(where + " has unknown key " + key + "!");
+            }
+        }
+        String type = getString(spec, "type", "float", where);
+        if (!"int".equals(type) && !"float".equals(type)) {
+            throw new IllegalArgumentException(where + " has unknown type " + type + "!");
+        }
+        boolean isInt = "int".equals(type);
+        ValueAnimator.Property[] properties = getProperties(spec, where);
+        if (isInt && properties.length > 0) {
+            throw new IllegalArgumentException(where + " animates properties, its type must be float!");
+        }
+        KeyframeSet keyframes = new KeyframeSet();
+        if (spec.containsKey("values") == spec.containsKey("keyframes")) {
+            throw new IllegalArgumentException(where + " must have either values or keyframes!");
+        }
+        if (spec.containsKey("values")) {
+            List<Object> values = asArray(spec.get("values"), where + " values");
+            if (isInt) {
+                int[] intValues = new int[values.size()];
+                for (int i = 0; i < intValues.length; i++) {
+                    intValues[i] = asInt(values.get(i), where + " values");
+                }
+                keyframes.setIntValues(intValues);
+            } else {
+                float[] floatValues = new float[values.size()];
+                for (int i = 0; i < floatValues.length; i++) {
+                    floatValues[i] = (float) asNumber(values.get(i), where + " values");
+                }
+                keyframes.setFloatValues(floatValues);
+            }
+        } else {
+            keyframes.setKeyframes(getKeyframes(spec, isInt, where));
+        }
+        long duration = (long) getNumber(spec, "duration", TimingEngine.DEFAULT_DURATION, where);
+        long startDelay = (long) getNumber(spec, "startDelay", 0, where);
+        if (duration < 0 || startDelay < 0) {
+            throw new IllegalArgumentException(where + " has negative duration or start delay!");
+        }
+        int repeatCount;
+        if ("infinite".equals(spec.get("repeatCount"))) {
+            repeatCount = Animator.INFINITE;
+        } else {
+            repeatCount = (int) getNumber(spec, "repeatCount", 0, where);
+            if (repeatCount < 0) {
+                throw new IllegalArgumentException(where + " has negative repeat count!");
+            }
+        }
+        int frameRate = (int) getNumber(spec, "frameRate", ValueAnimator.FRAME_RATE_UNLIMITED, where);
+        if (frameRate < 0) {
+            throw new IllegalArgumentException(where + " has negative frame rate!");
+        }
+        return new AnimatorSpec(name, keyframes, properties, duration, startDelay,
+                getCurve(getString(spec, "curve", "linear", where), where), repeatCount,
+                getEnum(ValueAnimator.RepeatMode.class, getString(spec, "repeatMode", "restart", where), where),
+                frameRate,
+                getEnum(ValueAnimator.Priority.class, getString(spec, "priority", "normal", where), where),
+                getBoolean(spec, "replay", where));
+    }
+
+    private static ValueAnimator.Property[] getProperties(Map<String, Object> spec, String where) {
+        if (!spec.containsKey("properties")) {
+            return new ValueAnimator.Property[0];
+        }
+        List<Object> names = asArray(spec.get("properties"), where + " properties");
+        ValueAnimator.Property[] properties = new ValueAnimator.Property[names.size()];
+        for (int i = 0; i < properties.length; i++) {
+            Object property = names.get(i);
+            if (!(property instanceof String)) {
+                throw new IllegalArgumentException(where + " properties must be names!");
+            }
+            properties[i] = getEnum(ValueAnimator.Property.class, (String) property, where);
+        }
+        return properties;
+    }
+
+    private static Keyframe[] getKeyframes(Map<String, Object> spec, boolean isInt, String where) {
+        List<Object> frames = asArray(spec.get("keyframes"), where + " keyframes");
+        Keyframe[] keyframes = new Keyframe[frames.size()];
+        for (int i = 0; i < keyframes.length; i++) {
+            Map<String, Object> frame = asObject(frames.get(i), where + " keyframe " + i);
+            float fraction = (float) asNumber(frame.get("fraction"), where + " keyframe fraction");
+            if (isInt) {
+                keyframes[i] = Keyframe.ofInt(fraction, asInt(frame.get("value"), where + " keyframe value"));
+            } else {
+                float value = (float) asNumber(frame.get("value"), where + " keyframe value");
+                keyframes[i] = Keyframe.ofFloat(fraction, value);
+            }
+            if (frame.containsKey("curve")) {
+                Object curve = frame.get("curve");
+                if (!(curve instanceof String)) {
+                    throw new IllegalArgumentException(where + " keyframe curve must be a name!");
+                }
+                keyframes[i].setInterpolator(Curves.of(getCurve((String) curve, where)));
+            }
+        }
+        return keyframes;
+    }
+
+    private static int getCurve(String name, String where) {
+        Integer curve = CURVES.get(name.toLowerCase(Locale.ROOT));
+        if (curve == null) {
+            throw new IllegalArgumentException(where + " has unknown curve " + name + "!");
+        }
+        return curve;
+    }
+
+    private static <E extends Enum<E>> E getEnum(Class<E> type, String name, String where) {
+        try {
+            return Enum.valueOf(type, name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(where + " has unknown " + type.getSimpleName() + " " + name + "!");
+        }
+    }
+
+    private static String getString(Map<String, Object> spec, String key, String defaultValue, String where) {
+        Object value = spec.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (!(value instanceof String)) {
+            throw new IllegalArgumentException(where + " " + key + " must be a string!");
+        }
+        return (String) value;
+    }
+
+    private static boolean getBoolean(Map<String, Object> spec, String key, String where) {
+        Object value = spec.get(key);
+        if (value == null) {
+            return false;
+        }
+        if (!(value instanceof Boolean)) {
+            throw new IllegalArgumentException(where + " " + key + " must be true or false!");
+        }
+        return (Boolean) value;
+    }
+
+    private static double getNumber(Map<String, Object> spec, String key, double defaultValue, String where) {
+        return spec.containsKey(key) ? asNumber(spec.get(key), where + " " + key) : defaultValue;
+    }
+
+    private static double asNumber(Object value, String what) {
+        if (!(value instanceof Double)) {
+            throw new IllegalArgumentException(what + " must be a number!");
+        }
+        return (Double) value;
+    }
+
+    private static int asInt(Object value, String what) {
+        double number = asNumber(value, what);
+        if (number != (int) number) {
+            throw new IllegalArgumentException(what + " must be an int!");
+        }
+        return (int) number;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asObject(Object value, String what) {
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException(what + " must be a json object!");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> asArray(Object value, String what) {
+        if (!(value instanceof List)) {
+            throw new IllegalArgumentException(what + " must be a json array!");
+        }
+        return (List<Object>) value;
+    }
+}
@@ -0,0 +1,78 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.animation.Animator;
+import ohos.agp.animation.AnimatorValue;
+import ohos.eventhandler.EventHandler;
+import ohos.eventhandler.EventRunner;
+
+/**
+ * AnimatorValueFrameSource ticks the frames by a looping platform {@link AnimatorValue}, it is the default
+ * frame source on device. The frames and the posted tasks run on the main event runner.
+ */
+public class AnimatorValueFrameSource implements FrameSource {
+    private AnimatorValue driver;
+    private AnimationHandler.FrameCallback frameCallback;
+    private volatile EventHandler mainHandler;
+
+    private final AnimatorValue.ValueUpdateListener updateListener = new AnimatorValue.ValueUpdateListener() {
+        @Override
+        public void onUpdate(AnimatorValue animator, float fraction) {
+            if (frameCallback != null) {
+                frameCallback.doAnimationFrame(currentTimeMillis());
+            }
+        }
+    };
+
+    /**
+     * Default construct, the platform animator is created on the UI thread when first started.
+     */
+    public AnimatorValueFrameSource() {
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return System.nanoTime() / 1000000L;
+    }
+
+    @Override
+    public void start(AnimationHandler.FrameCallback callback) {
+        frameCallback = callback;
+        getDriver().start();
+    }
+
+    @Override
+    public void stop() {
+        getDriver().stop();
+        frameCallback = null;
+    }
+
+    @Override
+    public boolean isFrameThread() {
+        return EventRunner.getMainEventRunner().isCurrentRunnerThread();
+    }
+
+    @Override
+    public void post(Runnable task) {
+        EventHandler handler = mainHandler;
+        if (handler == null) {
+            handler = new EventHandler(EventRunner.getMainEventRunner());
+            mainHandler = handler;
+        }
+        handler.postTask(task);
+    }
+
+    /**
+     * Get the platform animator which ticks the frames, it should be called on the UI thread.
+     *
+     * @return The platform animator.
+     */
+    public AnimatorValue getDriver() {
+        if (driver == null) {
+            driver = new AnimatorValue();
+            driver.setDuration(1000);
+            driver.setLoopedCount(Animator.INFINITE);
+            driver.setValueUpdateListener(updateListener);
+        }
+        return driver;
+    }
+}
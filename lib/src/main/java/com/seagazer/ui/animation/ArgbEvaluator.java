@@ -0,0 +1,119 @@
+package com.seagazer.ui.animation;
+
+/**
+ * ArgbEvaluator interpolates the colors in packed ARGB int, each channel is interpolated separately.
+ * <p>
+ * By default the channels are interpolated in sRGB like android. The gamma correct evaluator converts the color
+ * channels to linear light first, so the middle of a transition does not look darker than its ends. The
+ * conversion uses lookup tables, nothing is allocated per frame. Use {@link ValueAnimator#ofArgb(int...)} to
+ * animate colors without boxing.
+ */
+public class ArgbEvaluator implements TypeEvaluator<Integer> {
+    private static final ArgbEvaluator INSTANCE = new ArgbEvaluator(false);
+    private static final ArgbEvaluator GAMMA_INSTANCE = new ArgbEvaluator(true);
+    private static final float GAMMA = 2.2f;
+    private static final int ENCODE_TABLE_SIZE = 4096;
+    private static float[] decodeTable;
+    private static int[] encodeTable;
+    private final boolean isGammaCorrect;
+
+    /**
+     * Create an evaluator.
+     *
+     * @param isGammaCorrect True to interpolate in linear light.
+     */
+    public ArgbEvaluator(boolean isGammaCorrect) {
+        this.isGammaCorrect = isGammaCorrect;
+        if (isGammaCorrect) {
+            ensureTables();
+        }
+    }
+
+    /**
+     * Get the shared evaluator which interpolates in sRGB.
+     *
+     * @return The shared instance.
+     */
+    public static ArgbEvaluator getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the shared evaluator which interpolates in linear light.
+     *
+     * @return The shared gamma correct instance.
+     */
+    public static ArgbEvaluator getGammaInstance() {
+        return GAMMA_INSTANCE;
+    }
+
+    /**
+     * Whether the colors are interpolated in linear light.
+     *
+     * @return True if gamma correct.
+     */
+    public boolean isGammaCorrect() {
+        return isGammaCorrect;
+    }
+
+    @Override
+    public Integer evaluate(float fraction, Integer startValue, Integer endValue) {
+        return evaluate(fraction, startValue.intValue(), endValue.intValue());
+    }
+
+    /**
+     * Compute the color at the fraction without boxing.
+     *
+     * @param fraction   The fraction from the start color to the end color.
+     * @param startColor The start color in ARGB.
+     * @param endColor   The end color in ARGB.
+     * @return The color at the fraction in ARGB.
+     */
+    public int evaluate(float fraction, int startColor, int endColor) {
+        int alpha = lerp(startColor >>> 24, endColor >>> 24, fraction);
+        int red;
+        int green;
+        int blue;
+        if (isGammaCorrect) {
+            red = lerpLinear((startColor >> 16) & 0xff, (endColor >> 16) & 0xff, fraction);
+            green = lerpLinear((startColor >> 8) & 0xff, (endColor >> 8) & 0xff, fraction);
+            blue = lerpLinear(startColor & 0xff, endColor & 0xff, fraction);
+        } else {
+            red = lerp((startColor >> 16) & 0xff, (endColor >> 16) & 0xff, fraction);
+            green = lerp((startColor >> 8) & 0xff, (endColor >> 8) & 0xff, fraction);
+            blue = lerp(startColor & 0xff, endColor & 0xff, fraction);
+        }
+        return alpha << 24 | red << 16 | green << 8 | blue;
+    }
+
+    private static int lerp(int start, int end, float fraction) {
+        return clamp(Math.round(start + fraction * (end - start)));
+    }
+
+    private static int lerpLinear(int start, int end, float fraction) {
+        float[] decode = decodeTable;
+        float linear = decode[start] + fraction * (decode[end] - decode[start]);
+        int index = Math.round(linear * (ENCODE_TABLE_SIZE - 1));
+        return encodeTable[Math.max(0, Math.min(ENCODE_TABLE_SIZE - 1, index))];
+    }
+
+    private static int clamp(int channel) {
+        return Math.max(0, Math.min(255, channel));
+    }
+
+    private static synchronized void ensureTables() {
+        if (decodeTable != null) {
+            return;
+        }
+        float[] decode = new float[256];
+        for (int i = 0; i < decode.length; i++) {
+            decode[i] = (float) Math.pow(i / 255.0, GAMMA);
+        }
+        int[] encode = new int[ENCODE_TABLE_SIZE];
+        for (int i = 0; i < encode.length; i++) {
+            encode[i] = (int) Math.round(Math.pow(i / (double) (ENCODE_TABLE_SIZE - 1), 1.0 / GAMMA) * 255.0);
+        }
+        encodeTable = encode;
+        decodeTable = decode;
+    }
+}
@@ -0,0 +1,200 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.animation.Animator;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * BakedInterpolator samples a {@link Animator.TimelineCurve} once into a fixed-size table, and interpolates the
+ * table linearly when playing, so a costly curve is only evaluated when baking.
+ * <p>
+ * Use {@link #of(Animator.TimelineCurve, int)} to share the same table between all the animators using the
+ * same curve instance. The cache is keyed by the identity of curve, two equal curves do not share a table.
+ */
+public class BakedInterpolator implements Animator.TimelineCurve {
+    /**
+     * The default count of segments of the table.
+     */
+    public static final int DEFAULT_RESOLUTION = 256;
+    private static final int MAX_RESOLUTION = 8192;
+    private static final int ERROR_SAMPLES_PER_SEGMENT = 8;
+    // the tables of each curve by resolution, the curves are held weakly and compared by identity
+    private static final Map<CurveKey, Map<Integer, BakedInterpolator>> CACHE = new HashMap<>();
+    private static final ReferenceQueue<Animator.TimelineCurve> COLLECTED_CURVES = new ReferenceQueue<>();
+    private final float[] table;
+    private final int resolution;
+
+    /**
+     * Bake the curve without cache.
+     *
+     * @param source     The curve to be sampled.
+     * @param resolution The count of segments of the table, the table holds resolution + 1 samples.
+     */
+    public BakedInterpolator(Animator.TimelineCurve source, int resolution) {
+        if (resolution < 1) {
+            throw new IllegalArgumentException("The resolution must be positive!");
+        }
+        this.resolution = resolution;
+        table = new float[resolution + 1];
+        for (int i = 0; i <= resolution; i++) {
+            table[i] = source.getCurvedTime(i / (float) resolution);
+        }
+    }
+
+    /**
+     * Get the shared baked table of the curve with {@link #DEFAULT_RESOLUTION}.
+     *
+     * @param source The curve to be sampled.
+     * @return The shared BakedInterpolator.
+     */
+    public static BakedInterpolator of(Animator.TimelineCurve source) {
+        return of(source, DEFAULT_RESOLUTION);
+    }
+
+    /**
+     * Get the shared baked table of the curve, the table is created when first requested and shared by
+     * curve instance and resolution until the curve is garbage collected.
+     *
+     * @param source     The curve to be sampled.
+     * @param resolution The count of segments of the table, higher is more accurate and costs more memory.
+     * @return The shared BakedInterpolator.
+     */
+    public static synchronized BakedInterpolator of(Animator.TimelineCurve source, int resolution) {
+        if (source instanceof BakedInterpolator) {
+            return (BakedInterpolator) source;
+        }
+        Map<Integer, BakedInterpolator> tables = getTables(source);
+        BakedInterpolator baked = tables.get(resolution);
+        if (baked == null) {
+            baked = new BakedInterpolator(source, resolution);
+            tables.put(resolution, baked);
+        }
+        return baked;
+    }
+
+    private static synchronized BakedInterpolator share(Animator.TimelineCurve source, BakedInterpolator baked) {
+        Map<Integer, BakedInterpolator> tables = getTables(source);
+        BakedInterpolator shared = tables.get(baked.resolution);
+        if (shared == null) {
+            tables.put(baked.resolution, baked);
+            return baked;
+        }
+        return shared;
+    }
+
+    private static Map<Integer, BakedInterpolator> getTables(Animator.TimelineCurve source) {
+        // drop the tables of the collected curves
+        Reference<? extends Animator.TimelineCurve> collected;
+        while ((collected = COLLECTED_CURVES.poll()) != null) {
+            CACHE.remove(collected);
+        }
+        CurveKey key = new CurveKey(source, COLLECTED_CURVES);
+        Map<Integer, BakedInterpolator> tables = CACHE.get(key);
+        if (tables == null) {
+            tables = new HashMap<>();
+            CACHE.put(key, tables);
+        }
+        return tables;
+    }
+
+    /**
+     * Get the shared baked table of the curve with the smallest power of two resolution whose error against
+     * the curve is no more than the max error. The candidates are baked out of the cache, only the chosen table
+     * is shared.
+     *
+     * @param source   The curve to be sampled.
+     * @param maxError The max acceptable error of the curved fraction.
+     * @return The shared BakedInterpolator.
+     */
+    public static BakedInterpolator ofMaxError(Animator.TimelineCurve source, float maxError) {
+        if (source instanceof BakedInterpolator) {
+            return (BakedInterpolator) source;
+        }
+        int resolution = 16;
+        BakedInterpolator baked = new BakedInterpolator(source, resolution);
+        while (resolution < MAX_RESOLUTION && baked.computeMaxError(source) > maxError) {
+            resolution *= 2;
+            baked = new BakedInterpolator(source, resolution);
+        }
+        return share(source, baked);
+    }
+
+    /**
+     * Clear all the shared tables.
+     */
+    public static synchronized void clearCache() {
+        CACHE.clear();
+    }
+
+    /**
+     * The weak key of a curve in the cache, compared by the identity of curve.
+     */
+    private static final class CurveKey extends WeakReference<Animator.TimelineCurve> {
+        private final int hash;
+
+        CurveKey(Animator.TimelineCurve curve, ReferenceQueue<Animator.TimelineCurve> queue) {
+            super(curve, queue);
+            hash = System.identityHashCode(curve);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CurveKey)) {
+                return false;
+            }
+            Object curve = get();
+            return curve != null && curve == ((CurveKey) obj).get();
+        }
+    }
+
+    @Override
+    public float getCurvedTime(float input) {
+        if (input <= 0f) {
+            return table[0];
+        }
+        if (input >= 1f) {
+            return table[resolution];
+        }
+        float position = input * resolution;
+        int index = (int) position;
+        float start = table[index];
+        return start + (position - index) * (table[index + 1] - start);
+    }
+
+    /**
+     * Get the count of segments of the table.
+     *
+     * @return The resolution.
+     */
+    public int getResolution() {
+        return resolution;
+    }
+
+    /**
+     * Measure the max error of this table against the source curve, sampled between the table entries.
+     *
+     * @param source The curve baked into this table.
+     * @return The max absolute error of the curved fraction.
+     */
+    public float computeMaxError(Animator.TimelineCurve source) {
+        int samples = resolution * ERROR_SAMPLES_PER_SEGMENT;
+        float maxError = 0f;
+        for (int i = 0; i <= samples; i++) {
+            float input = i / (float) samples;
+            maxError = Math.max(maxError, Math.abs(getCurvedTime(input) - source.getCurvedTime(input)));
+        }
+        return maxError;
+    }
+}
@@ -0,0 +1,111 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.animation.Animator;
+
+/**
+ * Evaluate the platform {@link Animator.CurveType} in java, the formulas are the same as android interpolators.
+ * The curve types from {@link Animator.CurveType#LINEAR} to {@link Animator.CurveType#CYCLE} are supported, the
+ * others such as {@link Animator.CurveType#SPRING} are rejected instead of running linear silently.
+ */
+final class Curves {
+    private static final float TENSION = 2.0f;
+    private static final float EXTRA_TENSION = 1.5f;
+    private static final int MAX_CURVE_TYPE = Animator.CurveType.CYCLE;
+    private static final Animator.TimelineCurve[] CURVES = new Animator.TimelineCurve[MAX_CURVE_TYPE + 1];
+
+    private Curves() {
+    }
+
+    /**
+     * Get the curve of the curve type as a {@link Animator.TimelineCurve}, such as the interpolator of a keyframe.
+     *
+     * @param curveType The curve type, {@link Animator.CurveType}.
+     * @return The shared curve instance.
+     * @throws IllegalArgumentException If the curve type is not supported.
+     */
+    static synchronized Animator.TimelineCurve of(final int curveType) {
+        checkCurveType(curveType);
+        if (CURVES[curveType] == null) {
+            CURVES[curveType] = new Animator.TimelineCurve() {
+                @Override
+                public float getCurvedTime(float input) {
+                    return Curves.getCurvedTime(curveType, input);
+                }
+            };
+        }
+        return CURVES[curveType];
+    }
+
+    /**
+     * Check the curve type can be evaluated in java.
+     *
+     * @param curveType The curve type, {@link Animator.CurveType}.
+     * @throws IllegalArgumentException If the curve type is not supported.
+     */
+    static void checkCurveType(int curveType) {
+        if (curveType < Animator.CurveType.LINEAR || curveType > MAX_CURVE_TYPE) {
+            throw new IllegalArgumentException("Unsupported curve type " + curveType + "!");
+        }
+    }
+
+    /**
+     * Map the linear elapsed fraction to the curved fraction.
+     *
+     * @param curveType The curve type, {@link Animator.CurveType}.
+     * @param input     The linear fraction from 0 to 1.
+     * @return The curved fraction.
+     * @throws IllegalArgumentException If the curve type is not supported.
+     */
+    static float getCurvedTime(int curveType, float input) {
+        switch (curveType) {
+            case Animator.CurveType.ACCELERATE:
+                return input * input;
+            case Animator.CurveType.DECELERATE:
+                return 1.0f - (1.0f - input) * (1.0f - input);
+            case Animator.CurveType.ACCELERATE_DECELERATE:
+                return (float) (Math.cos((input + 1) * Math.PI) / 2.0f) + 0.5f;
+            case Animator.CurveType.ANTICIPATE:
+                return input * input * ((TENSION + 1) * input - TENSION);
+            case Animator.CurveType.OVERSHOOT:
+                float t = input - 1.0f;
+                return t * t * ((TENSION + 1) * t + TENSION) + 1.0f;
+            case Animator.CurveType.ANTICIPATE_OVERSHOOT:
+                return anticipateOvershoot(input);
+            case Animator.CurveType.BOUNCE:
+                return bounce(input);
+            case Animator.CurveType.CYCLE:
+                return (float) Math.sin(2 * Math.PI * input);
+            case Animator.CurveType.LINEAR:
+                return input;
+            default:
+                throw new IllegalArgumentException("Unsupported curve type " + curveType + "!");
+        }
+    }
+
+    private static float anticipateOvershoot(float input) {
+        float tension = TENSION * EXTRA_TENSION;
+        if (input < 0.5f) {
+            float t = input * 2.0f;
+            return 0.5f * (t * t * ((tension + 1) * t - tension));
+        }
+        float t = input * 2.0f - 2.0f;
+        return 0.5f * (t * t * ((tension + 1) * t + tension) + 2.0f);
+    }
+
+    private static float bounce(float input) {
+        float t = input * 1.1226f;
+        if (t < 0.3535f) {
+            return bounceStep(t);
+        } else if (t < 0.7408f) {
+            return bounceStep(t - 0.54719f) + 0.7f;
+        } else if (t < 0.9644f) {
+            return bounceStep(t - 0.8526f) + 0.9f;
+        } else {
+            return bounceStep(t - 1.0435f) + 0.95f;
+        }
+    }
+
+    private static float bounceStep(float t) {
+        return t * t * 8.0f;
+    }
+}
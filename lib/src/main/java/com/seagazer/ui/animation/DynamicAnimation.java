@@ -0,0 +1,419 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.components.Component;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * DynamicAnimation is the base of the physics-based animations, the motion is driven by a force instead of a
+ * duration and a curve, so the animation continues smoothly from any value and velocity and ends as soon as
+ * the motion is imperceptible.
+ * <p>
+ * The physics is integrated by a fixed time step which is independent of the frame rate, the frames are ticked
+ * by {@link AnimationHandler} like {@link ValueAnimator}. The animation either writes a {@link ValueAnimator.Property}
+ * of the target component, or only notifies the value to listeners if created without target.
+ */
+public abstract class DynamicAnimation {
+    /**
+     * The minimum visible change of the pixel properties: translation, width and height.
+     */
+    public static final float MIN_VISIBLE_CHANGE_PIXELS = 1f;
+    /**
+     * The minimum visible change of rotation, in degrees.
+     */
+    public static final float MIN_VISIBLE_CHANGE_ROTATION_DEGREES = 0.1f;
+    /**
+     * The minimum visible change of alpha.
+     */
+    public static final float MIN_VISIBLE_CHANGE_ALPHA = 1f / 256f;
+    /**
+     * The minimum visible change of scale.
+     */
+    public static final float MIN_VISIBLE_CHANGE_SCALE = 1f / 500f;
+    /**
+     * The time step of the integration, in milliseconds.
+     */
+    static final long STEP_MILLIS = 4;
+    /**
+     * The time step of the integration, in seconds.
+     */
+    static final float STEP_SECONDS = STEP_MILLIS / 1000f;
+    // a long frame gap is clamped so that one frame never runs too many steps
+    private static final long MAX_FRAME_MILLIS = 100;
+    private static final float THRESHOLD_MULTIPLIER = 0.75f;
+    // the velocity which moves the value threshold in one frame of 16ms
+    private static final float VELOCITY_THRESHOLD_MULTIPLIER = 1000f / 16f;
+    private WeakReference<Component> targetHolder;
+    private ValueAnimator.Property property;
+    float value;
+    float velocity;
+    private boolean isStartValueSet = false;
+    private boolean isStartVelocitySet = false;
+    private float minValue = -Float.MAX_VALUE;
+    private float maxValue = Float.MAX_VALUE;
+    private float minimumVisibleChange;
+    private long lastFrameTime = -1;
+    private long pendingMillis;
+    private boolean isRunning = false;
+    private final ListenerList<OnAnimationUpdateListener> updateListeners = new ListenerList<>();
+    private final ListenerList<OnAnimationEndListener> endListeners = new ListenerList<>();
+
+    /**
+     * Create an animation without target, the value is only notified to the listeners.
+     */
+    DynamicAnimation() {
+        minimumVisibleChange = MIN_VISIBLE_CHANGE_PIXELS;
+    }
+
+    /**
+     * Create an animation on the property of component.
+     *
+     * @param target   The component to animate.
+     * @param property The property to animate.
+     */
+    DynamicAnimation(Component target, ValueAnimator.Property property) {
+        if (target == null || property == null) {
+            throw new IllegalArgumentException("The target and property can not be null!");
+        }
+        this.targetHolder = new WeakReference<>(target);
+        this.property = property;
+        switch (property) {
+            case ALPHA:
+                minimumVisibleChange = MIN_VISIBLE_CHANGE_ALPHA;
+                break;
+            case SCALE_X:
+            case SCALE_Y:
+                minimumVisibleChange = MIN_VISIBLE_CHANGE_SCALE;
+                break;
+            case ROTATION:
+                minimumVisibleChange = MIN_VISIBLE_CHANGE_ROTATION_DEGREES;
+                break;
+            default:
+                minimumVisibleChange = MIN_VISIBLE_CHANGE_PIXELS;
+                break;
+        }
+    }
+
+    /**
+     * Set the start value, if not set the animation starts from the current value of the property, or takes over
+     * the value of the animation which is writing the property.
+     *
+     * @param startValue The start value.
+     */
+    public void setStartValue(float startValue) {
+        value = startValue;
+        isStartValueSet = true;
+    }
+
+    /**
+     * Set the start velocity, if not set the animation takes over the velocity of the animation which is writing
+     * the property.
+     *
+     * @param startVelocity The start velocity, in units per second.
+     */
+    public void setStartVelocity(float startVelocity) {
+        velocity = startVelocity;
+        isStartVelocitySet = true;
+    }
+
+    /**
+     * Set the lower bound of the value, the animation ends when the value reaches it.
+     *
+     * @param minValue The lower bound.
+     */
+    public void setMinValue(float minValue) {
+        this.minValue = minValue;
+    }
+
+    /**
+     * Set the upper bound of the value, the animation ends when the value reaches it.
+     *
+     * @param maxValue The upper bound.
+     */
+    public void setMaxValue(float maxValue) {
+        this.maxValue = maxValue;
+    }
+
+    /**
+     * Set the minimum change of value which can be seen, the animation settles when the motion is smaller than
+     * it. The default is chosen by the property, or {@link #MIN_VISIBLE_CHANGE_PIXELS} if there is no target.
+     *
+     * @param minimumVisibleChange The minimum visible change, must be positive.
+     */
+    public void setMinimumVisibleChange(float minimumVisibleChange) {
+        if (minimumVisibleChange <= 0) {
+            throw new IllegalArgumentException("The minimum visible change must be positive!");
+        }
+        this.minimumVisibleChange = minimumVisibleChange;
+    }
+
+    /**
+     * Get the minimum change of value which can be seen.
+     *
+     * @return The minimum visible change.
+     */
+    public float getMinimumVisibleChange() {
+        return minimumVisibleChange;
+    }
+
+    /**
+     * Get the current value of the animation.
+     *
+     * @return The current value.
+     */
+    public float getValue() {
+        return value;
+    }
+
+    /**
+     * Get the current velocity of the animation.
+     *
+     * @return The current velocity, in units per second.
+     */
+    public float getVelocity() {
+        return velocity;
+    }
+
+    /**
+     * Whether the animation is running.
+     *
+     * @return True if running.
+     */
+    public boolean isRunning() {
+        return isRunning;
+    }
+
+    /**
+     * Start the animation, it keeps running until the motion settles, the value reaches a bound or it is
+     * canceled. Starting a running animation has no effect.
+     */
+    public void start() {
+        if (isRunning) {
+            return;
+        }
+        Component component = targetHolder == null ? null : targetHolder.get();
+        if (!isStartValueSet && component != null) {
+            PropertyRegistry.Owner owner = PropertyRegistry.getOwner(component, property);
+            value = owner != null
+                    ? owner.getValue(component, property) : ValueAnimator.readProperty(component, property);
+        }
+        if (value < minValue || value > maxValue) {
+            throw new IllegalArgumentException("The start value must be between the min value and max value!");
+        }
+        onStart();
+        if (component != null) {
+            PropertyRegistry.Owner previous = PropertyRegistry.claim(component, property, propertyOwner);
+            if (previous != null) {
+                if (!isStartVelocitySet) {
+                    velocity = previous.getVelocity(component, property);
+                }
+                previous.release(component, property);
+            }
+        }
+        isStartValueSet = false;
+        isStartVelocitySet = false;
+        lastFrameTime = -1;
+        pendingMillis = 0;
+        isRunning = true;
+        AnimationHandler.getInstance().addFrameCallback(frameCallback);
+    }
+
+    /**
+     * Cancel the animation, the value stays where it is.
+     */
+    public void cancel() {
+        if (isRunning) {
+            endAnimation(true);
+        }
+    }
+
+    /**
+     * Adds a listener which receives the value on every frame.
+     *
+     * @param listener The listener to be added.
+     */
+    public void addUpdateListener(OnAnimationUpdateListener listener) {
+        updateListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener from the update listeners.
+     *
+     * @param listener The listener to be removed.
+     */
+    public void removeUpdateListener(OnAnimationUpdateListener listener) {
+        updateListeners.remove(listener);
+    }
+
+    /**
+     * Adds a listener which is notified when the animation ends or is canceled.
+     *
+     * @param listener The listener to be added.
+     */
+    public void addEndListener(OnAnimationEndListener listener) {
+        endListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener from the end listeners.
+     *
+     * @param listener The listener to be removed.
+     */
+    public void removeEndListener(OnAnimationEndListener listener) {
+        endListeners.remove(listener);
+    }
+
+    /**
+     * Called before the first frame, check the settings and prepare the coefficients of integration.
+     */
+    void onStart() {
+    }
+
+    /**
+     * Advance {@link #value} and {@link #velocity} by one time step of {@link #STEP_SECONDS}.
+     *
+     * @return True if the motion settles.
+     */
+    abstract boolean step();
+
+    /**
+     * The value change under which the motion is imperceptible.
+     *
+     * @return The threshold of value.
+     */
+    float getValueThreshold() {
+        return minimumVisibleChange * THRESHOLD_MULTIPLIER;
+    }
+
+    /**
+     * The velocity under which the motion is imperceptible.
+     *
+     * @return The threshold of velocity, in units per second.
+     */
+    float getVelocityThreshold() {
+        return getValueThreshold() * VELOCITY_THRESHOLD_MULTIPLIER;
+    }
+
+    float getMinValue() {
+        return minValue;
+    }
+
+    float getMaxValue() {
+        return maxValue;
+    }
+
+    /**
+     * Apply the current value and end the animation as settled.
+     */
+    void settle() {
+        velocity = 0;
+        applyValue();
+        endAnimation(false);
+    }
+
+    private final AnimationHandler.FrameCallback frameCallback = new AnimationHandler.FrameCallback() {
+        @Override
+        public void doAnimationFrame(long frameTime) {
+            if (lastFrameTime < 0) {
+                // the first frame shows the start value
+                lastFrameTime = frameTime;
+                applyValue();
+                return;
+            }
+            pendingMillis += Math.min(frameTime - lastFrameTime, MAX_FRAME_MILLIS);
+            lastFrameTime = frameTime;
+            boolean settled = false;
+            while (pendingMillis >= STEP_MILLIS) {
+                pendingMillis -= STEP_MILLIS;
+                if (step()) {
+                    settled = true;
+                    break;
+                }
+            }
+            if (value <= minValue) {
+                value = minValue;
+                settled = true;
+            } else if (value >= maxValue) {
+                value = maxValue;
+                settled = true;
+            }
+            if (settled) {
+                settle();
+            } else {
+                applyValue();
+            }
+        }
+    };
+
+    private final PropertyRegistry.Owner propertyOwner = new PropertyRegistry.Owner() {
+        @Override
+        public float getValue(Component component, ValueAnimator.Property property) {
+            return value;
+        }
+
+        @Override
+        public float getVelocity(Component component, ValueAnimator.Property property) {
+            return velocity;
+        }
+
+        @Override
+        public void release(Component component, ValueAnimator.Property property) {
+            cancel();
+        }
+    };
+
+    private void applyValue() {
+        if (targetHolder != null) {
+            Component component = targetHolder.get();
+            if (component != null) {
+                ValueAnimator.writeProperty(component, property, value);
+            }
+        }
+        Object[] snapshot = updateListeners.getListeners();
+        for (int i = 0; i < snapshot.length; i++) {
+            ((OnAnimationUpdateListener) snapshot[i]).onAnimationUpdate(this, value, velocity);
+        }
+    }
+
+    private void endAnimation(boolean canceled) {
+        isRunning = false;
+        AnimationHandler.getInstance().removeFrameCallback(frameCallback);
+        Component component = targetHolder == null ? null : targetHolder.get();
+        if (component != null) {
+            PropertyRegistry.release(component, property, propertyOwner);
+        }
+        Object[] snapshot = endListeners.getListeners();
+        for (int i = 0; i < snapshot.length; i++) {
+            ((OnAnimationEndListener) snapshot[i]).onAnimationEnd(this, canceled, value, velocity);
+        }
+    }
+
+    /**
+     * Receives the value of the animation on every frame.
+     */
+    public interface OnAnimationUpdateListener {
+        /**
+         * Notifies the value of current frame.
+         *
+         * @param animation The animation current playing.
+         * @param value     The current value.
+         * @param velocity  The current velocity, in units per second.
+         */
+        void onAnimationUpdate(DynamicAnimation animation, float value, float velocity);
+    }
+
+    /**
+     * Receives the end of the animation.
+     */
+    public interface OnAnimationEndListener {
+        /**
+         * Notifies the end of the animation.
+         *
+         * @param animation The animation which ended.
+         * @param canceled  True if the animation was canceled, false if it settled or reached a bound.
+         * @param value     The final value.
+         * @param velocity  The final velocity, in units per second.
+         */
+        void onAnimationEnd(DynamicAnimation animation, boolean canceled, float value, float velocity);
+    }
+}
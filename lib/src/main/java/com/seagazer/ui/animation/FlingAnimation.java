@@ -0,0 +1,77 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.components.Component;
+
+/**
+ * FlingAnimation continues the velocity of a gesture and slows it down by friction, the velocity decays
+ * exponentially and the animation ends when the motion is imperceptible or the value reaches a bound.
+ * <pre>
+ *     FlingAnimation fling = new FlingAnimation(component, ValueAnimator.Property.TRANSLATION_Y);
+ *     fling.setStartVelocity(velocityOfGesture);
+ *     fling.setMinValue(0);
+ *     fling.setMaxValue(maxScroll);
+ *     fling.start();
+ * </pre>
+ */
+public class FlingAnimation extends DynamicAnimation {
+    // the decay rate per second of friction 1
+    private static final float FRICTION_SCALE = 4.2f;
+    private float friction = 1f;
+    private float decayRate;
+    private float stepDecay;
+
+    /**
+     * Create a fling without target, the value is only notified to the listeners.
+     */
+    public FlingAnimation() {
+        super();
+        updateCoefficients();
+    }
+
+    /**
+     * Create a fling on the property of component.
+     *
+     * @param target   The component to animate.
+     * @param property The property to animate.
+     */
+    public FlingAnimation(Component target, ValueAnimator.Property property) {
+        super(target, property);
+        updateCoefficients();
+    }
+
+    /**
+     * Set the friction of the fling, the higher the faster it slows down.
+     *
+     * @param friction The friction, must be positive, 1 by default.
+     */
+    public void setFriction(float friction) {
+        if (friction <= 0) {
+            throw new IllegalArgumentException("The friction must be positive!");
+        }
+        this.friction = friction;
+        updateCoefficients();
+    }
+
+    /**
+     * Get the friction of the fling.
+     *
+     * @return The friction.
+     */
+    public float getFriction() {
+        return friction;
+    }
+
+    private void updateCoefficients() {
+        decayRate = friction * FRICTION_SCALE;
+        stepDecay = (float) Math.exp(-decayRate * STEP_SECONDS);
+    }
+
+    @Override
+    boolean step() {
+        // the exact solution of the exponential decay over one step
+        float nextVelocity = velocity * stepDecay;
+        value += (velocity - nextVelocity) / decayRate;
+        velocity = nextVelocity;
+        return Math.abs(velocity) < getVelocityThreshold();
+    }
+}
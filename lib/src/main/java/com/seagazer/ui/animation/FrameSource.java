@@ -0,0 +1,42 @@
+package com.seagazer.ui.animation;
+
+/**
+ * FrameSource provides the clock and the frame ticks to {@link AnimationHandler}.
+ * <p>
+ * On device the frames come from a platform animator {@link AnimatorValueFrameSource}, on the JVM use
+ * {@link ManualFrameSource} to drive the animations by a virtual clock.
+ */
+public interface FrameSource {
+    /**
+     * The current time of this clock.
+     *
+     * @return The current monotonic time, in milliseconds.
+     */
+    long currentTimeMillis();
+
+    /**
+     * Start delivering frames to the callback until {@link #stop()} is called.
+     *
+     * @param callback The callback to receive the frames.
+     */
+    void start(AnimationHandler.FrameCallback callback);
+
+    /**
+     * Stop delivering frames.
+     */
+    void stop();
+
+    /**
+     * Whether the caller is on the thread which receives the frames, the UI thread on device.
+     *
+     * @return True if on the frame thread.
+     */
+    boolean isFrameThread();
+
+    /**
+     * Run the task on the frame thread later, even if no frame is delivered. It may be called from any thread.
+     *
+     * @param task The task to run.
+     */
+    void post(Runnable task);
+}
@@ -0,0 +1,135 @@
+package com.seagazer.ui.animation;
+
+import java.util.Arrays;
+
+/**
+ * IdentityIndexMap maps objects by identity to int indexes, such as the slot of a component in an array. The keys
+ * are held in an open addressing table and the indexes in a parallel int array, so nothing is boxed or allocated
+ * unless the table grows.
+ */
+final class IdentityIndexMap {
+    private static final int INITIAL_CAPACITY = 16;
+    private Object[] keys = new Object[INITIAL_CAPACITY];
+    private int[] indexes = new int[INITIAL_CAPACITY];
+    private int size = 0;
+
+    /**
+     * Get the index of the key.
+     *
+     * @param key The key compared by identity.
+     * @return The index, -1 if the key is not in the map.
+     */
+    int get(Object key) {
+        Object[] table = keys;
+        int mask = table.length - 1;
+        for (int i = hash(key, mask); ; i = (i + 1) & mask) {
+            Object current = table[i];
+            if (current == key) {
+                return indexes[i];
+            }
+            if (current == null) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Map the key to the index, the old index of the key is replaced.
+     *
+     * @param key   The key compared by identity.
+     * @param index The index, not negative.
+     */
+    void put(Object key, int index) {
+        int mask = keys.length - 1;
+        int i = hash(key, mask);
+        while (keys[i] != null) {
+            if (keys[i] == key) {
+                indexes[i] = index;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        indexes[i] = index;
+        // keep the table at most half full
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+    }
+
+    /**
+     * Remove the key.
+     *
+     * @param key The key compared by identity.
+     * @return The index of the key, -1 if the key is not in the map.
+     */
+    int remove(Object key) {
+        Object[] table = keys;
+        int mask = table.length - 1;
+        int i = hash(key, mask);
+        while (table[i] != key) {
+            if (table[i] == null) {
+                return -1;
+            }
+            i = (i + 1) & mask;
+        }
+        int index = indexes[i];
+        // shift the following keys of the probe back, so no tombstone is needed
+        int hole = i;
+        for (int j = (i + 1) & mask; table[j] != null; j = (j + 1) & mask) {
+            int home = hash(table[j], mask);
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                table[hole] = table[j];
+                indexes[hole] = indexes[j];
+                hole = j;
+            }
+        }
+        table[hole] = null;
+        size--;
+        return index;
+    }
+
+    /**
+     * Get the count of keys.
+     *
+     * @return The count.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Remove all the keys.
+     */
+    void clear() {
+        if (size > 0) {
+            Arrays.fill(keys, null);
+            size = 0;
+        }
+    }
+
+    private void resize(int capacity) {
+        Object[] oldKeys = keys;
+        int[] oldIndexes = indexes;
+        keys = new Object[capacity];
+        indexes = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            Object key = oldKeys[i];
+            if (key != null) {
+                int j = hash(key, mask);
+                while (keys[j] != null) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = key;
+                indexes[j] = oldIndexes[i];
+            }
+        }
+    }
+
+    private static int hash(Object key, int mask) {
+        int h = System.identityHashCode(key);
+        // spread the high bits, the identity hash codes may differ only there
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,100 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.animation.Animator;
+
+/**
+ * Keyframe holds a value at a fraction of the animation, the interpolator of the keyframe is applied to
+ * the segment between the previous keyframe and this one.
+ */
+public class Keyframe {
+    private final float fraction;
+    private final boolean isInt;
+    private final float floatValue;
+    private final int intValue;
+    private Animator.TimelineCurve interpolator;
+
+    private Keyframe(float fraction, boolean isInt, float floatValue, int intValue) {
+        this.fraction = fraction;
+        this.isInt = isInt;
+        this.floatValue = floatValue;
+        this.intValue = intValue;
+    }
+
+    /**
+     * Create a keyframe holding a float value.
+     *
+     * @param fraction The fraction of the animation from 0 to 1.
+     * @param value    The value at this fraction.
+     * @return Keyframe instance.
+     */
+    public static Keyframe ofFloat(float fraction, float value) {
+        return new Keyframe(fraction, false, value, 0);
+    }
+
+    /**
+     * Create a keyframe holding an int value.
+     *
+     * @param fraction The fraction of the animation from 0 to 1.
+     * @param value    The value at this fraction.
+     * @return Keyframe instance.
+     */
+    public static Keyframe ofInt(float fraction, int value) {
+        return new Keyframe(fraction, true, 0, value);
+    }
+
+    /**
+     * Set the interpolator used for the segment from the previous keyframe to this one.
+     *
+     * @param interpolator The interpolator, null means linear.
+     * @return This keyframe.
+     */
+    public Keyframe setInterpolator(Animator.TimelineCurve interpolator) {
+        this.interpolator = interpolator;
+        return this;
+    }
+
+    /**
+     * Get the interpolator of the segment end with this keyframe.
+     *
+     * @return The interpolator, maybe null.
+     */
+    public Animator.TimelineCurve getInterpolator() {
+        return interpolator;
+    }
+
+    /**
+     * Get the fraction of this keyframe.
+     *
+     * @return The fraction from 0 to 1.
+     */
+    public float getFraction() {
+        return fraction;
+    }
+
+    /**
+     * Whether this keyframe holds an int value.
+     *
+     * @return True if created by {@link #ofInt(float, int)}.
+     */
+    public boolean isIntValue() {
+        return isInt;
+    }
+
+    /**
+     * Get the value as float.
+     *
+     * @return The value of this keyframe.
+     */
+    public float getFloatValue() {
+        return isInt ? intValue : floatValue;
+    }
+
+    /**
+     * Get the value as int.
+     *
+     * @return The value of this keyframe.
+     */
+    public int getIntValue() {
+        return isInt ? intValue : (int) floatValue;
+    }
+}
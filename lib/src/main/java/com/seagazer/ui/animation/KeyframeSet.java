@@ -0,0 +1,353 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.animation.Animator;
+
+/**
+ * KeyframeSet stores the keyframes of an animator in flat primitive arrays.
+ * The segment of last frame is cached, so looking up the segment of a playing animation is O(1),
+ * and a random seek falls back to binary search.
+ */
+final class KeyframeSet {
+    private int count = 0;
+    private boolean isInt = false;
+    private float[] fractions = new float[2];
+    private float[] floatValues = new float[2];
+    private int[] intValues = new int[2];
+    private Animator.TimelineCurve[] interpolators;
+    private int lastSegment = 0;
+
+    /**
+     * Set float values spread evenly over the animation.
+     *
+     * @param values The values, at least one.
+     */
+    void setFloatValues(float... values) {
+        checkValuesCount(values.length);
+        int size = Math.max(values.length, 2);
+        ensureCapacity(size);
+        isInt = false;
+        if (values.length == 1) {
+            floatValues[0] = values[0];
+            floatValues[1] = values[0];
+        } else {
+            System.arraycopy(values, 0, floatValues, 0, size);
+        }
+        setEvenFractions(size);
+    }
+
+    /**
+     * Set int values spread evenly over the animation.
+     *
+     * @param values The values, at least one.
+     */
+    void setIntValues(int... values) {
+        checkValuesCount(values.length);
+        int size = Math.max(values.length, 2);
+        ensureCapacity(size);
+        isInt = true;
+        if (values.length == 1) {
+            intValues[0] = values[0];
+            intValues[1] = values[0];
+        } else {
+            System.arraycopy(values, 0, intValues, 0, size);
+        }
+        setEvenFractions(size);
+    }
+
+    /**
+     * Set keyframes, the first keyframe must be at fraction 0 and the last one at fraction 1.
+     * The keyframes are validated before any of them is written, so invalid keyframes leave the set unchanged.
+     *
+     * @param keyframes The keyframes in ascending fraction order, all of the same value type.
+     */
+    void setKeyframes(Keyframe... keyframes) {
+        checkKeyframes(keyframes);
+        int size = keyframes.length;
+        ensureCapacity(size);
+        isInt = keyframes[0].isIntValue();
+        boolean hasInterpolator = false;
+        for (int i = 0; i < size; i++) {
+            Keyframe keyframe = keyframes[i];
+            fractions[i] = keyframe.getFraction();
+            floatValues[i] = keyframe.getFloatValue();
+            intValues[i] = keyframe.getIntValue();
+            hasInterpolator |= keyframe.getInterpolator() != null;
+        }
+        if (hasInterpolator) {
+            if (interpolators == null || interpolators.length < size) {
+                interpolators = new Animator.TimelineCurve[size];
+            }
+            for (int i = 0; i < size; i++) {
+                interpolators[i] = keyframes[i].getInterpolator();
+            }
+        } else {
+            interpolators = null;
+        }
+        count = size;
+        lastSegment = 0;
+    }
+
+    /**
+     * Copy the keyframes of another set, the source is not validated again.
+     *
+     * @param source The keyframes to copy.
+     */
+    void copyFrom(KeyframeSet source) {
+        int size = source.count;
+        ensureCapacity(size);
+        isInt = source.isInt;
+        System.arraycopy(source.fractions, 0, fractions, 0, size);
+        System.arraycopy(source.floatValues, 0, floatValues, 0, size);
+        System.arraycopy(source.intValues, 0, intValues, 0, size);
+        if (source.interpolators != null) {
+            // the array is reused by setKeyframes, so it is copied instead of shared
+            if (interpolators == null || interpolators.length < size) {
+                interpolators = new Animator.TimelineCurve[size];
+            }
+            System.arraycopy(source.interpolators, 0, interpolators, 0, size);
+        } else {
+            interpolators = null;
+        }
+        count = size;
+        lastSegment = 0;
+    }
+
+    /**
+     * Whether the other set holds the same fractions and values, the interpolators are not compared.
+     *
+     * @param other The other set.
+     * @return True if the same fractions and values.
+     */
+    boolean valuesEqual(KeyframeSet other) {
+        if (count != other.count || isInt != other.isInt) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            if (fractions[i] != other.fractions[i]
+                    || (isInt ? intValues[i] != other.intValues[i] : floatValues[i] != other.floatValues[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The hash code of the fractions and values, consistent with {@link #valuesEqual(KeyframeSet)}.
+     *
+     * @return The hash code.
+     */
+    int valuesHashCode() {
+        int hash = isInt ? 1 : 0;
+        for (int i = 0; i < count; i++) {
+            hash = 31 * hash + Float.floatToIntBits(fractions[i]);
+            hash = 31 * hash + (isInt ? intValues[i] : Float.floatToIntBits(floatValues[i]));
+        }
+        return hash;
+    }
+
+    /**
+     * Get the interpolator of the segment before the keyframe.
+     *
+     * @param index The index of keyframe.
+     * @return The interpolator, null if linear.
+     */
+    Animator.TimelineCurve getInterpolator(int index) {
+        return interpolators == null ? null : interpolators[index];
+    }
+
+    /**
+     * Drop the interpolators of all the keyframes, the segments become linear.
+     */
+    void clearInterpolators() {
+        interpolators = null;
+    }
+
+    boolean isIntValues() {
+        return isInt;
+    }
+
+    int getKeyframeCount() {
+        return count;
+    }
+
+    /**
+     * Get the value at the fraction of animation.
+     *
+     * @param fraction The fraction of animation, maybe out of [0, 1] by overshoot curves.
+     * @param reversed True to play from the last keyframe to the first one.
+     * @return The float value.
+     */
+    float getFloatValue(float fraction, boolean reversed) {
+        if (reversed) {
+            fraction = 1f - fraction;
+        }
+        int segment = findSegment(fraction);
+        float t = getSegmentFraction(segment, fraction);
+        float start = isInt ? intValues[segment] : floatValues[segment];
+        float end = isInt ? intValues[segment + 1] : floatValues[segment + 1];
+        if (reversed) {
+            return end + (1f - t) * (start - end);
+        }
+        return start + t * (end - start);
+    }
+
+    /**
+     * Get the value at the fraction of animation.
+     *
+     * @param fraction The fraction of animation, maybe out of [0, 1] by overshoot curves.
+     * @param reversed True to play from the last keyframe to the first one.
+     * @return The int value.
+     */
+    int getIntValue(float fraction, boolean reversed) {
+        if (!isInt) {
+            return (int) getFloatValue(fraction, reversed);
+        }
+        if (reversed) {
+            fraction = 1f - fraction;
+        }
+        int segment = findSegment(fraction);
+        float t = getSegmentFraction(segment, fraction);
+        int start = intValues[segment];
+        int end = intValues[segment + 1];
+        if (reversed) {
+            return end + (int) ((1f - t) * (start - end));
+        }
+        return start + (int) (t * (end - start));
+    }
+
+    /**
+     * Get the color at the fraction of animation, the int values are taken as colors in ARGB.
+     *
+     * @param fraction  The fraction of animation, maybe out of [0, 1] by overshoot curves.
+     * @param reversed  True to play from the last keyframe to the first one.
+     * @param evaluator The evaluator of colors.
+     * @return The color in ARGB.
+     */
+    int getArgbValue(float fraction, boolean reversed, ArgbEvaluator evaluator) {
+        if (reversed) {
+            fraction = 1f - fraction;
+        }
+        int segment = findSegment(fraction);
+        float t = getSegmentFraction(segment, fraction);
+        int start = intValues[segment];
+        int end = intValues[segment + 1];
+        if (reversed) {
+            return evaluator.evaluate(1f - t, end, start);
+        }
+        return evaluator.evaluate(t, start, end);
+    }
+
+    /**
+     * Find the segment contains the fraction, start from the cached segment of last lookup.
+     *
+     * @param fraction The fraction of animation.
+     * @return The index of the segment start keyframe.
+     */
+    int findSegment(float fraction) {
+        int last = count - 2;
+        int segment = lastSegment;
+        if (segment > last) {
+            segment = 0;
+        }
+        if (isInSegment(segment, fraction, last)) {
+            return segment;
+        }
+        if (segment < last && isInSegment(segment + 1, fraction, last)) {
+            lastSegment = segment + 1;
+            return lastSegment;
+        }
+        if (segment > 0 && isInSegment(segment - 1, fraction, last)) {
+            lastSegment = segment - 1;
+            return lastSegment;
+        }
+        lastSegment = seekSegment(fraction);
+        return lastSegment;
+    }
+
+    /**
+     * Find the segment contains the fraction by binary search, the cached segment is not used.
+     *
+     * @param fraction The fraction of animation.
+     * @return The index of the segment start keyframe.
+     */
+    int seekSegment(float fraction) {
+        int low = 0;
+        int high = count - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (fractions[mid] <= fraction) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private boolean isInSegment(int segment, float fraction, int last) {
+        return (segment == 0 || fraction >= fractions[segment])
+                && (segment == last || fraction < fractions[segment + 1]);
+    }
+
+    private float getSegmentFraction(int segment, float fraction) {
+        float start = fractions[segment];
+        float end = fractions[segment + 1];
+        float t = (fraction - start) / (end - start);
+        if (interpolators != null) {
+            Animator.TimelineCurve interpolator = interpolators[segment + 1];
+            if (interpolator != null) {
+                t = interpolator.getCurvedTime(t);
+            }
+        }
+        return t;
+    }
+
+    private void setEvenFractions(int size) {
+        int segments = size - 1;
+        for (int i = 0; i < size; i++) {
+            fractions[i] = i / (float) segments;
+        }
+        fractions[segments] = 1f;
+        interpolators = null;
+        count = size;
+        lastSegment = 0;
+    }
+
+    private void ensureCapacity(int size) {
+        if (fractions.length < size) {
+            fractions = new float[size];
+            floatValues = new float[size];
+            intValues = new int[size];
+        }
+    }
+
+    private static void checkValuesCount(int length) {
+        if (length == 0) {
+            throw new IllegalArgumentException("At least one value is required!");
+        }
+    }
+
+    /**
+     * Check the keyframes can be set, see {@link #setKeyframes(Keyframe...)}.
+     *
+     * @param keyframes The keyframes to check.
+     * @throws IllegalArgumentException If the keyframes are invalid.
+     */
+    static void checkKeyframes(Keyframe[] keyframes) {
+        if (keyframes.length < 2) {
+            throw new IllegalArgumentException("At least two keyframes are required!");
+        }
+        if (keyframes[0].getFraction() != 0f || keyframes[keyframes.length - 1].getFraction() != 1f) {
+            throw new IllegalArgumentException("The first keyframe must be at 0 and the last keyframe must be at 1!");
+        }
+        boolean isInt = keyframes[0].isIntValue();
+        for (int i = 1; i < keyframes.length; i++) {
+            if (keyframes[i].isIntValue() != isInt) {
+                throw new IllegalArgumentException("All keyframes must hold the same value type!");
+            }
+            if (keyframes[i].getFraction() <= keyframes[i - 1].getFraction()) {
+                throw new IllegalArgumentException("The fraction of keyframes must be ascending!");
+            }
+        }
+    }
+}
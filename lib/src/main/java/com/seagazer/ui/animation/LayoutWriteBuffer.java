@@ -0,0 +1,127 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.components.Component;
+import ohos.agp.components.ComponentContainer;
+
+/**
+ * LayoutWriteBuffer collects the size changes of components during a frame of {@link AnimationHandler},
+ * and applies them once per component after all the animations are updated, so a component which is
+ * animated by several animators only requests one layout per frame.
+ * <p>
+ * Out of a frame, the size is written to the component directly.
+ */
+final class LayoutWriteBuffer {
+    private static final int UNSET = Integer.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 8;
+    private Component[] components = new Component[INITIAL_CAPACITY];
+    private int[] widths = new int[INITIAL_CAPACITY];
+    private int[] heights = new int[INITIAL_CAPACITY];
+    private int size = 0;
+    private int lastIndex = 0;
+    // the slot of each component written in this frame, so finding a component does not scan the slots
+    private final IdentityIndexMap slots = new IdentityIndexMap();
+    private boolean isBuffering = false;
+
+    /**
+     * Start buffering the size changes.
+     */
+    void begin() {
+        isBuffering = true;
+        slots.clear();
+    }
+
+    /**
+     * Write the width of component, buffered if in a frame.
+     *
+     * @param component The component.
+     * @param width     The new width.
+     */
+    void setWidth(Component component, int width) {
+        if (!isBuffering) {
+            component.setWidth(width);
+            return;
+        }
+        // find the slot first, it may grow the arrays
+        int index = indexOf(component);
+        widths[index] = width;
+    }
+
+    /**
+     * Write the height of component, buffered if in a frame.
+     *
+     * @param component The component.
+     * @param height    The new height.
+     */
+    void setHeight(Component component, int height) {
+        if (!isBuffering) {
+            component.setHeight(height);
+            return;
+        }
+        // find the slot first, it may grow the arrays
+        int index = indexOf(component);
+        heights[index] = height;
+    }
+
+    /**
+     * Apply all the buffered size changes and stop buffering.
+     */
+    void flush() {
+        isBuffering = false;
+        for (int i = 0; i < size; i++) {
+            // removed one by one, the cost follows the components written instead of the size of table
+            slots.remove(components[i]);
+            apply(components[i], widths[i], heights[i]);
+            components[i] = null;
+        }
+        size = 0;
+        lastIndex = 0;
+    }
+
+    private void apply(Component component, int width, int height) {
+        if (width != UNSET && height != UNSET) {
+            ComponentContainer.LayoutConfig config = component.getLayoutConfig();
+            if (config != null) {
+                // update both dimensions by one layout request
+                config.width = width;
+                config.height = height;
+                component.setLayoutConfig(config);
+                return;
+            }
+        }
+        if (width != UNSET) {
+            component.setWidth(width);
+        }
+        if (height != UNSET) {
+            component.setHeight(height);
+        }
+    }
+
+    private int indexOf(Component component) {
+        if (lastIndex < size && components[lastIndex] == component) {
+            return lastIndex;
+        }
+        int slot = slots.get(component);
+        if (slot >= 0) {
+            lastIndex = slot;
+            return lastIndex;
+        }
+        if (size == components.length) {
+            int capacity = size * 2;
+            Component[] newComponents = new Component[capacity];
+            System.arraycopy(components, 0, newComponents, 0, size);
+            components = newComponents;
+            int[] newWidths = new int[capacity];
+            System.arraycopy(widths, 0, newWidths, 0, size);
+            widths = newWidths;
+            int[] newHeights = new int[capacity];
+            System.arraycopy(heights, 0, newHeights, 0, size);
+            heights = newHeights;
+        }
+        components[size] = component;
+        widths[size] = UNSET;
+        heights[size] = UNSET;
+        slots.put(component, size);
+        lastIndex = size;
+        return size++;
+    }
+}
@@ -0,0 +1,74 @@
+package com.seagazer.ui.animation;
+
+/**
+ * ListenerList is a copy-on-write array of listeners. Dispatching iterates the array returned by
+ * {@link #getListeners()} by index and allocates nothing, adding or removing a listener creates a new array,
+ * so a listener can safely add or remove listeners, include itself, while being notified. The change takes
+ * effect from the next dispatch.
+ *
+ * @param <T> The type of listener.
+ */
+final class ListenerList<T> {
+    private static final Object[] EMPTY = new Object[0];
+    private Object[] listeners = EMPTY;
+
+    /**
+     * Add a listener to the end of the list.
+     *
+     * @param listener The listener to be added.
+     */
+    void add(T listener) {
+        int size = listeners.length;
+        Object[] newListeners = new Object[size + 1];
+        System.arraycopy(listeners, 0, newListeners, 0, size);
+        newListeners[size] = listener;
+        listeners = newListeners;
+    }
+
+    /**
+     * Remove the first occurrence of the listener.
+     *
+     * @param listener The listener to be removed.
+     */
+    void remove(T listener) {
+        int size = listeners.length;
+        for (int i = 0; i < size; i++) {
+            if (listeners[i] == listener) {
+                if (size == 1) {
+                    listeners = EMPTY;
+                    return;
+                }
+                Object[] newListeners = new Object[size - 1];
+                System.arraycopy(listeners, 0, newListeners, 0, i);
+                System.arraycopy(listeners, i + 1, newListeners, i, size - i - 1);
+                listeners = newListeners;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Remove all the listeners.
+     */
+    void clear() {
+        listeners = EMPTY;
+    }
+
+    /**
+     * Whether there is no listener.
+     *
+     * @return True if empty.
+     */
+    boolean isEmpty() {
+        return listeners.length == 0;
+    }
+
+    /**
+     * Get the snapshot of listeners to dispatch, the array must not be modified.
+     *
+     * @return The snapshot of listeners.
+     */
+    Object[] getListeners() {
+        return listeners;
+    }
+}
@@ -0,0 +1,96 @@
+package com.seagazer.ui.animation;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * ManualFrameSource is a virtual clock, the time only moves and the frames are only delivered when
+ * {@link #advance(long)} or {@link #doFrame()} is called. Use it to run and benchmark the animations on
+ * the JVM without the platform. The frame thread is the thread which creates it or delivers the last frame,
+ * the posted tasks run before the next frame.
+ * <pre>
+ *     ManualFrameSource frameSource = new ManualFrameSource();
+ *     AnimationHandler.getInstance().setFrameSource(frameSource);
+ *     animator.start();
+ *     frameSource.advanceFrames(60, 16);
+ * </pre>
+ */
+public class ManualFrameSource implements FrameSource {
+    private long currentTime = 0;
+    private AnimationHandler.FrameCallback frameCallback;
+    private volatile Thread frameThread = Thread.currentThread();
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public long currentTimeMillis() {
+        return currentTime;
+    }
+
+    @Override
+    public void start(AnimationHandler.FrameCallback callback) {
+        frameCallback = callback;
+    }
+
+    @Override
+    public void stop() {
+        frameCallback = null;
+    }
+
+    @Override
+    public boolean isFrameThread() {
+        return Thread.currentThread() == frameThread;
+    }
+
+    @Override
+    public void post(Runnable task) {
+        tasks.offer(task);
+    }
+
+    /**
+     * Whether the frames are requested by {@link AnimationHandler}.
+     *
+     * @return True if there are running animations.
+     */
+    public boolean isRunning() {
+        return frameCallback != null;
+    }
+
+    /**
+     * Move the clock and deliver one frame.
+     *
+     * @param millis The time to move, in milliseconds.
+     */
+    public void advance(long millis) {
+        currentTime += millis;
+        doFrame();
+    }
+
+    /**
+     * Deliver frames in a fixed interval.
+     *
+     * @param count          The count of frames.
+     * @param intervalMillis The interval between frames, in milliseconds.
+     */
+    public void advanceFrames(int count, long intervalMillis) {
+        for (int i = 0; i < count; i++) {
+            advance(intervalMillis);
+        }
+    }
+
+    /**
+     * Deliver a frame at the current time without moving the clock.
+     */
+    public void doFrame() {
+        Thread current = Thread.currentThread();
+        if (frameThread != current) {
+            frameThread = current;
+        }
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+        if (frameCallback != null) {
+            frameCallback.doAnimationFrame(currentTime);
+        }
+    }
+}
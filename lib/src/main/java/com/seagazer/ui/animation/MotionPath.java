@@ -0,0 +1,234 @@
+package com.seagazer.ui.animation;
+
+/**
+ * MotionPath is a path of lines, quadratic and cubic curves for {@link ValueAnimator#ofPath}. The curves are
+ * flattened into short chords when added, and the arc length at each point is stored in a table, so the position
+ * and tangent at a fraction of the length are found by a table lookup without allocation.
+ * <pre>
+ *     MotionPath path = new MotionPath()
+ *             .moveTo(0, 0)
+ *             .quadTo(200, -200, 400, 0)
+ *             .lineTo(400, 300);
+ * </pre>
+ */
+public class MotionPath {
+    // the target length of the chords when flattening a curve, in pixels
+    private static final float FLATTEN_STEP = 2f;
+    private static final int MIN_CURVE_SEGMENTS = 4;
+    private static final int MAX_CURVE_SEGMENTS = 256;
+    private float[] xs = new float[16];
+    private float[] ys = new float[16];
+    private float[] lengths = new float[16];
+    private float[] angles = new float[16];
+    private int count = 0;
+    private int lastSegment = 0;
+
+    /**
+     * Create a path from the points of a polyline.
+     *
+     * @param points The x and y of each point in turn, at least two points.
+     * @return The path.
+     */
+    public static MotionPath ofPolyline(float... points) {
+        if (points.length < 4 || points.length % 2 != 0) {
+            throw new IllegalArgumentException("The polyline needs at least two points in x, y pairs!");
+        }
+        MotionPath path = new MotionPath();
+        path.moveTo(points[0], points[1]);
+        for (int i = 2; i < points.length; i += 2) {
+            path.lineTo(points[i], points[i + 1]);
+        }
+        return path;
+    }
+
+    /**
+     * Set the start point of the path, it must be the first call.
+     *
+     * @param x The x of the start point.
+     * @param y The y of the start point.
+     * @return This path.
+     */
+    public MotionPath moveTo(float x, float y) {
+        if (count > 0) {
+            throw new IllegalStateException("The start point must be set before other segments!");
+        }
+        addPoint(x, y);
+        return this;
+    }
+
+    /**
+     * Add a line from the last point, the path starts from (0, 0) if no start point.
+     *
+     * @param x The x of the end point.
+     * @param y The y of the end point.
+     * @return This path.
+     */
+    public MotionPath lineTo(float x, float y) {
+        ensureStart();
+        addPoint(x, y);
+        return this;
+    }
+
+    /**
+     * Add a quadratic bezier curve from the last point.
+     *
+     * @param controlX The x of the control point.
+     * @param controlY The y of the control point.
+     * @param x        The x of the end point.
+     * @param y        The y of the end point.
+     * @return This path.
+     */
+    public MotionPath quadTo(float controlX, float controlY, float x, float y) {
+        ensureStart();
+        float startX = xs[count - 1];
+        float startY = ys[count - 1];
+        float controlLength = distance(startX, startY, controlX, controlY) + distance(controlX, controlY, x, y);
+        int segments = getCurveSegments(controlLength);
+        for (int i = 1; i <= segments; i++) {
+            float t = i / (float) segments;
+            float u = 1f - t;
+            addPoint(u * u * startX + 2 * u * t * controlX + t * t * x,
+                    u * u * startY + 2 * u * t * controlY + t * t * y);
+        }
+        return this;
+    }
+
+    /**
+     * Add a cubic bezier curve from the last point.
+     *
+     * @param controlX1 The x of the first control point.
+     * @param controlY1 The y of the first control point.
+     * @param controlX2 The x of the second control point.
+     * @param controlY2 The y of the second control point.
+     * @param x         The x of the end point.
+     * @param y         The y of the end point.
+     * @return This path.
+     */
+    public MotionPath cubicTo(float controlX1, float controlY1, float controlX2, float controlY2, float x, float y) {
+        ensureStart();
+        float startX = xs[count - 1];
+        float startY = ys[count - 1];
+        float controlLength = distance(startX, startY, controlX1, controlY1)
+                + distance(controlX1, controlY1, controlX2, controlY2) + distance(controlX2, controlY2, x, y);
+        int segments = getCurveSegments(controlLength);
+        for (int i = 1; i <= segments; i++) {
+            float t = i / (float) segments;
+            float u = 1f - t;
+            float a = u * u * u;
+            float b = 3 * u * u * t;
+            float c = 3 * u * t * t;
+            float d = t * t * t;
+            addPoint(a * startX + b * controlX1 + c * controlX2 + d * x,
+                    a * startY + b * controlY1 + c * controlY2 + d * y);
+        }
+        return this;
+    }
+
+    /**
+     * Get the total length of the path.
+     *
+     * @return The length, in pixels.
+     */
+    public float getLength() {
+        return count == 0 ? 0 : lengths[count - 1];
+    }
+
+    /**
+     * Get the count of points after flattening.
+     *
+     * @return The count of points.
+     */
+    public int getPointCount() {
+        return count;
+    }
+
+    /**
+     * Get the position and the tangent angle at the fraction of the path length. A fraction out of [0, 1] by
+     * overshoot extends the first or last chord.
+     *
+     * @param fraction The fraction of the path length.
+     * @param out      The output, x at 0 and y at 1, the tangent angle in degrees at 2 if the length is
+     *                 more than 2.
+     */
+    public void getPosTan(float fraction, float[] out) {
+        if (count < 2) {
+            throw new IllegalStateException("The path needs at least two points!");
+        }
+        float distance = fraction * lengths[count - 1];
+        int segment = findSegment(distance);
+        float segmentLength = lengths[segment + 1] - lengths[segment];
+        float t = segmentLength == 0 ? 0 : (distance - lengths[segment]) / segmentLength;
+        out[0] = xs[segment] + t * (xs[segment + 1] - xs[segment]);
+        out[1] = ys[segment] + t * (ys[segment + 1] - ys[segment]);
+        if (out.length > 2) {
+            out[2] = angles[segment];
+        }
+    }
+
+    private int findSegment(float distance) {
+        int last = count - 2;
+        int segment = lastSegment;
+        if (segment <= last && (segment == 0 || distance >= lengths[segment])
+                && (segment == last || distance < lengths[segment + 1])) {
+            return segment;
+        }
+        int low = 0;
+        int high = last;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (lengths[mid] <= distance) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        lastSegment = low;
+        return low;
+    }
+
+    private void ensureStart() {
+        if (count == 0) {
+            addPoint(0, 0);
+        }
+    }
+
+    private void addPoint(float x, float y) {
+        if (count == xs.length) {
+            int capacity = count * 2;
+            xs = copyOf(xs, capacity);
+            ys = copyOf(ys, capacity);
+            lengths = copyOf(lengths, capacity);
+            angles = copyOf(angles, capacity);
+        }
+        xs[count] = x;
+        ys[count] = y;
+        if (count == 0) {
+            lengths[0] = 0;
+        } else {
+            float dx = x - xs[count - 1];
+            float dy = y - ys[count - 1];
+            lengths[count] = lengths[count - 1] + (float) Math.sqrt(dx * dx + dy * dy);
+            // a zero length chord keeps the direction of the previous one
+            angles[count - 1] = dx == 0 && dy == 0 && count > 1
+                    ? angles[count - 2] : (float) Math.toDegrees(Math.atan2(dy, dx));
+        }
+        count++;
+    }
+
+    private static float[] copyOf(float[] array, int capacity) {
+        float[] newArray = new float[capacity];
+        System.arraycopy(array, 0, newArray, 0, array.length);
+        return newArray;
+    }
+
+    private static int getCurveSegments(float controlLength) {
+        int segments = (int) Math.ceil(controlLength / FLATTEN_STEP);
+        return Math.max(MIN_CURVE_SEGMENTS, Math.min(MAX_CURVE_SEGMENTS, segments));
+    }
+
+    private static float distance(float x1, float y1, float x2, float y2) {
+        float dx = x2 - x1;
+        float dy = y2 - y1;
+        return (float) Math.sqrt(dx * dx + dy * dy);
+    }
+}
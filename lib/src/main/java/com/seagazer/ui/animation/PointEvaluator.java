@@ -0,0 +1,38 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.utils.Point;
+
+/**
+ * PointEvaluator interpolates the x and y of {@link Point}. The result is written into one reused instance,
+ * so the evaluator allocates nothing per frame, copy the point if it is kept beyond the frame.
+ */
+public class PointEvaluator implements TypeEvaluator<Point> {
+    private final Point point;
+
+    /**
+     * Create an evaluator with its own reused point.
+     */
+    public PointEvaluator() {
+        this(new Point());
+    }
+
+    /**
+     * Create an evaluator which writes the result into the point.
+     *
+     * @param reuse The point to hold the result.
+     */
+    public PointEvaluator(Point reuse) {
+        if (reuse == null) {
+            throw new IllegalArgumentException("The reused point can not be null!");
+        }
+        point = reuse;
+    }
+
+    @Override
+    public Point evaluate(float fraction, Point startValue, Point endValue) {
+        float x = startValue.getPointX() + fraction * (endValue.getPointX() - startValue.getPointX());
+        float y = startValue.getPointY() + fraction * (endValue.getPointY() - startValue.getPointY());
+        point.modify(x, y);
+        return point;
+    }
+}
@@ -0,0 +1,105 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.components.Component;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * PropertyRegistry records which animation owns each property of a component, so a property is written by one
+ * animation at a time. A new animation claims the property from the current owner, takes over its value and
+ * velocity, and the previous owner stops writing that property only.
+ * <p>
+ * The components are held weakly, the registry is used on the UI thread.
+ */
+final class PropertyRegistry {
+    private static final int PROPERTY_COUNT = ValueAnimator.Property.values().length;
+    private static final Map<Component, Owner[]> OWNERS = new WeakHashMap<>();
+
+    private PropertyRegistry() {
+    }
+
+    /**
+     * Make the owner the writer of the property.
+     *
+     * @param component The target component.
+     * @param property  The property of component.
+     * @param owner     The new owner.
+     * @return The previous owner to take over from, null if none or it is the same owner.
+     */
+    static Owner claim(Component component, ValueAnimator.Property property, Owner owner) {
+        Owner[] owners = OWNERS.get(component);
+        if (owners == null) {
+            owners = new Owner[PROPERTY_COUNT];
+            OWNERS.put(component, owners);
+        }
+        int index = property.ordinal();
+        Owner previous = owners[index];
+        owners[index] = owner;
+        return previous == owner ? null : previous;
+    }
+
+    /**
+     * Give up the property if the owner still owns it.
+     *
+     * @param component The target component.
+     * @param property  The property of component.
+     * @param owner     The owner to give up.
+     */
+    static void release(Component component, ValueAnimator.Property property, Owner owner) {
+        Owner[] owners = OWNERS.get(component);
+        if (owners == null || owners[property.ordinal()] != owner) {
+            return;
+        }
+        owners[property.ordinal()] = null;
+        for (int i = 0; i < PROPERTY_COUNT; i++) {
+            if (owners[i] != null) {
+                return;
+            }
+        }
+        OWNERS.remove(component);
+    }
+
+    /**
+     * Get the owner of the property.
+     *
+     * @param component The target component.
+     * @param property  The property of component.
+     * @return The owner, null if not animated.
+     */
+    static Owner getOwner(Component component, ValueAnimator.Property property) {
+        Owner[] owners = OWNERS.get(component);
+        return owners == null ? null : owners[property.ordinal()];
+    }
+
+    /**
+     * The animation which writes properties of components.
+     */
+    interface Owner {
+        /**
+         * Get the value of the property written last frame.
+         *
+         * @param component The target component.
+         * @param property  The owned property.
+         * @return The value.
+         */
+        float getValue(Component component, ValueAnimator.Property property);
+
+        /**
+         * Get the velocity of the property.
+         *
+         * @param component The target component.
+         * @param property  The owned property.
+         * @return The velocity, in units per second.
+         */
+        float getVelocity(Component component, ValueAnimator.Property property);
+
+        /**
+         * Stop writing the property of the component, it is taken over by another animation.
+         *
+         * @param component The target component.
+         * @param property  The property which is taken over.
+         */
+        void release(Component component, ValueAnimator.Property property);
+    }
+}
@@ -0,0 +1,108 @@
+package com.seagazer.ui.animation;
+
+/**
+ * PropertyValuesHolder holds the values of one {@link ValueAnimator.Property}, so that one ValueAnimator
+ * can animate several properties of a component with different ranges.
+ * <p>
+ * The values are float or int, the int values step by whole numbers such as the pixels of
+ * {@link ValueAnimator.Property#WIDTH}. All the properties of component take numbers, so there is no holder of
+ * colors or objects, animate them by {@link ValueAnimator#ofArgb(int...)} or
+ * {@link ValueAnimator#setObjectValues(TypeEvaluator, Object[])} with an update listener.
+ */
+public class PropertyValuesHolder {
+    private final ValueAnimator.Property property;
+    private final KeyframeSet keyframes = new KeyframeSet();
+
+    private PropertyValuesHolder(ValueAnimator.Property property) {
+        this.property = property;
+    }
+
+    /**
+     * Create a PropertyValuesHolder instance by float values.
+     *
+     * @param property The property of component {@link ValueAnimator.Property}.
+     * @param values   The values spread evenly over the animation, usually the start and end value.
+     * @return PropertyValuesHolder instance.
+     */
+    public static PropertyValuesHolder ofFloat(ValueAnimator.Property property, float... values) {
+        PropertyValuesHolder holder = new PropertyValuesHolder(property);
+        holder.setFloatValues(values);
+        return holder;
+    }
+
+    /**
+     * Create a PropertyValuesHolder instance by int values.
+     *
+     * @param property The property of component {@link ValueAnimator.Property}.
+     * @param values   The values spread evenly over the animation, usually the start and end value.
+     * @return PropertyValuesHolder instance.
+     */
+    public static PropertyValuesHolder ofInt(ValueAnimator.Property property, int... values) {
+        PropertyValuesHolder holder = new PropertyValuesHolder(property);
+        holder.setIntValues(values);
+        return holder;
+    }
+
+    /**
+     * Create a PropertyValuesHolder instance by keyframes.
+     *
+     * @param property  The property of component {@link ValueAnimator.Property}.
+     * @param keyframes The keyframes {@link Keyframe}, the first one at fraction 0 and the last one at fraction 1.
+     * @return PropertyValuesHolder instance.
+     */
+    public static PropertyValuesHolder ofKeyframe(ValueAnimator.Property property, Keyframe... keyframes) {
+        PropertyValuesHolder holder = new PropertyValuesHolder(property);
+        holder.setKeyframes(keyframes);
+        return holder;
+    }
+
+    /**
+     * Set the float values of the property.
+     *
+     * @param values The values spread evenly over the animation, usually the start and end value.
+     */
+    public void setFloatValues(float... values) {
+        keyframes.setFloatValues(values);
+    }
+
+    /**
+     * Set the int values of the property.
+     *
+     * @param values The values spread evenly over the animation, usually the start and end value.
+     */
+    public void setIntValues(int... values) {
+        keyframes.setIntValues(values);
+    }
+
+    /**
+     * Set the keyframes of the property, the int keyframes step by whole numbers like {@link #setIntValues(int...)}.
+     *
+     * @param keyframes The keyframes {@link Keyframe}, the first one at fraction 0 and the last one at fraction 1.
+     */
+    public void setKeyframes(Keyframe... keyframes) {
+        this.keyframes.setKeyframes(keyframes);
+    }
+
+    /**
+     * Get the property animated by this holder.
+     *
+     * @return The property of component.
+     */
+    public ValueAnimator.Property getProperty() {
+        return property;
+    }
+
+    /**
+     * Compute the value of the property.
+     *
+     * @param fraction The fraction of animation.
+     * @param reversed True to play from the last value to the first one.
+     * @return The value of property.
+     */
+    float getValue(float fraction, boolean reversed) {
+        if (keyframes.isIntValues()) {
+            return keyframes.getIntValue(fraction, reversed);
+        }
+        return keyframes.getFloatValue(fraction, reversed);
+    }
+}
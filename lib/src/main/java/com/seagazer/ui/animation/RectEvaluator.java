@@ -0,0 +1,43 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.utils.Rect;
+
+/**
+ * RectEvaluator interpolates the edges of {@link Rect}. The result is written into one reused instance,
+ * so the evaluator allocates nothing per frame, copy the rect if it is kept beyond the frame.
+ */
+public class RectEvaluator implements TypeEvaluator<Rect> {
+    private final Rect rect;
+
+    /**
+     * Create an evaluator with its own reused rect.
+     */
+    public RectEvaluator() {
+        this(new Rect());
+    }
+
+    /**
+     * Create an evaluator which writes the result into the rect.
+     *
+     * @param reuse The rect to hold the result.
+     */
+    public RectEvaluator(Rect reuse) {
+        if (reuse == null) {
+            throw new IllegalArgumentException("The reused rect can not be null!");
+        }
+        rect = reuse;
+    }
+
+    @Override
+    public Rect evaluate(float fraction, Rect startValue, Rect endValue) {
+        rect.set(lerp(startValue.left, endValue.left, fraction),
+                lerp(startValue.top, endValue.top, fraction),
+                lerp(startValue.right, endValue.right, fraction),
+                lerp(startValue.bottom, endValue.bottom, fraction));
+        return rect;
+    }
+
+    private static int lerp(int start, int end, float fraction) {
+        return start + (int) (fraction * (end - start));
+    }
+}
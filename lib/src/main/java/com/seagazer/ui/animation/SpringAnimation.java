@@ -0,0 +1,201 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.components.Component;
+
+/**
+ * SpringAnimation pulls the value to the final position by a damped spring. It starts from the current value and
+ * velocity, so it can take over a gesture or retarget a running spring by {@link #animateToFinalPosition(float)}
+ * without a jump in motion.
+ * <pre>
+ *     SpringAnimation spring = new SpringAnimation(component, ValueAnimator.Property.TRANSLATION_X, 0);
+ *     spring.setStiffness(SpringAnimation.STIFFNESS_LOW);
+ *     spring.setDampingRatio(SpringAnimation.DAMPING_RATIO_LOW_BOUNCY);
+ *     spring.setStartVelocity(velocityOfGesture);
+ *     spring.start();
+ * </pre>
+ */
+public class SpringAnimation extends DynamicAnimation {
+    /**
+     * Stiffness of a very stiff spring.
+     */
+    public static final float STIFFNESS_HIGH = 10000f;
+    /**
+     * Stiffness of a medium spring, the default.
+     */
+    public static final float STIFFNESS_MEDIUM = 1500f;
+    /**
+     * Stiffness of a soft spring.
+     */
+    public static final float STIFFNESS_LOW = 200f;
+    /**
+     * Stiffness of a very soft spring.
+     */
+    public static final float STIFFNESS_VERY_LOW = 50f;
+    /**
+     * Damping ratio of a very bouncy spring.
+     */
+    public static final float DAMPING_RATIO_HIGH_BOUNCY = 0.2f;
+    /**
+     * Damping ratio of a bouncy spring, the default.
+     */
+    public static final float DAMPING_RATIO_MEDIUM_BOUNCY = 0.5f;
+    /**
+     * Damping ratio of a slightly bouncy spring.
+     */
+    public static final float DAMPING_RATIO_LOW_BOUNCY = 0.75f;
+    /**
+     * Damping ratio of a critically damped spring, it never overshoots.
+     */
+    public static final float DAMPING_RATIO_NO_BOUNCY = 1f;
+    private float stiffness = STIFFNESS_MEDIUM;
+    private float dampingRatio = DAMPING_RATIO_MEDIUM_BOUNCY;
+    private float finalPosition = Float.NaN;
+    private float stepStiffness;
+    private float stepDamping;
+
+    /**
+     * Create a spring without target, the value is only notified to the listeners.
+     *
+     * @param finalPosition The rest position of the spring.
+     */
+    public SpringAnimation(float finalPosition) {
+        super();
+        setFinalPosition(finalPosition);
+    }
+
+    /**
+     * Create a spring on the property of component, the final position must be set before start.
+     *
+     * @param target   The component to animate.
+     * @param property The property to animate.
+     */
+    public SpringAnimation(Component target, ValueAnimator.Property property) {
+        super(target, property);
+        updateCoefficients();
+    }
+
+    /**
+     * Create a spring on the property of component.
+     *
+     * @param target        The component to animate.
+     * @param property      The property to animate.
+     * @param finalPosition The rest position of the spring.
+     */
+    public SpringAnimation(Component target, ValueAnimator.Property property, float finalPosition) {
+        super(target, property);
+        setFinalPosition(finalPosition);
+    }
+
+    /**
+     * Set the stiffness of the spring, the stiffer the faster it returns to the final position.
+     *
+     * @param stiffness The stiffness, must be positive.
+     */
+    public void setStiffness(float stiffness) {
+        if (stiffness <= 0) {
+            throw new IllegalArgumentException("The stiffness must be positive!");
+        }
+        this.stiffness = stiffness;
+        updateCoefficients();
+    }
+
+    /**
+     * Get the stiffness of the spring.
+     *
+     * @return The stiffness.
+     */
+    public float getStiffness() {
+        return stiffness;
+    }
+
+    /**
+     * Set the damping ratio of the spring, less than 1 oscillates around the final position, 1 and greater
+     * never overshoots.
+     *
+     * @param dampingRatio The damping ratio, must not be negative.
+     */
+    public void setDampingRatio(float dampingRatio) {
+        if (dampingRatio < 0) {
+            throw new IllegalArgumentException("The damping ratio must not be negative!");
+        }
+        this.dampingRatio = dampingRatio;
+        updateCoefficients();
+    }
+
+    /**
+     * Get the damping ratio of the spring.
+     *
+     * @return The damping ratio.
+     */
+    public float getDampingRatio() {
+        return dampingRatio;
+    }
+
+    /**
+     * Set the rest position of the spring, it takes effect immediately even if the spring is running.
+     *
+     * @param finalPosition The rest position.
+     */
+    public void setFinalPosition(float finalPosition) {
+        this.finalPosition = finalPosition;
+        updateCoefficients();
+    }
+
+    /**
+     * Get the rest position of the spring.
+     *
+     * @return The rest position, NaN if not set.
+     */
+    public float getFinalPosition() {
+        return finalPosition;
+    }
+
+    /**
+     * Move the rest position and start the spring if it is not running, a running spring keeps its velocity.
+     *
+     * @param finalPosition The new rest position.
+     */
+    public void animateToFinalPosition(float finalPosition) {
+        setFinalPosition(finalPosition);
+        start();
+    }
+
+    /**
+     * Jump to the final position and end the animation.
+     */
+    public void skipToEnd() {
+        if (!isRunning()) {
+            return;
+        }
+        value = finalPosition;
+        settle();
+    }
+
+    @Override
+    void onStart() {
+        if (Float.isNaN(finalPosition)) {
+            throw new IllegalStateException("The final position must be set before the spring starts!");
+        }
+        if (finalPosition < getMinValue() || finalPosition > getMaxValue()) {
+            throw new IllegalStateException("The final position must be between the min value and max value!");
+        }
+    }
+
+    private void updateCoefficients() {
+        // semi-implicit euler with implicit damping, stable for any damping ratio at the fixed step
+        float damping = 2f * dampingRatio * (float) Math.sqrt(stiffness);
+        stepStiffness = stiffness * STEP_SECONDS;
+        stepDamping = 1f / (1f + damping * STEP_SECONDS);
+    }
+
+    @Override
+    boolean step() {
+        velocity = (velocity - stepStiffness * (value - finalPosition)) * stepDamping;
+        value += velocity * STEP_SECONDS;
+        if (Math.abs(velocity) < getVelocityThreshold() && Math.abs(value - finalPosition) < getValueThreshold()) {
+            value = finalPosition;
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,466 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.animation.Animator;
+import ohos.agp.components.Component;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * StaggerAnimator plays the same animation on a group of components, each one starts a stagger delay after the
+ * previous one, such as the entrance of list items.
+ * <p>
+ * The whole group is one animation: one frame callback updates all the items, and the state of items is kept in
+ * primitive arrays, so the memory and the cost per frame of an item is a few array slots instead of a
+ * {@link ValueAnimator} with its listeners per item. The components are held weakly, and the properties of each item
+ * are claimed like {@link ValueAnimator} does, an item stops writing a property taken over by another animation.
+ * <pre>
+ *     StaggerAnimator stagger = new StaggerAnimator(items, 0f, 1f, ValueAnimator.Property.ALPHA);
+ *     stagger.setPropertyValues(ValueAnimator.Property.TRANSLATION_Y, 100f, 0f);
+ *     stagger.setStaggerDelay(30);
+ *     stagger.start();
+ * </pre>
+ */
+public class StaggerAnimator {
+    private final WeakReference<?>[] components;
+    // finds the item of a component taken over without scanning the items
+    private final WeakIdentityIndex itemIndex;
+    // the properties of each item taken over by other animations, a bit for each index of properties
+    private final int[] releasedMasks;
+    private int releasedItemCount;
+    private final ValueAnimator.Property[] properties;
+    private final float[] startValues;
+    private final float[] endValues;
+    // item-major: the values of item i are at [i * properties.length, (i + 1) * properties.length)
+    private final float[] writtenValues;
+    private long duration = TimingEngine.DEFAULT_DURATION;
+    private long staggerDelay = 50;
+    private long startDelay = 0;
+    private int curveType = Animator.CurveType.LINEAR;
+    private Animator.TimelineCurve curve;
+    private long startTime = -1;
+    private long pauseTime;
+    // all the items have the same duration and start in index order, so they also end in index order
+    private int firstActiveItem;
+    private boolean isStarted = false;
+    private boolean isPaused = false;
+    private final ListenerList<StaggerListener> listeners = new ListenerList<>();
+
+    /**
+     * Create a group animation, all the properties animate from the start value to the end value.
+     *
+     * @param components The components in the order they start.
+     * @param start      The start value.
+     * @param end        The end value.
+     * @param properties The properties of component {@link ValueAnimator.Property}.
+     */
+    public StaggerAnimator(Component[] components, float start, float end, ValueAnimator.Property... properties) {
+        if (properties.length == 0) {
+            throw new IllegalArgumentException("At least one property is required!");
+        }
+        if (properties.length >= Integer.SIZE) {
+            throw new IllegalArgumentException("Too many properties!");
+        }
+        this.components = new WeakReference<?>[components.length];
+        itemIndex = new WeakIdentityIndex(components.length);
+        for (int i = 0; i < components.length; i++) {
+            this.components[i] = new WeakReference<>(components[i]);
+            itemIndex.put(WeakIdentityIndex.hash(components[i]), i);
+        }
+        releasedMasks = new int[components.length];
+        this.properties = properties.clone();
+        startValues = new float[properties.length];
+        endValues = new float[properties.length];
+        Arrays.fill(startValues, start);
+        Arrays.fill(endValues, end);
+        writtenValues = new float[components.length * properties.length];
+    }
+
+    /**
+     * Create a group animation, all the properties animate from the start value to the end value.
+     *
+     * @param components The components in the order they start.
+     * @param start      The start value.
+     * @param end        The end value.
+     * @param properties The properties of component {@link ValueAnimator.Property}.
+     */
+    public StaggerAnimator(List<Component> components, float start, float end, ValueAnimator.Property... properties) {
+        this(components.toArray(new Component[0]), start, end, properties);
+    }
+
+    /**
+     * Set the start and end value of one of the properties.
+     *
+     * @param property The property passed to the constructor.
+     * @param start    The start value.
+     * @param end      The end value.
+     */
+    public void setPropertyValues(ValueAnimator.Property property, float start, float end) {
+        for (int i = 0; i < properties.length; i++) {
+            if (properties[i] == property) {
+                startValues[i] = start;
+                endValues[i] = end;
+                return;
+            }
+        }
+        throw new IllegalArgumentException("The property " + property + " is not animated by this group!");
+    }
+
+    /**
+     * Set the duration of the animation of each item.
+     *
+     * @param duration The duration of one item, in milliseconds.
+     */
+    public void setDuration(long duration) {
+        if (duration < 0) {
+            throw new IllegalArgumentException("Animators cannot have negative duration: " + duration);
+        }
+        this.duration = duration;
+    }
+
+    /**
+     * Set the delay between the starts of two adjacent items.
+     *
+     * @param staggerDelay The delay, in milliseconds.
+     */
+    public void setStaggerDelay(long staggerDelay) {
+        this.staggerDelay = Math.max(0, staggerDelay);
+    }
+
+    /**
+     * Set the delay before the first item starts.
+     *
+     * @param startDelay The delay, in milliseconds.
+     */
+    public void setStartDelay(long startDelay) {
+        this.startDelay = Math.max(0, startDelay);
+    }
+
+    /**
+     * Set the interpolator type of each item.
+     *
+     * @param value The interpolator type {@link Animator.CurveType}.
+     * @throws IllegalArgumentException If the curve type is not supported, such as SPRING.
+     */
+    public void setInterpolatorType(int value) {
+        Curves.checkCurveType(value);
+        curveType = value;
+        curve = null;
+    }
+
+    /**
+     * Set the interpolator of each item.
+     *
+     * @param value The interpolator {@link Animator.TimelineCurve}.
+     */
+    public void setInterpolator(Animator.TimelineCurve value) {
+        curve = value;
+    }
+
+    /**
+     * Gets the total duration of the group, from the start to the end of the last item.
+     *
+     * @return The total length in milliseconds.
+     */
+    public long getTotalDuration() {
+        return startDelay + Math.max(0, components.length - 1) * staggerDelay + duration;
+    }
+
+    /**
+     * Get the count of items.
+     *
+     * @return The count of components.
+     */
+    public int getItemCount() {
+        return components.length;
+    }
+
+    /**
+     * Adds a listener of the group.
+     *
+     * @param listener The listener to be added.
+     */
+    public void addListener(StaggerListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener of the group.
+     *
+     * @param listener The listener to be removed.
+     */
+    public void removeListener(StaggerListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Start the group, all the items show their start values from the first frame.
+     */
+    public void start() {
+        if (isStarted) {
+            cancel();
+        }
+        Arrays.fill(writtenValues, Float.NaN);
+        firstActiveItem = 0;
+        startTime = -1;
+        isStarted = true;
+        isPaused = false;
+        claimProperties();
+        AnimationHandler.getInstance().addFrameCallback(frameCallback);
+        Object[] snapshot = listeners.getListeners();
+        for (int i = 0; i < snapshot.length; i++) {
+            ((StaggerListener) snapshot[i]).onAnimationStart(this);
+        }
+    }
+
+    /**
+     * Cancel the group, the items stay where they are.
+     */
+    public void cancel() {
+        if (!isStarted) {
+            return;
+        }
+        stopGroup();
+        Object[] snapshot = listeners.getListeners();
+        for (int i = 0; i < snapshot.length; i++) {
+            ((StaggerListener) snapshot[i]).onAnimationCancel(this);
+        }
+    }
+
+    /**
+     * End the group, all the items jump to their end values.
+     */
+    public void end() {
+        if (!isStarted) {
+            return;
+        }
+        for (int i = firstActiveItem; i < components.length; i++) {
+            applyItem(i, 1f);
+        }
+        endGroup();
+    }
+
+    /**
+     * Pauses a running group.
+     */
+    public void pause() {
+        if (!isStarted || isPaused) {
+            return;
+        }
+        isPaused = true;
+        pauseTime = AnimationHandler.currentTimeMillis();
+        AnimationHandler.getInstance().removeFrameCallback(frameCallback);
+    }
+
+    /**
+     * Resumes a paused group.
+     */
+    public void resume() {
+        if (!isPaused) {
+            return;
+        }
+        isPaused = false;
+        if (startTime >= 0) {
+            startTime += AnimationHandler.currentTimeMillis() - pauseTime;
+        }
+        AnimationHandler.getInstance().addFrameCallback(frameCallback);
+    }
+
+    /**
+     * Returns whether this group has been started and not yet ended.
+     *
+     * @return Whether the group has been started.
+     */
+    public boolean isStarted() {
+        return isStarted;
+    }
+
+    /**
+     * Returns whether this group is currently in a paused state.
+     *
+     * @return True if the group is currently paused, false otherwise.
+     */
+    public boolean isPaused() {
+        return isPaused;
+    }
+
+    private final AnimationHandler.FrameCallback frameCallback = new AnimationHandler.FrameCallback() {
+        @Override
+        public void doAnimationFrame(long frameTime) {
+            if (startTime < 0) {
+                startTime = frameTime + startDelay;
+                for (int i = 0; i < components.length; i++) {
+                    applyItem(i, 0f);
+                }
+            }
+            long playTime = frameTime - startTime;
+            int count = components.length;
+            for (int i = firstActiveItem; i < count; i++) {
+                long itemTime = playTime - i * staggerDelay;
+                if (itemTime < 0) {
+                    // the items start in index order, no more item should start in this frame
+                    break;
+                }
+                if (itemTime >= duration) {
+                    applyItem(i, 1f);
+                    firstActiveItem = i + 1;
+                } else {
+                    applyItem(i, (float) itemTime / duration);
+                }
+            }
+            if (firstActiveItem == count && isStarted) {
+                endGroup();
+            }
+        }
+    };
+
+    private Component getComponent(int index) {
+        return (Component) components[index].get();
+    }
+
+    private void applyItem(int index, float fraction) {
+        Component component = getComponent(index);
+        if (component == null) {
+            return;
+        }
+        int released = releasedMasks[index];
+        float curved = curve != null ? curve.getCurvedTime(fraction) : Curves.getCurvedTime(curveType, fraction);
+        int propertyCount = properties.length;
+        int base = index * propertyCount;
+        for (int p = 0; p < propertyCount; p++) {
+            if ((released & (1 << p)) != 0) {
+                continue;
+            }
+            ValueAnimator.Property property = properties[p];
+            float value = startValues[p] + curved * (endValues[p] - startValues[p]);
+            if (property == ValueAnimator.Property.WIDTH || property == ValueAnimator.Property.HEIGHT) {
+                value = (int) value;
+            }
+            if (writtenValues[base + p] == value) {
+                continue;
+            }
+            writtenValues[base + p] = value;
+            ValueAnimator.writeProperty(component, property, value);
+        }
+    }
+
+    private void stopGroup() {
+        AnimationHandler.getInstance().removeFrameCallback(frameCallback);
+        isStarted = false;
+        isPaused = false;
+        for (int i = 0; i < components.length; i++) {
+            Component component = getComponent(i);
+            if (component != null) {
+                for (ValueAnimator.Property property : properties) {
+                    PropertyRegistry.release(component, property, propertyOwner);
+                }
+            }
+        }
+    }
+
+    /**
+     * Claim the properties of all the items, the animations writing them stop writing.
+     */
+    private void claimProperties() {
+        Arrays.fill(releasedMasks, 0);
+        releasedItemCount = 0;
+        for (int i = 0; i < components.length; i++) {
+            Component component = getComponent(i);
+            if (component == null) {
+                continue;
+            }
+            for (ValueAnimator.Property property : properties) {
+                PropertyRegistry.Owner previous = PropertyRegistry.claim(component, property, propertyOwner);
+                if (previous != null) {
+                    previous.release(component, property);
+                }
+            }
+        }
+    }
+
+    private int indexOfComponent(Component component) {
+        return itemIndex.find(component, components);
+    }
+
+    private int indexOfProperty(ValueAnimator.Property property) {
+        for (int i = 0; i < properties.length; i++) {
+            if (properties[i] == property) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private final PropertyRegistry.Owner propertyOwner = new PropertyRegistry.Owner() {
+        @Override
+        public float getValue(Component component, ValueAnimator.Property property) {
+            int item = indexOfComponent(component);
+            int index = indexOfProperty(property);
+            if (item < 0 || index < 0 || Float.isNaN(writtenValues[item * properties.length + index])) {
+                // nothing written yet, the property still shows its own value
+                return ValueAnimator.readProperty(component, property);
+            }
+            return writtenValues[item * properties.length + index];
+        }
+
+        @Override
+        public float getVelocity(Component component, ValueAnimator.Property property) {
+            // the items hand over their values only
+            return 0;
+        }
+
+        @Override
+        public void release(Component component, ValueAnimator.Property property) {
+            int item = indexOfComponent(component);
+            int index = indexOfProperty(property);
+            if (item < 0 || index < 0) {
+                return;
+            }
+            int allProperties = (1 << properties.length) - 1;
+            if (releasedMasks[item] == allProperties) {
+                return;
+            }
+            releasedMasks[item] |= 1 << index;
+            if (releasedMasks[item] == allProperties && ++releasedItemCount == components.length) {
+                // all the items are taken over, nothing left to animate
+                cancel();
+            }
+        }
+    };
+
+    private void endGroup() {
+        firstActiveItem = components.length;
+        stopGroup();
+        Object[] snapshot = listeners.getListeners();
+        for (int i = 0; i < snapshot.length; i++) {
+            ((StaggerListener) snapshot[i]).onAnimationEnd(this);
+        }
+    }
+
+    /**
+     * StaggerAnimator state changed listener.
+     */
+    public interface StaggerListener {
+        /**
+         * Notifies the start of the group.
+         *
+         * @param animator The started group.
+         */
+        void onAnimationStart(StaggerAnimator animator);
+
+        /**
+         * Notifies the end of the group, all the items have reached their end values.
+         *
+         * @param animator The group which reached its end.
+         */
+        void onAnimationEnd(StaggerAnimator animator);
+
+        /**
+         * Notifies the cancellation of the group.
+         *
+         * @param animator The group which was canceled.
+         */
+        void onAnimationCancel(StaggerAnimator animator);
+    }
+}
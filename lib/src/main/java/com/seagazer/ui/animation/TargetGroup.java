@@ -0,0 +1,159 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.components.Component;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+/**
+ * TargetGroup holds the components animated by one animator, the value is computed once per frame and written to
+ * each of them. The components are held weakly, a collected one is removed by moving the last one into its slot,
+ * so pruning never shifts the array. The slot of a component is found by a {@link WeakIdentityIndex}.
+ * <p>
+ * Each target keeps a mask of the properties taken over by other animations, which are not written any more.
+ */
+final class TargetGroup {
+    private static final int INITIAL_CAPACITY = 8;
+    private WeakReference<?>[] targets = new WeakReference<?>[INITIAL_CAPACITY];
+    private int[] releasedMasks = new int[INITIAL_CAPACITY];
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    private final WeakIdentityIndex index = new WeakIdentityIndex(INITIAL_CAPACITY);
+    private int size = 0;
+
+    /**
+     * Add the component if not added yet.
+     *
+     * @param component The target component.
+     * @return True if added.
+     */
+    boolean add(Component component) {
+        if (indexOf(component) >= 0) {
+            return false;
+        }
+        if (size == targets.length) {
+            targets = Arrays.copyOf(targets, size * 2);
+            releasedMasks = Arrays.copyOf(releasedMasks, size * 2);
+            hashes = Arrays.copyOf(hashes, size * 2);
+        }
+        targets[size] = new WeakReference<>(component);
+        releasedMasks[size] = 0;
+        hashes[size] = WeakIdentityIndex.hash(component);
+        index.put(hashes[size], size);
+        size++;
+        return true;
+    }
+
+    /**
+     * Remove the component.
+     *
+     * @param component The target component.
+     * @return True if removed.
+     */
+    boolean remove(Component component) {
+        int index = indexOf(component);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Remove the target at the index, the last target is moved to the index.
+     *
+     * @param index The index of target.
+     */
+    void removeAt(int index) {
+        int last = size - 1;
+        this.index.remove(hashes[index], index);
+        if (index != last) {
+            this.index.move(hashes[last], last, index);
+        }
+        targets[index] = targets[last];
+        releasedMasks[index] = releasedMasks[last];
+        hashes[index] = hashes[last];
+        targets[last] = null;
+        size = last;
+    }
+
+    /**
+     * Remove the collected targets.
+     *
+     * @return The count of live targets.
+     */
+    int prune() {
+        for (int i = size - 1; i >= 0; i--) {
+            if (targets[i].get() == null) {
+                removeAt(i);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Find the component.
+     *
+     * @param component The target component.
+     * @return The index of component, -1 if not in the group.
+     */
+    int indexOf(Component component) {
+        return index.find(component, targets);
+    }
+
+    /**
+     * Get the count of targets, including the collected ones not pruned yet.
+     *
+     * @return The count.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Get the target.
+     *
+     * @param index The index of target.
+     * @return The component, null if collected.
+     */
+    Component get(int index) {
+        return (Component) targets[index].get();
+    }
+
+    /**
+     * Get the properties taken over by other animations.
+     *
+     * @param index The index of target.
+     * @return The mask of released properties, a bit for each index of properties.
+     */
+    int getReleasedMask(int index) {
+        return releasedMasks[index];
+    }
+
+    /**
+     * Stop writing the property of the target.
+     *
+     * @param index         The index of target.
+     * @param propertyIndex The index of property.
+     * @return The mask of released properties of the target.
+     */
+    int release(int index, int propertyIndex) {
+        releasedMasks[index] |= 1 << propertyIndex;
+        return releasedMasks[index];
+    }
+
+    /**
+     * Write all the properties of the targets again.
+     */
+    void clearReleased() {
+        Arrays.fill(releasedMasks, 0, size, 0);
+    }
+
+    /**
+     * Remove all the targets.
+     */
+    void clear() {
+        Arrays.fill(targets, 0, size, null);
+        index.clear();
+        size = 0;
+    }
+}
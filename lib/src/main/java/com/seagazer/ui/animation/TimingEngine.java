@@ -0,0 +1,296 @@
+package com.seagazer.ui.animation;
+
+/**
+ * TimingEngine computes the linear fraction of an animation from the frame time: start delay, duration, repeat
+ * count and the flipping of direction when repeat in reverse mode.
+ * <p>
+ * It is pure java and does not depend on the platform, so the timing of animations can be run and tested on
+ * the JVM with {@link ManualFrameSource}.
+ */
+public final class TimingEngine {
+    /**
+     * Repeat the animation infinitely, same as {@code Animator.INFINITE}.
+     */
+    public static final int INFINITE = -1;
+    /**
+     * The default duration of animation, in milliseconds.
+     */
+    public static final long DEFAULT_DURATION = 300;
+    // a seek moves the start time before the time base, so the unset start time is not -1
+    private static final long NO_START_TIME = Long.MIN_VALUE;
+    private long duration = DEFAULT_DURATION;
+    private long startDelay = 0;
+    private int repeatCount = 0;
+    private boolean reverseOnRepeat = false;
+    private boolean isReversing = false;
+    private long startTime = NO_START_TIME;
+    private long pauseTime;
+    private boolean isPaused = false;
+    private int currentIteration = 0;
+    private float fraction = 0f;
+    private boolean isFinished = false;
+
+    /**
+     * Prepare for a new run from the beginning, the start time is taken from the first frame.
+     */
+    public void start() {
+        startTime = NO_START_TIME;
+        isPaused = false;
+        currentIteration = 0;
+        fraction = 0f;
+        isFinished = false;
+    }
+
+    /**
+     * Return to the state of a new instance.
+     */
+    public void reset() {
+        duration = DEFAULT_DURATION;
+        startDelay = 0;
+        repeatCount = 0;
+        reverseOnRepeat = false;
+        isReversing = false;
+        start();
+    }
+
+    /**
+     * Convert the frame time to the play time after the start delay.
+     *
+     * @param frameTime The time of current frame, in milliseconds.
+     * @return The play time, or -1 if the animation is still in the start delay.
+     */
+    public long getPlayTime(long frameTime) {
+        if (startTime == NO_START_TIME) {
+            startTime = frameTime + startDelay;
+        }
+        if (frameTime < startTime) {
+            return -1;
+        }
+        return frameTime - startTime;
+    }
+
+    /**
+     * Compute the fraction, iteration and finish state of the play time.
+     *
+     * @param playTime The time played after the start delay, in milliseconds.
+     * @return How many repeats happened since last update.
+     */
+    public int setPlayTime(long playTime) {
+        return advanceIteration(computeIteration(playTime, currentIteration));
+    }
+
+    /**
+     * Jump to the play time, forwards or backwards. The iteration and the direction are computed from the play time
+     * directly instead of counted from the last update, so the cost does not depend on the distance of the jump.
+     * A started animation continues from the play time, no repeat is reported for the jump.
+     *
+     * @param playTime The time played after the start delay, in milliseconds, clamped to the total duration.
+     * @param now      The current time, in milliseconds.
+     */
+    public void seek(long playTime, long now) {
+        playTime = Math.max(0, playTime);
+        int iteration = computeIteration(playTime, 0);
+        isFinished = false;
+        if (reverseOnRepeat && ((iteration - currentIteration) & 1) != 0) {
+            isReversing = !isReversing;
+        }
+        currentIteration = iteration;
+        startTime = (isPaused ? pauseTime : now) - playTime;
+    }
+
+    /**
+     * Compute the fraction and finish state of the play time.
+     *
+     * @param playTime         The time played after the start delay, in milliseconds.
+     * @param defaultIteration The iteration of an infinite animation without duration.
+     * @return The iteration of the play time.
+     */
+    private int computeIteration(long playTime, int defaultIteration) {
+        if (duration <= 0) {
+            fraction = 1f;
+            isFinished = true;
+            return isInfinite() ? defaultIteration : repeatCount;
+        }
+        long elapsedIteration = playTime / duration;
+        if (!isInfinite() && elapsedIteration > repeatCount) {
+            fraction = 1f;
+            isFinished = true;
+            return repeatCount;
+        }
+        fraction = (playTime - elapsedIteration * duration) / (float) duration;
+        return (int) Math.min(elapsedIteration, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Jump to the end of the last repeat.
+     *
+     * @return How many repeats happened since last update.
+     */
+    public int finish() {
+        fraction = 1f;
+        isFinished = true;
+        return isInfinite() ? 0 : advanceIteration(repeatCount);
+    }
+
+    private int advanceIteration(int iteration) {
+        int repeats = iteration - currentIteration;
+        if (repeats <= 0) {
+            return 0;
+        }
+        currentIteration = iteration;
+        if (reverseOnRepeat && (repeats & 1) == 1) {
+            isReversing = !isReversing;
+        }
+        return repeats;
+    }
+
+    /**
+     * The animation is paused, the paused time will not count into the play time.
+     *
+     * @param now The current time, in milliseconds.
+     */
+    public void pause(long now) {
+        pauseTime = now;
+        isPaused = true;
+    }
+
+    /**
+     * The animation is resumed.
+     *
+     * @param now The current time, in milliseconds.
+     */
+    public void resume(long now) {
+        isPaused = false;
+        if (startTime != NO_START_TIME) {
+            startTime += now - pauseTime;
+        }
+    }
+
+    /**
+     * Gets the duration of one iteration.
+     *
+     * @return The duration, in milliseconds.
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * Sets the duration of one iteration.
+     *
+     * @param duration The duration, in milliseconds.
+     */
+    public void setDuration(long duration) {
+        this.duration = duration;
+    }
+
+    /**
+     * Gets the delay before the first frame.
+     *
+     * @return The delay, in milliseconds.
+     */
+    public long getStartDelay() {
+        return startDelay;
+    }
+
+    /**
+     * Sets the delay before the first frame, negative value is clamped to 0.
+     *
+     * @param startDelay The delay, in milliseconds.
+     */
+    public void setStartDelay(long startDelay) {
+        this.startDelay = Math.max(0, startDelay);
+    }
+
+    /**
+     * Gets how many times the animation repeats.
+     *
+     * @return The repeat count, or {@link #INFINITE}.
+     */
+    public int getRepeatCount() {
+        return repeatCount;
+    }
+
+    /**
+     * Sets how many times the animation repeats.
+     *
+     * @param repeatCount The repeat count, or {@link #INFINITE}.
+     */
+    public void setRepeatCount(int repeatCount) {
+        this.repeatCount = repeatCount;
+    }
+
+    /**
+     * Whether the animation repeats infinitely.
+     *
+     * @return True if repeat infinitely.
+     */
+    public boolean isInfinite() {
+        return repeatCount < 0;
+    }
+
+    /**
+     * Set whether the direction flips on each repeat, used by the reverse repeat mode.
+     *
+     * @param reverseOnRepeat True to flip on each repeat.
+     */
+    public void setReverseOnRepeat(boolean reverseOnRepeat) {
+        this.reverseOnRepeat = reverseOnRepeat;
+    }
+
+    /**
+     * Flip the direction of the animation.
+     */
+    public void toggleReverse() {
+        reverseOnRepeat = !reverseOnRepeat;
+        isReversing = !isReversing;
+    }
+
+    /**
+     * Whether the values should be played from the end to the start in current iteration.
+     *
+     * @return True if playing backwards.
+     */
+    public boolean isReversing() {
+        return reverseOnRepeat && isReversing;
+    }
+
+    /**
+     * Gets the current iteration, starts from 0.
+     *
+     * @return The current iteration.
+     */
+    public int getCurrentIteration() {
+        return currentIteration;
+    }
+
+    /**
+     * Get the linear fraction of current iteration computed by last update.
+     *
+     * @return The fraction from 0 to 1.
+     */
+    public float getFraction() {
+        return fraction;
+    }
+
+    /**
+     * Whether the last update reached the end of the animation.
+     *
+     * @return True if finished.
+     */
+    public boolean isFinished() {
+        return isFinished;
+    }
+
+    /**
+     * Gets the total duration of the animation, include the start delay and all the repeats.
+     *
+     * @return The total length in milliseconds, or -1 if repeat infinitely.
+     */
+    public long getTotalDuration() {
+        if (isInfinite()) {
+            return -1;
+        }
+        return startDelay + duration * (repeatCount + 1);
+    }
+}
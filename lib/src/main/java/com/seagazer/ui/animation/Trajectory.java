@@ -0,0 +1,245 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.animation.Animator;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Trajectory samples one iteration of an animation into primitive arrays at the frame rate, the curved fraction and
+ * the value of each sample, so the next iterations of an infinite animation are replayed by index instead of
+ * evaluating the curve and the keyframes again.
+ * <p>
+ * The trajectories are shared by all the animators with the same keyframes, curve, duration and sample count.
+ * The samples are computed on the executor if set, or on the caller thread, and the animator evaluates as usual
+ * until the samples are ready.
+ * <p>
+ * The curve and the interpolators of keyframes are user objects which may hold a whole page, so the cache only
+ * holds them weakly once the samples are ready. A trajectory whose curve is collected never matches again and
+ * leaves the cache as the eldest entry.
+ */
+final class Trajectory {
+    // the max count of samples of one iteration, about one minute at 60 fps
+    private static final int MAX_SAMPLES = 4096;
+    private static final int CACHE_SIZE = 32;
+    // the tolerance of values to replay the forward samples backwards for the reversed iterations
+    private static final float SYMMETRY_TOLERANCE = 1e-4f;
+    private static final Map<Trajectory, Trajectory> CACHE =
+            new LinkedHashMap<Trajectory, Trajectory>(CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Trajectory, Trajectory> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            };
+    private static Executor executor;
+    private final KeyframeSet keyframes = new KeyframeSet();
+    private final int curveType;
+    // held until the samples are ready, compared by the weak references after
+    private Animator.TimelineCurve curve;
+    // the curve at 0 and the interpolator of each keyframe after it, null if none
+    private final WeakReference<?>[] curves;
+    private final long duration;
+    private final int sampleCount;
+    private final int hash;
+    private float[] curvedFractions;
+    private float[] values;
+    // the values of the reversed iterations, null if they are the forward values read backwards
+    private float[] reversedValues;
+    private volatile boolean isReady = false;
+
+    private Trajectory(KeyframeSet keyframes, int curveType, Animator.TimelineCurve curve, long duration,
+                       int sampleCount) {
+        this.keyframes.copyFrom(keyframes);
+        this.curveType = curve == null ? curveType : Animator.CurveType.INVALID;
+        this.curve = curve;
+        this.duration = duration;
+        this.sampleCount = sampleCount;
+        int count = keyframes.getKeyframeCount();
+        curves = new WeakReference<?>[count + 1];
+        int result = keyframes.valuesHashCode();
+        for (int i = 0; i <= count; i++) {
+            Animator.TimelineCurve reference = i == 0 ? curve : keyframes.getInterpolator(i - 1);
+            if (reference != null) {
+                curves[i] = new WeakReference<>(reference);
+            }
+            result = 31 * result + System.identityHashCode(reference);
+        }
+        result = 31 * result + this.curveType;
+        result = 31 * result + (int) (duration ^ (duration >>> 32));
+        hash = 31 * result + sampleCount;
+    }
+
+    /**
+     * Set the executor to compute the samples, such as a single background thread.
+     *
+     * @param executor The executor, null to compute on the thread which starts the animator.
+     */
+    static synchronized void setExecutor(Executor executor) {
+        Trajectory.executor = executor;
+    }
+
+    /**
+     * Get the shared trajectory of the animation, the samples are computed if not cached.
+     *
+     * @param keyframes           The keyframes of the animation, copied if a new trajectory is created.
+     * @param curveType           The curve type, {@link Animator.CurveType}.
+     * @param curve               The curve, null to use the curve type.
+     * @param duration            The duration of one iteration, in milliseconds.
+     * @param frameIntervalMillis The interval between two samples, in milliseconds.
+     * @return The trajectory, maybe not ready yet.
+     */
+    static Trajectory obtain(KeyframeSet keyframes, int curveType, Animator.TimelineCurve curve, long duration,
+                             float frameIntervalMillis) {
+        int sampleCount = (int) Math.min(MAX_SAMPLES, Math.ceil(duration / frameIntervalMillis) + 1);
+        final Trajectory key = new Trajectory(keyframes, curveType, curve, duration, Math.max(2, sampleCount));
+        Executor bakeExecutor;
+        synchronized (Trajectory.class) {
+            Trajectory trajectory = CACHE.get(key);
+            if (trajectory != null) {
+                return trajectory;
+            }
+            CACHE.put(key, key);
+            bakeExecutor = executor;
+        }
+        if (bakeExecutor == null) {
+            key.bake();
+        } else {
+            bakeExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    key.bake();
+                }
+            });
+        }
+        return key;
+    }
+
+    /**
+     * Drop all the cached trajectories.
+     */
+    static synchronized void clearCache() {
+        CACHE.clear();
+    }
+
+    private void bake() {
+        int last = sampleCount - 1;
+        float[] fractions = new float[sampleCount];
+        float[] forward = new float[sampleCount];
+        float[] reversed = new float[sampleCount];
+        for (int i = 0; i <= last; i++) {
+            float t = i / (float) last;
+            float fraction = curve != null ? curve.getCurvedTime(t) : Curves.getCurvedTime(curveType, t);
+            fractions[i] = fraction;
+            forward[i] = keyframes.getFloatValue(fraction, false);
+            reversed[i] = keyframes.getFloatValue(fraction, true);
+        }
+        // symmetric curves such as linear replay the reversed iterations by reading the forward values backwards
+        float tolerance = SYMMETRY_TOLERANCE * Math.max(1f, Math.abs(forward[last] - forward[0]));
+        boolean isSymmetric = true;
+        for (int i = 0; i <= last && isSymmetric; i++) {
+            isSymmetric = Math.abs(reversed[i] - forward[last - i]) <= tolerance;
+        }
+        curvedFractions = fractions;
+        values = forward;
+        reversedValues = isSymmetric ? null : reversed;
+        // the samples no longer need the curves, the cache must not keep them alive
+        curve = null;
+        keyframes.clearInterpolators();
+        // publish the samples to the UI thread
+        isReady = true;
+    }
+
+    /**
+     * Whether the samples are computed.
+     *
+     * @return True if ready to replay.
+     */
+    boolean isReady() {
+        return isReady;
+    }
+
+    /**
+     * Get the curved fraction at the linear fraction.
+     *
+     * @param fraction The linear fraction from 0 to 1.
+     * @return The curved fraction.
+     */
+    float getCurvedFraction(float fraction) {
+        return sample(curvedFractions, fraction);
+    }
+
+    /**
+     * Get the value at the linear fraction.
+     *
+     * @param fraction The linear fraction from 0 to 1.
+     * @param reversed True in the reversed iterations.
+     * @return The value.
+     */
+    float getValue(float fraction, boolean reversed) {
+        if (!reversed) {
+            return sample(values, fraction);
+        }
+        if (reversedValues != null) {
+            return sample(reversedValues, fraction);
+        }
+        return sample(values, 1f - fraction);
+    }
+
+    private float sample(float[] samples, float fraction) {
+        int last = sampleCount - 1;
+        float position = Math.max(0f, Math.min(1f, fraction)) * last;
+        int index = (int) position;
+        if (index >= last) {
+            return samples[last];
+        }
+        float start = samples[index];
+        return start + (position - index) * (samples[index + 1] - start);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Trajectory)) {
+            return false;
+        }
+        Trajectory other = (Trajectory) obj;
+        return hash == other.hash && curveType == other.curveType && duration == other.duration
+                && sampleCount == other.sampleCount && sameCurves(curves, other.curves)
+                && keyframes.valuesEqual(other.keyframes);
+    }
+
+    /**
+     * Compare the curves by identity, a collected curve equals nothing.
+     *
+     * @param curves The curves of this trajectory.
+     * @param others The curves of the other trajectory.
+     * @return True if the same curves.
+     */
+    private static boolean sameCurves(WeakReference<?>[] curves, WeakReference<?>[] others) {
+        if (curves.length != others.length) {
+            return false;
+        }
+        for (int i = 0; i < curves.length; i++) {
+            if (curves[i] == null || others[i] == null) {
+                if (curves[i] != others[i]) {
+                    return false;
+                }
+                continue;
+            }
+            Object curve = curves[i].get();
+            if (curve == null || curve != others[i].get()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
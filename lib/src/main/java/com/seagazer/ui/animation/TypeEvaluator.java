@@ -0,0 +1,23 @@
+package com.seagazer.ui.animation;
+
+/**
+ * TypeEvaluator computes the animated value of any type between the start and end value, used by
+ * {@link ValueAnimator#ofObject(TypeEvaluator, Object[])}.
+ * <p>
+ * To animate without allocating per frame, an evaluator can write the result into one mutable instance and
+ * return it on every call, like {@link PointEvaluator} and {@link RectEvaluator}. The listeners must copy the
+ * value if they keep it beyond the frame.
+ *
+ * @param <T> The type of animated value.
+ */
+public interface TypeEvaluator<T> {
+    /**
+     * Compute the value at the fraction between the start and end value.
+     *
+     * @param fraction   The fraction from the start value to the end value, maybe out of [0, 1] by overshoot.
+     * @param startValue The start value.
+     * @param endValue   The end value.
+     * @return The value at the fraction.
+     */
+    T evaluate(float fraction, T startValue, T endValue);
+}
@@ -5,30 +5,113 @@ import ohos.agp.animation.AnimatorValue;
 import ohos.agp.components.Component;
 
 import java.lang.ref.WeakReference;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.StampedLock;
 
 /**
  * ValueAnimator provide full usually function like android.
+ * All the running animators are driven by the shared {@link AnimationHandler}.
+ * <p>
+ * All the setters, the controls such as {@link #start()} and {@link #cancel()}, the seeking and the listener
+ * registration can be called from any thread, the calls from other threads are handed to the UI thread in order
+ * and take effect at the start of the next frame, so the arguments are checked on the caller thread and the
+ * getters there may return the old settings until then. The animated values and the states can be read from any
+ * thread, {@link #getAnimatedValue(Property)} reads the values published once per frame under a
+ * {@link StampedLock}, so the values of two frames are never mixed. The object values of
+ * {@link #setObjectValues(TypeEvaluator, Object[])} are updated in place by their evaluator, read them on the UI
+ * thread or copy them in an update listener. The metrics should be enabled and read on the UI thread.
  */
 public class ValueAnimator {
-    private AnimatorValue innerAnimator;
+    /**
+     * The total duration of an animation which repeats infinitely.
+     */
+    public static final long DURATION_INFINITE = -1;
+    /**
+     * Update on every frame of the device, the default frame rate.
+     */
+    public static final int FRAME_RATE_UNLIMITED = 0;
+    /**
+     * The frame rate of the animators throttled by the frame budget of {@link AnimationHandler}.
+     */
+    public static final int THROTTLED_FRAME_RATE = 15;
+    private static final long HANDOFF_STEP_MILLIS = 16;
+    private static final long NO_PENDING_SEEK = -1;
+    private static final AtomicIntegerFieldUpdater<ValueAnimator> PUBLISHED_FRAME =
+            AtomicIntegerFieldUpdater.newUpdater(ValueAnimator.class, "publishedFrame");
+    private static final int PROPERTY_COUNT = Property.values().length;
+    private final TimingEngine timing = new TimingEngine();
+    private int curveType = Animator.CurveType.LINEAR;
+    private Animator.TimelineCurve curve;
+    // read from any thread, written on the UI thread
+    private volatile boolean isStarted = false;
+    private volatile boolean isRunning = false;
+    private volatile boolean isPaused = false;
+    private boolean isDrivenByParent = false;
+    private volatile boolean isSuspended = false;
+    private boolean cancelWhenTargetCollected = true;
+    private boolean suspendWhenTargetHidden = true;
+    private int frameRate = FRAME_RATE_UNLIMITED;
+    private Priority priority = Priority.NORMAL;
+    private long lastUpdateTime = -1;
+    // the play time seeked before started, where the next start continues from
+    private long pendingPlayTime = NO_PENDING_SEEK;
     private RepeatMode repeatMode = RepeatMode.RESTART;
-    private List<AnimatorUpdateListener> updateListeners;
-    private List<AnimatorListener> listeners;
-    private final Object[] values = new Object[2];
-    private final Object[] reverseValues = new Object[2];
-    private boolean takeReverseLogic = false;
-    private boolean isReversing = false;
+    private final ListenerList<AnimatorUpdateListener> updateListeners = new ListenerList<>();
+    private final ListenerList<FloatUpdateListener> floatUpdateListeners = new ListenerList<>();
+    private final ListenerList<IntUpdateListener> intUpdateListeners = new ListenerList<>();
+    private final ListenerList<AnimatorListener> listeners = new ListenerList<>();
+    private static final int TYPE_NONE = 0;
+    private static final int TYPE_INT = 1;
+    private static final int TYPE_FLOAT = 2;
+    private static final int TYPE_OBJECT = 3;
+    private int valueType = TYPE_NONE;
+    private TypeEvaluator<Object> evaluator;
+    private ArgbEvaluator argbEvaluator;
+    private Object[] objectValues;
+    private Object currentObject;
+    private final KeyframeSet keyframes = new KeyframeSet();
     private WeakReference<Component> targetHolder;
+    // the targets sharing the values, null if only one target is bound by targetHolder
+    private TargetGroup targetGroup;
     private Property[] targetProperties;
-    private Object currentValue;
+    private PropertyValuesHolder[] valuesHolders;
+    private MotionPath motionPath;
+    private float[] propertyValues;
+    private float[] writtenValues;
+    // the values of last update and its play time, to measure the velocity handed to the next owner
+    private float[] previousValues;
+    private long valueTime = -1;
+    private long previousValueTime = -1;
+    // the properties taken over by another animation, null if none
+    private boolean[] releasedProperties;
+    private boolean hasClaimedProperties = false;
+    // the gap of value and velocity to the previous owner, faded out in the first iteration
+    private float[] handoffOffsets;
+    private float[] handoffVelocities;
+    private boolean replayTrajectory = false;
+    private Trajectory trajectory;
+    private float writeEpsilon = 0f;
+    private long skippedWriteCount = 0;
+    private static long totalSkippedWriteCount = 0;
+    private boolean hasAnimatedValue = false;
+    private int currentInt;
+    private float currentFloat;
+    // bumped by an ordered write after the values of each frame, the other threads read it before the values
+    private volatile int publishedFrame;
+    // the values of each property by ordinal, rewritten in place under the write stamp of publishLock
+    private final StampedLock publishLock = new StampedLock();
+    private float[] publishedValues;
+    // false if all the properties share one value
+    private boolean isValuesPublished = false;
+    private AnimatorMetrics metrics;
+    boolean isInPool = false;
 
     /**
      * Default construct.
      */
     public ValueAnimator() {
-        createInnerAnimator();
     }
 
     /**
@@ -38,9 +121,9 @@ public class ValueAnimator {
      * @param properties The properties of component {@link Property}.
      */
     public ValueAnimator(Component target, Property... properties) {
-        createInnerAnimator();
         targetHolder = new WeakReference<>(target);
-        targetProperties = properties;
+        targetGroup = null;
+        setTargetProperties(properties);
     }
 
     /**
@@ -65,29 +148,90 @@ public class ValueAnimator {
         return valueAnimator;
     }
 
+    /**
+     * Create a ValueAnimator instance which writes the same values to all the components, such as dimming all the
+     * cells of a grid. The value is computed once per frame for all the targets.
+     *
+     * @param targets    The target components to be animated.
+     * @param start      The start value.
+     * @param end        The end value.
+     * @param properties The properties of component {@link Property}.
+     * @return ValueAnimator instance.
+     */
+    public static ValueAnimator ofObject(Component[] targets, float start, float end, Property... properties) {
+        ValueAnimator valueAnimator = new ValueAnimator(null, properties);
+        valueAnimator.setTargets(targets);
+        valueAnimator.setFloatValues(start, end);
+        return valueAnimator;
+    }
+
     /**
      * Create a ValueAnimator instance by initial float values.
      *
-     * @param start The start value.
-     * @param end   The end value.
+     * @param values The values spread evenly over the animation, usually the start and end value.
      * @return ValueAnimator instance.
      */
-    public static ValueAnimator ofFloat(float start, float end) {
+    public static ValueAnimator ofFloat(float... values) {
         ValueAnimator valueAnimator = new ValueAnimator();
-        valueAnimator.setFloatValues(start, end);
+        valueAnimator.setFloatValues(values);
         return valueAnimator;
     }
 
     /**
      * Create a ValueAnimator instance by initial int values.
      *
-     * @param start The start value.
-     * @param end   The end value.
+     * @param values The values spread evenly over the animation, usually the start and end value.
+     * @return ValueAnimator instance.
+     */
+    public static ValueAnimator ofInt(int... values) {
+        ValueAnimator valueAnimator = new ValueAnimator();
+        valueAnimator.setIntValues(values);
+        return valueAnimator;
+    }
+
+    /**
+     * Create a ValueAnimator instance by colors, the colors are interpolated by {@link ArgbEvaluator} and
+     * notified as int without boxing, read them by {@link IntUpdateListener} or {@link #getAnimatedInt()}.
+     *
+     * @param values The colors in ARGB spread evenly over the animation, usually the start and end color.
+     * @return ValueAnimator instance.
+     */
+    public static ValueAnimator ofArgb(int... values) {
+        ValueAnimator valueAnimator = new ValueAnimator();
+        valueAnimator.setIntValues(values);
+        valueAnimator.setEvaluator(ArgbEvaluator.getInstance());
+        return valueAnimator;
+    }
+
+    /**
+     * Create a ValueAnimator instance by values of any type, the values are interpolated by the evaluator.
+     *
+     * @param evaluator The evaluator computes the value between two values {@link TypeEvaluator}.
+     * @param values    The values spread evenly over the animation, usually the start and end value.
+     * @param <T>       The type of values.
+     * @return ValueAnimator instance.
+     */
+    @SafeVarargs
+    public static <T> ValueAnimator ofObject(TypeEvaluator<T> evaluator, T... values) {
+        // copied by elements, the varargs array never leaves the method
+        Object[] copy = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            copy[i] = values[i];
+        }
+        ValueAnimator valueAnimator = new ValueAnimator();
+        valueAnimator.setObjectValueArray(evaluator, copy);
+        return valueAnimator;
+    }
+
+    /**
+     * Create a ValueAnimator instance by keyframes.
+     *
+     * @param keyframes The keyframes {@link Keyframe}, the first one at fraction 0 and the last one at fraction 1.
      * @return ValueAnimator instance.
      */
-    public static ValueAnimator ofInt(int start, int end) {
+    public static ValueAnimator ofKeyframe(Keyframe... keyframes) {
         ValueAnimator valueAnimator = new ValueAnimator();
-        valueAnimator.setIntValues(start, end);
+        valueAnimator.setKeyframes(keyframes);
         return valueAnimator;
     }
 
@@ -99,393 +243,2239 @@ public class ValueAnimator {
      * @param end        The end value.
      * @param properties The properties of component {@link Property}.
      */
-    public void setObjectProperties(Component target, float start, float end, Property... properties) {
+    public void setObjectProperties(final Component target, final float start, final float end,
+                                    Property... properties) {
+        if (!isUiThread()) {
+            final Property[] copy = properties.clone();
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    setObjectProperties(target, start, end, copy);
+                }
+            });
+            return;
+        }
         targetHolder = new WeakReference<>(target);
-        targetProperties = properties;
+        targetGroup = null;
+        setTargetProperties(properties);
         setFloatValues(start, end);
     }
 
     /**
-     * Set the start and end int value for valueAnimator.
+     * Create a ValueAnimator instance which animates each property of the component with its own values.
      *
-     * @param start The start value.
-     * @param end   The end value.
+     * @param target  The target component to be animated, maybe null if only read the values.
+     * @param holders The values of each property {@link PropertyValuesHolder}.
+     * @return ValueAnimator instance.
      */
-    public void setIntValues(int start, int end) {
-        values[0] = start;
-        values[1] = end;
-        reverseValues[0] = end;
-        reverseValues[1] = start;
+    public static ValueAnimator ofPropertyValuesHolder(Component target, PropertyValuesHolder... holders) {
+        ValueAnimator valueAnimator = new ValueAnimator();
+        valueAnimator.setValues(target, holders);
+        return valueAnimator;
     }
 
     /**
-     * Set the start and end float value for valueAnimator.
+     * Setup component and the values of each property to bind valueAnimator, all the properties are computed
+     * in one pass and written to the component together every frame.
      *
-     * @param start The start value.
-     * @param end   The end value.
+     * @param target  The target component to be animated, maybe null if only read the values.
+     * @param holders The values of each property {@link PropertyValuesHolder}.
      */
-    public void setFloatValues(float start, float end) {
-        values[0] = start;
-        values[1] = end;
-        reverseValues[0] = end;
-        reverseValues[1] = start;
+    public void setValues(final Component target, PropertyValuesHolder... holders) {
+        if (holders.length == 0) {
+            throw new IllegalArgumentException("At least one PropertyValuesHolder is required!");
+        }
+        if (!isUiThread()) {
+            final PropertyValuesHolder[] copy = holders.clone();
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    setValues(target, copy);
+                }
+            });
+            return;
+        }
+        targetHolder = target == null ? null : new WeakReference<>(target);
+        targetGroup = null;
+        Property[] properties = new Property[holders.length];
+        for (int i = 0; i < holders.length; i++) {
+            properties[i] = holders[i].getProperty();
+        }
+        valuesHolders = holders.clone();
+        motionPath = null;
+        setTargetProperties(properties);
+        valueType = TYPE_FLOAT;
     }
 
     /**
-     * Read the current animated value, maybe null.
+     * Create a ValueAnimator instance which moves the component along the path, the x and y of the path are
+     * written to {@link Property#TRANSLATION_X} and {@link Property#TRANSLATION_Y}. The animated fraction maps to
+     * the fraction of the path length, so the speed along the path follows the interpolator.
      *
-     * @return The current animated value.
+     * @param target          The target component to be animated.
+     * @param path            The path to move along {@link MotionPath}.
+     * @param rotateAlongPath True to write the tangent angle of the path to {@link Property#ROTATION} too.
+     * @return ValueAnimator instance.
      */
-    public Object getAnimatedValue() {
-        return currentValue;
+    public static ValueAnimator ofPath(Component target, MotionPath path, boolean rotateAlongPath) {
+        ValueAnimator valueAnimator = new ValueAnimator();
+        valueAnimator.setPath(target, path, rotateAlongPath);
+        return valueAnimator;
     }
 
     /**
-     * Get the real animator.
+     * Setup component and path to bind valueAnimator, see {@link #ofPath(Component, MotionPath, boolean)}.
      *
-     * @return The real animator.
+     * @param target          The target component to be animated.
+     * @param path            The path to move along {@link MotionPath}.
+     * @param rotateAlongPath True to write the tangent angle of the path to {@link Property#ROTATION} too.
      */
-    public AnimatorValue getInnerAnimator() {
-        return innerAnimator;
+    public void setPath(final Component target, final MotionPath path, final boolean rotateAlongPath) {
+        if (path == null || path.getPointCount() < 2) {
+            throw new IllegalArgumentException("The path needs at least two points!");
+        }
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    setPath(target, path, rotateAlongPath);
+                }
+            });
+            return;
+        }
+        targetHolder = target == null ? null : new WeakReference<>(target);
+        targetGroup = null;
+        if (rotateAlongPath) {
+            setTargetProperties(new Property[]{Property.TRANSLATION_X, Property.TRANSLATION_Y, Property.ROTATION});
+        } else {
+            setTargetProperties(new Property[]{Property.TRANSLATION_X, Property.TRANSLATION_Y});
+        }
+        valuesHolders = null;
+        motionPath = path;
+        valueType = TYPE_FLOAT;
     }
 
-    private void createInnerAnimator() {
-        innerAnimator = new AnimatorValue();
-        innerAnimator.setValueUpdateListener(valueUpdateListener);
-        innerAnimator.setLoopedListener(loopedListener);
+    /**
+     * Bind the components which share the values of this animator, the properties must be set before, such as by
+     * {@link #ValueAnimator(Component, Property...)}. The components are held weakly and the collected ones are
+     * dropped, the animation is canceled when all the targets are collected if
+     * {@link #setCancelWhenTargetCollected(boolean)}, and suspended when all the targets are hidden if
+     * {@link #setSuspendWhenTargetHidden(boolean)}.
+     *
+     * @param targets The target components, replace the targets bound before.
+     */
+    public void setTargets(Component... targets) {
+        if (!isUiThread()) {
+            final Component[] copy = targets.clone();
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    setTargets(copy);
+                }
+            });
+            return;
+        }
+        if (targetProperties == null) {
+            throw new IllegalStateException("Set the properties before the targets!");
+        }
+        boolean claimed = hasClaimedProperties;
+        releaseProperties();
+        handoffOffsets = null;
+        handoffVelocities = null;
+        targetHolder = null;
+        targetGroup = new TargetGroup();
+        for (Component target : targets) {
+            if (target == null) {
+                throw new IllegalArgumentException("The target can not be null!");
+            }
+            targetGroup.add(target);
+        }
+        resetWrittenValues();
+        if (claimed) {
+            claimProperties();
+        }
     }
 
-    private final AnimatorValue.ValueUpdateListener valueUpdateListener = new AnimatorValue.ValueUpdateListener() {
-        @Override
-        public void onUpdate(AnimatorValue animator, float fraction) {
-            Object[] takeValues = values;
-            if (takeReverseLogic && isReversing) {
-                takeValues = reverseValues;
-            }
-            Object animatedValue = takeValues[0];
-            if (animatedValue != null) {
-                if (animatedValue instanceof Integer) {
-                    int start = (int) takeValues[0];
-                    int end = (int) takeValues[1];
-                    animatedValue = start + (int) (fraction * (end - start));
-                } else {
-                    float start = (float) takeValues[0];
-                    float end = (float) takeValues[1];
-                    animatedValue = start + fraction * (end - start);
+    /**
+     * Add a component which shares the values of this animator, see {@link #setTargets(Component...)}. It can be
+     * added while running and is written from the next frame.
+     *
+     * @param target The target component.
+     */
+    public void addTarget(final Component target) {
+        if (target == null) {
+            throw new IllegalArgumentException("The target can not be null!");
+        }
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    addTarget(target);
                 }
+            });
+            return;
+        }
+        if (targetProperties == null) {
+            throw new IllegalStateException("Set the properties before the targets!");
+        }
+        if (targetGroup == null) {
+            Component current = targetHolder == null ? null : targetHolder.get();
+            targetHolder = null;
+            // the handoff of the single target is not shared by the group
+            handoffOffsets = null;
+            handoffVelocities = null;
+            targetGroup = new TargetGroup();
+            if (current != null) {
+                targetGroup.add(current);
             }
-            currentValue = animatedValue;
-            if (updateListeners != null) {
-                notifyOuterListener(ValueAnimator.this, fraction, animatedValue);
+        }
+        if (targetGroup.add(target)) {
+            resetWrittenValues();
+            if (hasClaimedProperties && valueType == TYPE_FLOAT) {
+                claimTarget(target);
             }
-            if (targetHolder != null && targetHolder.get() != null) {
-                if (animatedValue instanceof Float) {
-                    updateComponentProperty((Float) animatedValue);
+        }
+    }
+
+    /**
+     * Remove a component from the targets, it keeps the values written last.
+     *
+     * @param target The target component.
+     */
+    public void removeTarget(final Component target) {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    removeTarget(target);
                 }
-            }
+            });
+            return;
         }
-    };
+        boolean removed = false;
+        if (targetGroup != null) {
+            removed = targetGroup.remove(target);
+        } else if (targetHolder != null && targetHolder.get() == target) {
+            targetHolder = null;
+            removed = true;
+        }
+        if (removed && hasClaimedProperties) {
+            releaseTarget(target);
+        }
+    }
 
-    private void notifyOuterListener(ValueAnimator animator, float fraction, Object currentValue) {
-        for (AnimatorUpdateListener listener : updateListeners) {
-            listener.onAnimationUpdate(animator, fraction, currentValue);
+    /**
+     * Get the count of the components written by this animator.
+     *
+     * @return The count of the targets not collected.
+     */
+    public int getTargetCount() {
+        if (targetGroup != null) {
+            return targetGroup.prune();
         }
+        return targetHolder != null && targetHolder.get() != null ? 1 : 0;
     }
 
-    private void updateComponentProperty(Float currentValue) {
-        Component component = targetHolder.get();
-        for (Property property : targetProperties) {
-            switch (property) {
-                case SCALE_X:
-                    component.setScaleX(currentValue);
-                    break;
-                case SCALE_Y:
-                    component.setScaleY(currentValue);
-                    break;
-                case TRANSLATION_X:
-                    component.setTranslationX(currentValue);
-                    break;
-                case TRANSLATION_Y:
-                    component.setTranslationY(currentValue);
-                    break;
-                case ALPHA:
-                    component.setAlpha(currentValue);
-                    break;
-                case ROTATION:
-                    component.setRotation(currentValue);
-                    break;
-                case WIDTH:
-                    float w = currentValue;
-                    component.setWidth((int) w);
-                    break;
-                case HEIGHT:
-                    float h = currentValue;
-                    component.setHeight((int) h);
-                    break;
-            }
-        }
-    }
-
-    private final Animator.LoopedListener loopedListener = new Animator.LoopedListener() {
-        @Override
-        public void onRepeat(Animator animator) {
-            if (takeReverseLogic) {
-                isReversing = !isReversing;
+    /**
+     * Read the current animated value of the property.
+     *
+     * @param property The property of component {@link Property}.
+     * @return The current animated value of the property, 0 if the property is not animated by this animator.
+     */
+    public float getAnimatedValue(Property property) {
+        StampedLock lock = publishLock;
+        long stamp = lock.tryOptimisticRead();
+        boolean published = isValuesPublished;
+        float[] values = publishedValues;
+        float value = published && values != null ? values[property.ordinal()] : 0;
+        if (!lock.validate(stamp)) {
+            // a frame was published during the read, read again under the lock
+            stamp = lock.readLock();
+            try {
+                published = isValuesPublished;
+                value = published ? publishedValues[property.ordinal()] : 0;
+            } finally {
+                lock.unlockRead(stamp);
             }
-            if (listeners != null) {
-                for (AnimatorListener listener : listeners) {
-                    listener.onAnimationRepeat(ValueAnimator.this);
+        }
+        if (published) {
+            return Float.isNaN(value) ? 0 : value;
+        }
+        acquireValues();
+        Property[] properties = targetProperties;
+        if (properties != null) {
+            for (int i = 0; i < properties.length; i++) {
+                if (properties[i] == property) {
+                    return currentFloat;
                 }
             }
         }
-    };
+        return 0;
+    }
 
     /**
-     * Mode for repeat play.
+     * Copy the values of each property into the published array under the write stamp, the readers on other
+     * threads validate their stamp, so they never see the values of two frames mixed. No array is allocated
+     * after the first frame.
      */
-    public enum RepeatMode {
-        RESTART, REVERSE
+    private void publishValues() {
+        Property[] properties = targetProperties;
+        long stamp = publishLock.writeLock();
+        try {
+            float[] snapshot = publishedValues;
+            if (snapshot == null) {
+                snapshot = new float[PROPERTY_COUNT];
+                publishedValues = snapshot;
+            }
+            Arrays.fill(snapshot, Float.NaN);
+            for (int i = 0; i < properties.length; i++) {
+                snapshot[properties[i].ordinal()] = propertyValues[i];
+            }
+            isValuesPublished = true;
+        } finally {
+            publishLock.unlockWrite(stamp);
+        }
     }
 
     /**
-     * Set the repeat mode when the repeat count is INFINITE.
-     *
-     * @param repeatMode The mode for repeat play.{@link RepeatMode}
+     * Stop reading the published array, all the properties share the current value.
      */
-    public void setRepeatMode(RepeatMode repeatMode) {
-        if (innerAnimator.isRunning()) {
-            throw new RuntimeException("You can not set repeat mode when the animation is running!");
+    private void unpublishValues() {
+        if (!isValuesPublished) {
+            return;
         }
-        this.repeatMode = repeatMode;
+        long stamp = publishLock.writeLock();
+        isValuesPublished = false;
+        publishLock.unlockWrite(stamp);
     }
 
-    /**
-     * Sets the duration of the animation.
-     *
-     * @param duration The length of the animation, in milliseconds.
-     */
-    public void setDuration(long duration) {
-        innerAnimator.setDuration(duration);
+    private void setTargetProperties(Property[] properties) {
+        targetProperties = properties;
+        unpublishValues();
+        if (propertyValues == null || propertyValues.length != properties.length) {
+            propertyValues = new float[properties.length];
+            writtenValues = new float[properties.length];
+            previousValues = new float[properties.length];
+        }
+        resetWrittenValues();
+    }
+
+    private void resetWrittenValues() {
+        if (writtenValues != null) {
+            Arrays.fill(writtenValues, Float.NaN);
+        }
     }
 
     /**
-     * Sets how many times the animation should be repeated. If the repeat
-     * count is 0, the animation is never repeated. If the repeat count is
-     * greater than 0 or {@link Animator#INFINITE}, the repeat mode will be taken
-     * into account. The repeat count is 0 by default.
+     * Set the tolerance of the float properties, if the new value differs from the value written last frame
+     * no more than the epsilon, the setter of component is skipped. The end value is always written.
+     * {@link Property#WIDTH} and {@link Property#HEIGHT} are always compared by their int values.
      *
-     * @param value the number of times the animation should be repeated
+     * @param epsilon The tolerance, 0 by default which only skips the same value.
      */
-    public void setRepeatCount(int value) {
-        innerAnimator.setLoopedCount(value);
+    public void setWriteEpsilon(final float epsilon) {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    setWriteEpsilon(epsilon);
+                }
+            });
+            return;
+        }
+        writeEpsilon = Math.max(0f, epsilon);
     }
 
     /**
-     * The amount of time, in milliseconds, to delay starting the animation after
-     * {@link #start()} is called. Note that the start delay should always be non-negative. Any
-     * negative start delay will be clamped to 0 on N and above.
+     * Get the tolerance of the float properties.
      *
-     * @param startDelay The amount of the delay, in milliseconds
+     * @return The tolerance.
      */
-    public void setStartDelay(long startDelay) {
-        innerAnimator.setDelay(startDelay);
+    public float getWriteEpsilon() {
+        return writeEpsilon;
     }
 
-
     /**
-     * The time interpolator used in calculating the elapsed fraction of this animation. The
-     * interpolator determines whether the animation runs with linear or non-linear motion,
-     * such as acceleration and deceleration. The default value is
+     * Get how many property writes of this animator are skipped because the value is not changed.
      *
-     * @param value the interpolator to be used by this animation. {@link Animator.CurveType}
+     * @return The count of skipped writes.
      */
-    public void setInterpolatorType(int value) {
-        innerAnimator.setCurveType(value);
+    public long getSkippedWriteCount() {
+        return skippedWriteCount;
     }
 
-
     /**
-     * The time interpolator used in calculating the elapsed fraction of this animation. The
-     * interpolator determines whether the animation runs with linear or non-linear motion,
-     * such as acceleration and deceleration. The default value is
+     * Get how many property writes of all animators are skipped because the value is not changed.
      *
-     * @param value the interpolator to be used by this animation.
+     * @return The count of skipped writes.
      */
-    public void setInterpolator(Animator.TimelineCurve value) {
-        innerAnimator.setCurve(value);
+    public static long getTotalSkippedWriteCount() {
+        return totalSkippedWriteCount;
     }
 
     /**
-     * Adds a listener to the set of listeners that are sent events through the life of an animation,
-     * such as start, repeat, and end.
+     * Set the int values for valueAnimator, the values are spread evenly over the animation.
      *
-     * @param listener the listener to be added to the current set of listeners for this animation.
+     * @param values The values, usually the start and end value.
      */
-    public void addListener(AnimatorListener listener) {
-        if (listeners == null) {
-            listeners = new ArrayList<>();
-            innerAnimator.setStateChangedListener(new Animator.StateChangedListener() {
-                @Override
-                public void onStart(Animator animator) {
-                    for (AnimatorListener listener : listeners) {
-                        listener.onAnimationStart(ValueAnimator.this);
-                    }
-                }
-
-                @Override
-                public void onStop(Animator animator) {
-                    for (AnimatorListener listener : listeners) {
-                        listener.onAnimationStop(ValueAnimator.this);
-                    }
-                }
-
-                @Override
-                public void onCancel(Animator animator) {
-                    for (AnimatorListener listener : listeners) {
-                        listener.onAnimationCancel(ValueAnimator.this);
-                    }
-                }
-
-                @Override
-                public void onEnd(Animator animator) {
-                    for (AnimatorListener listener : listeners) {
-                        listener.onAnimationEnd(ValueAnimator.this);
-                    }
-                }
-
-                @Override
-                public void onPause(Animator animator) {
-                    for (AnimatorListener listener : listeners) {
-                        listener.onAnimationPause(ValueAnimator.this);
-                    }
-                }
-
+    public void setIntValues(int... values) {
+        if (!isUiThread()) {
+            final int[] copy = values.clone();
+            runOnUiThread(new Runnable() {
                 @Override
-                public void onResume(Animator animator) {
-                    for (AnimatorListener listener : listeners) {
-                        listener.onAnimationResume(ValueAnimator.this);
-                    }
+                public void run() {
+                    setIntValues(copy);
                 }
             });
+            return;
         }
-        listeners.add(listener);
+        trajectory = null;
+        keyframes.setIntValues(values);
+        valuesHolders = null;
+        motionPath = null;
+        valueType = TYPE_INT;
     }
 
     /**
-     * Removes a listener from the set listening to this animation.
+     * Set the float values for valueAnimator, the values are spread evenly over the animation.
      *
-     * @param listener the listener to be removed from the current set of listeners for this animation.
+     * @param values The values, usually the start and end value.
      */
-    public void removeListener(AnimatorListener listener) {
-        if (listeners == null) {
+    public void setFloatValues(float... values) {
+        if (!isUiThread()) {
+            final float[] copy = values.clone();
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    setFloatValues(copy);
+                }
+            });
             return;
         }
-        listeners.remove(listener);
-        if (listeners.size() == 0) {
-            listeners = null;
-        }
+        trajectory = null;
+        keyframes.setFloatValues(values);
+        valuesHolders = null;
+        motionPath = null;
+        valueType = TYPE_FLOAT;
     }
 
     /**
-     * Adds a listener to the set of listeners that are sent update events through the life of
-     * an animation. This method is called on all listeners for every frame of the animation,
-     * after the values for the animation have been calculated.
+     * Set the values of any type for valueAnimator, the values are spread evenly over the animation.
      *
-     * @param listener the listener to be added to the current set of listeners for this animation.
+     * @param evaluator The evaluator computes the value between two values {@link TypeEvaluator}.
+     * @param values    The values, usually the start and end value.
+     * @param <T>       The type of values.
      */
-    public void addUpdateListener(AnimatorUpdateListener listener) {
-        if (updateListeners == null) {
-            updateListeners = new ArrayList<>();
+    @SafeVarargs
+    public final <T> void setObjectValues(TypeEvaluator<T> evaluator, T... values) {
+        // copied by elements, the varargs array never leaves the method
+        Object[] copy = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            copy[i] = values[i];
         }
-        updateListeners.add(listener);
+        setObjectValueArray(evaluator, copy);
+    }
+
+    private void setObjectValueArray(final TypeEvaluator<?> evaluator, final Object[] values) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("At least one value is required!");
+        }
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    setObjectValueArray(evaluator, values);
+                }
+            });
+            return;
+        }
+        objectValues = values;
+        valuesHolders = null;
+        motionPath = null;
+        valueType = TYPE_OBJECT;
+        setEvaluator(evaluator);
     }
 
     /**
-     * Removes a listener from the set listening to frame updates for this animation.
+     * Set the evaluator computes the value between two values. It is required by the values of
+     * {@link #setObjectValues(TypeEvaluator, Object[])}, and an {@link ArgbEvaluator} turns the int values
+     * into colors.
      *
-     * @param listener the listener to be removed from the current set of update listeners
-     *                 for this animation.
+     * @param evaluator The evaluator {@link TypeEvaluator}.
      */
-    public void removeUpdateListener(AnimatorUpdateListener listener) {
-        if (updateListeners == null) {
+    @SuppressWarnings("unchecked")
+    public void setEvaluator(final TypeEvaluator<?> evaluator) {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    setEvaluator(evaluator);
+                }
+            });
             return;
         }
-        updateListeners.remove(listener);
-        if (updateListeners.size() == 0) {
-            updateListeners = null;
-        }
+        this.evaluator = (TypeEvaluator<Object>) evaluator;
+        argbEvaluator = evaluator instanceof ArgbEvaluator ? (ArgbEvaluator) evaluator : null;
     }
 
     /**
-     * Removes all listeners from the set listening to frame updates for this animation.
+     * Set the keyframes for valueAnimator, each keyframe can take its own interpolator for the segment before it.
+     *
+     * @param keyframes The keyframes {@link Keyframe}, the first one at fraction 0 and the last one at fraction 1.
      */
-    public void removeAllUpdateListeners() {
-        if (updateListeners == null) {
+    public void setKeyframes(Keyframe... keyframes) {
+        KeyframeSet.checkKeyframes(keyframes);
+        if (!isUiThread()) {
+            final Keyframe[] copy = keyframes.clone();
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    setKeyframes(copy);
+                }
+            });
             return;
         }
-        updateListeners.clear();
-        updateListeners = null;
+        trajectory = null;
+        this.keyframes.setKeyframes(keyframes);
+        valuesHolders = null;
+        motionPath = null;
+        valueType = this.keyframes.isIntValues() ? TYPE_INT : TYPE_FLOAT;
     }
 
     /**
-     * Start the animation playing.
+     * Set the keyframes and target compiled by {@link AnimatorSpec}, the keyframes are copied without validation.
+     * The compiled spec is never changed, so the call is handed to the UI thread without copying it.
+     *
+     * @param target     The target component to be animated, maybe null if only read the values.
+     * @param properties The properties of component, empty if only read the values.
+     * @param keyframes  The validated keyframes.
      */
-    public void start() {
-        if (innerAnimator.getLoopedCount() == AnimatorValue.INFINITE) {
-            // looper mode
-            if (repeatMode == RepeatMode.REVERSE) {
-                // if reverse mode, take custom logic: reverse animation value when update
-                takeReverseLogic = true;
-            }
+    void setCompiledValues(final Component target, final Property[] properties, final KeyframeSet keyframes) {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    setCompiledValues(target, properties, keyframes);
+                }
+            });
+            return;
+        }
+        trajectory = null;
+        this.keyframes.copyFrom(keyframes);
+        valuesHolders = null;
+        motionPath = null;
+        valueType = this.keyframes.isIntValues() ? TYPE_INT : TYPE_FLOAT;
+        targetGroup = null;
+        if (target != null && properties.length > 0) {
+            targetHolder = new WeakReference<>(target);
+            setTargetProperties(properties);
+        } else {
+            targetHolder = null;
+            targetProperties = null;
+            unpublishValues();
         }
-        innerAnimator.start();
     }
 
     /**
-     * Plays the ValueAnimator in reverse.
+     * Read the current animated value, maybe null.
+     * The value is boxed on every call, prefer {@link #getAnimatedFloat()} or {@link #getAnimatedInt()}
+     * when reading it frequently. An object value is the instance the evaluator writes on each frame, such as
+     * the Point of {@link PointEvaluator}, so read it on the UI thread only.
+     *
+     * @return The current animated value.
      */
-    public void reverse() {
-        takeReverseLogic = !takeReverseLogic;
-        isReversing = !isReversing;
-        if (innerAnimator.isRunning()) {
-            innerAnimator.end();
-        }
-        innerAnimator.start();
+    public Object getAnimatedValue() {
+        acquireValues();
+        return boxAnimatedValue();
     }
 
     /**
-     * Stop the animation.
+     * Read the current animated value as float without boxing.
+     *
+     * @return The current animated value, 0 if the animation has not produced any value yet.
      */
-    public void stop() {
-        innerAnimator.stop();
+    public float getAnimatedFloat() {
+        acquireValues();
+        return valueType == TYPE_INT ? currentInt : currentFloat;
     }
 
     /**
-     * Cancel the animation.Unlike {@link #end()}, this causes the animation to stop in its tracks.
+     * Read the current animated value as int without boxing.
+     *
+     * @return The current animated value, 0 if the animation has not produced any value yet.
      */
-    public void cancel() {
-        innerAnimator.cancel();
+    public int getAnimatedInt() {
+        acquireValues();
+        return valueType == TYPE_INT ? currentInt : (int) currentFloat;
     }
 
     /**
-     * End the animation.
+     * Read the frame published last, the values of that frame are visible to the caller thread after it.
+     *
+     * @return The count of published frames.
+     */
+    private int acquireValues() {
+        return publishedFrame;
+    }
+
+    private Object boxAnimatedValue() {
+        if (!hasAnimatedValue) {
+            return null;
+        }
+        if (valueType == TYPE_OBJECT) {
+            return currentObject;
+        }
+        if (valueType == TYPE_INT) {
+            return currentInt;
+        }
+        return currentFloat;
+    }
+
+    /**
+     * Get the real animator.
+     *
+     * @return The shared platform animator which drives all the ValueAnimators, do not control it directly.
+     * @deprecated ValueAnimator is driven by {@link AnimationHandler} and no longer owns a platform animator.
+     */
+    @Deprecated
+    public AnimatorValue getInnerAnimator() {
+        return AnimationHandler.getInstance().getDriver();
+    }
+
+    private final AnimationHandler.FrameCallback frameCallback = new AnimationHandler.FrameCallback() {
+        @Override
+        public void doAnimationFrame(long frameTime) {
+            if ((targetHolder != null || targetGroup != null) && !checkTarget(frameTime)) {
+                return;
+            }
+            if (!isFrameDue(frameTime)) {
+                return;
+            }
+            long playTime = timing.getPlayTime(frameTime);
+            if (playTime >= 0) {
+                animateBasedOnPlayTime(playTime);
+            }
+        }
+    };
+
+    /**
+     * Check the target before playing a frame: cancel the animation if the target has been collected, suspend it
+     * while the target is detached or not visible and continue from where it was when the target returns.
+     *
+     * @param frameTime The time of current frame.
+     * @return True if the frame should be played.
+     */
+    private boolean checkTarget(long frameTime) {
+        boolean hidden = isTargetHidden();
+        if (!isStarted) {
+            return false;
+        }
+        if (hidden != isSuspended) {
+            isSuspended = hidden;
+            if (hidden) {
+                timing.pause(frameTime);
+            } else {
+                timing.resume(frameTime);
+                if (metrics != null) {
+                    metrics.markDiscontinuity();
+                }
+            }
+        }
+        return !hidden;
+    }
+
+    /**
+     * Check the target of a child before its set plays the frame, the same as {@link #checkTarget(long)}, the
+     * time of a child is driven by the set, so the set holds its time while the child is suspended.
+     *
+     * @return True if the child is suspended as the target is hidden.
+     */
+    boolean checkTargetByParent() {
+        if (targetHolder == null && targetGroup == null) {
+            return false;
+        }
+        boolean hidden = isTargetHidden();
+        if (hidden != isSuspended) {
+            isSuspended = hidden;
+            if (!hidden && metrics != null) {
+                metrics.markDiscontinuity();
+            }
+        }
+        return hidden;
+    }
+
+    /**
+     * Find whether the target is hidden, the animation is canceled if the target has been collected.
+     *
+     * @return True if suspended when hidden and all the targets are hidden, false if collected.
+     */
+    private boolean isTargetHidden() {
+        if (targetGroup != null) {
+            boolean hidden = checkTargetGroup(targetGroup);
+            if (targetGroup.size() == 0) {
+                if (cancelWhenTargetCollected) {
+                    cancel();
+                }
+                return false;
+            }
+            return hidden;
+        }
+        Component component = targetHolder.get();
+        if (component == null) {
+            if (cancelWhenTargetCollected) {
+                cancel();
+            }
+            return false;
+        }
+        return suspendWhenTargetHidden && isHidden(component);
+    }
+
+    /**
+     * Prune the collected targets of the group, in the same pass to find a target shown.
+     *
+     * @param group The targets.
+     * @return True if suspended when hidden and all the targets are hidden.
+     */
+    private boolean checkTargetGroup(TargetGroup group) {
+        boolean hidden = suspendWhenTargetHidden;
+        for (int i = group.size() - 1; i >= 0; i--) {
+            Component component = group.get(i);
+            if (component == null) {
+                group.removeAt(i);
+            } else if (hidden && !isHidden(component)) {
+                hidden = false;
+            }
+        }
+        return hidden;
+    }
+
+    private static boolean isHidden(Component component) {
+        return !component.isBoundToWindow() || component.getVisibility() != Component.VISIBLE;
+    }
+
+    /**
+     * Skip the frames beyond the frame rate, the throttled animators are capped to {@link #THROTTLED_FRAME_RATE}.
+     * The set checks the frames of its children here too.
+     *
+     * @param frameTime The time of current frame.
+     * @return True if the frame should be played.
+     */
+    boolean isFrameDue(long frameTime) {
+        AnimationHandler handler = AnimationHandler.getInstance();
+        int rate = getFrameRateCap(handler);
+        if (rate != FRAME_RATE_UNLIMITED && lastUpdateTime >= 0) {
+            // half a device frame of tolerance, so the update lands on the nearest frame
+            long elapsed = frameTime - lastUpdateTime + handler.getFrameIntervalMillis() / 2;
+            if (elapsed * rate < 1000L) {
+                return false;
+            }
+        }
+        lastUpdateTime = frameTime;
+        return true;
+    }
+
+    private int getFrameRateCap(AnimationHandler handler) {
+        int rate = frameRate;
+        if (handler.isThrottled(priority)) {
+            rate = rate == FRAME_RATE_UNLIMITED ? THROTTLED_FRAME_RATE : Math.min(rate, THROTTLED_FRAME_RATE);
+        }
+        return rate;
+    }
+
+    /**
+     * Get the expected interval between two updates, the frame interval of the device, or the count of frames
+     * {@link #isFrameDue(long)} waits for under the frame rate cap.
+     *
+     * @return The interval, in milliseconds.
+     */
+    private long getUpdateIntervalMillis() {
+        AnimationHandler handler = AnimationHandler.getInstance();
+        long frameInterval = handler.getFrameIntervalMillis();
+        int rate = getFrameRateCap(handler);
+        if (rate == FRAME_RATE_UNLIMITED || frameInterval <= 0) {
+            return frameInterval;
+        }
+        long frames = 1;
+        while ((frames * frameInterval + frameInterval / 2) * rate < 1000L) {
+            frames++;
+        }
+        return frames * frameInterval;
+    }
+
+    /**
+     * Compute and apply the value of the play time, the animation is ended when the play time reach the end.
+     *
+     * @param playTime The time played after the start delay, in milliseconds.
+     * @return True if the animation reach the end.
+     */
+    boolean animateBasedOnPlayTime(long playTime) {
+        if (isDrivenByParent && cancelWhenTargetCollected && (targetHolder != null && targetHolder.get() == null
+                || targetGroup != null && targetGroup.prune() == 0)) {
+            cancel();
+            return true;
+        }
+        if (!hasClaimedProperties) {
+            claimProperties();
+        }
+        if (!isRunning) {
+            isRunning = true;
+        }
+        previousValueTime = valueTime;
+        valueTime = playTime;
+        int repeats = timing.setPlayTime(playTime);
+        for (int i = 0; i < repeats; i++) {
+            notifyRepeat();
+        }
+        animateValue(getCurvedTime(timing.getFraction()));
+        boolean finished = timing.isFinished();
+        if (finished) {
+            endAnimation();
+        }
+        return finished;
+    }
+
+    private float getCurvedTime(float fraction) {
+        Trajectory replay = trajectory;
+        if (replay != null && replay.isReady()) {
+            return replay.getCurvedFraction(fraction);
+        }
+        if (curve != null) {
+            return curve.getCurvedTime(fraction);
+        }
+        return Curves.getCurvedTime(curveType, fraction);
+    }
+
+    private void animateValue(float fraction) {
+        if (metrics != null) {
+            long start = System.nanoTime();
+            applyAnimatedValue(fraction);
+            long updateNanos = System.nanoTime() - start;
+            metrics.recordUpdate(AnimationHandler.currentTimeMillis(), getUpdateIntervalMillis(), updateNanos);
+            return;
+        }
+        applyAnimatedValue(fraction);
+    }
+
+    private void applyAnimatedValue(float fraction) {
+        boolean reversed = timing.isReversing();
+        boolean writesProperties = (targetHolder != null || targetGroup != null) && valueType == TYPE_FLOAT;
+        if (writesProperties) {
+            System.arraycopy(propertyValues, 0, previousValues, 0, propertyValues.length);
+        }
+        if (valuesHolders != null) {
+            float[] values = propertyValues;
+            PropertyValuesHolder[] holders = valuesHolders;
+            for (int i = 0; i < holders.length; i++) {
+                values[i] = holders[i].getValue(fraction, reversed);
+            }
+            currentFloat = values[0];
+        } else if (motionPath != null) {
+            // x, y and the tangent angle in one lookup
+            motionPath.getPosTan(reversed ? 1f - fraction : fraction, propertyValues);
+            currentFloat = propertyValues[0];
+        } else if (valueType == TYPE_INT) {
+            if (argbEvaluator != null) {
+                currentInt = keyframes.getArgbValue(fraction, reversed, argbEvaluator);
+            } else {
+                currentInt = keyframes.getIntValue(fraction, reversed);
+            }
+        } else if (valueType == TYPE_FLOAT) {
+            Trajectory replay = trajectory;
+            if (replay != null && replay.isReady()) {
+                currentFloat = replay.getValue(timing.getFraction(), reversed);
+            } else {
+                currentFloat = keyframes.getFloatValue(fraction, reversed);
+            }
+        } else if (valueType == TYPE_OBJECT) {
+            currentObject = evaluateObject(fraction, reversed);
+        }
+        if (writesProperties) {
+            if (valuesHolders == null && motionPath == null) {
+                Arrays.fill(propertyValues, currentFloat);
+            }
+            if (handoffOffsets != null) {
+                applyHandoff(propertyValues);
+            }
+        }
+        if (valueType != TYPE_NONE) {
+            hasAnimatedValue = true;
+            if (valuesHolders != null || motionPath != null || handoffOffsets != null) {
+                publishValues();
+            } else {
+                unpublishValues();
+            }
+            // publish the values of this frame to the other threads without a full fence on the UI thread
+            PUBLISHED_FRAME.lazySet(this, publishedFrame + 1);
+        }
+        if (!floatUpdateListeners.isEmpty() || !intUpdateListeners.isEmpty()) {
+            notifyPrimitiveListener(this, fraction);
+        }
+        if (!updateListeners.isEmpty()) {
+            notifyOuterListener(this, fraction, boxAnimatedValue());
+        }
+        if (writesProperties) {
+            if (targetGroup != null) {
+                updateGroupProperty(targetGroup, targetProperties, propertyValues);
+            } else {
+                Component component = targetHolder.get();
+                if (component != null) {
+                    updateComponentProperty(component, targetProperties, propertyValues);
+                }
+            }
+        }
+    }
+
+    /**
+     * Evaluate the values of the properties at the fraction without side effects on the listeners and target.
+     *
+     * @param fraction The curved fraction.
+     * @param reversed True to play from the end to the start.
+     * @param out      The values of each property.
+     */
+    private void evaluateProperties(float fraction, boolean reversed, float[] out) {
+        if (valuesHolders != null) {
+            for (int i = 0; i < valuesHolders.length; i++) {
+                out[i] = valuesHolders[i].getValue(fraction, reversed);
+            }
+        } else if (motionPath != null) {
+            motionPath.getPosTan(reversed ? 1f - fraction : fraction, out);
+        } else {
+            Arrays.fill(out, keyframes.getFloatValue(fraction, reversed));
+        }
+    }
+
+    /**
+     * Claim the properties of the target, take over the value and velocity of the animations writing them.
+     */
+    private void claimProperties() {
+        hasClaimedProperties = true;
+        releasedProperties = null;
+        handoffOffsets = null;
+        handoffVelocities = null;
+        if (targetGroup != null) {
+            // the targets share one value, they start from the values of this animation without a handoff
+            targetGroup.clearReleased();
+            if (valueType == TYPE_FLOAT) {
+                for (int i = 0; i < targetGroup.size(); i++) {
+                    Component component = targetGroup.get(i);
+                    if (component != null) {
+                        claimTarget(component);
+                    }
+                }
+            }
+            return;
+        }
+        Component component = targetHolder == null ? null : targetHolder.get();
+        if (component == null || valueType != TYPE_FLOAT) {
+            return;
+        }
+        Property[] properties = targetProperties;
+        long duration = timing.getDuration();
+        float[] startValues = null;
+        float[] startVelocities = null;
+        for (int i = 0; i < properties.length; i++) {
+            PropertyRegistry.Owner previous = PropertyRegistry.claim(component, properties[i], propertyOwner);
+            if (previous == null) {
+                continue;
+            }
+            if (duration > 0) {
+                if (startValues == null) {
+                    // the start value and velocity of this animation, measured over one frame
+                    boolean reversed = timing.isReversing();
+                    float step = Math.min(1f, HANDOFF_STEP_MILLIS / (float) duration);
+                    startValues = new float[properties.length];
+                    startVelocities = new float[properties.length];
+                    evaluateProperties(getCurvedTime(0f), reversed, startValues);
+                    evaluateProperties(getCurvedTime(step), reversed, startVelocities);
+                    float seconds = step * duration / 1000f;
+                    for (int j = 0; j < properties.length; j++) {
+                        startVelocities[j] = (startVelocities[j] - startValues[j]) / seconds;
+                    }
+                    handoffOffsets = new float[properties.length];
+                    handoffVelocities = new float[properties.length];
+                }
+                handoffOffsets[i] = previous.getValue(component, properties[i]) - startValues[i];
+                handoffVelocities[i] = previous.getVelocity(component, properties[i]) - startVelocities[i];
+            }
+            previous.release(component, properties[i]);
+        }
+    }
+
+    private void claimTarget(Component component) {
+        Property[] properties = targetProperties;
+        for (int i = 0; i < properties.length; i++) {
+            PropertyRegistry.Owner previous = PropertyRegistry.claim(component, properties[i], propertyOwner);
+            if (previous != null) {
+                previous.release(component, properties[i]);
+            }
+        }
+    }
+
+    /**
+     * Add the gap to the previous owner, it fades out by the end of the first iteration with a continuous value
+     * and velocity.
+     *
+     * @param values The values of each property.
+     */
+    private void applyHandoff(float[] values) {
+        if (timing.getCurrentIteration() > 0 || timing.isFinished()) {
+            handoffOffsets = null;
+            handoffVelocities = null;
+            return;
+        }
+        float t = timing.getFraction();
+        float u = 1f - t;
+        // hermite basis: the offset weight goes 1 to 0 and the velocity weight starts with slope 1
+        float offsetWeight = u * u * (1f + 2f * t);
+        float velocityWeight = t * u * u * timing.getDuration() / 1000f;
+        for (int i = 0; i < values.length; i++) {
+            values[i] += handoffOffsets[i] * offsetWeight + handoffVelocities[i] * velocityWeight;
+        }
+    }
+
+    private void releaseProperties() {
+        if (!hasClaimedProperties) {
+            return;
+        }
+        hasClaimedProperties = false;
+        if (targetGroup != null) {
+            for (int i = 0; i < targetGroup.size(); i++) {
+                releaseTarget(targetGroup.get(i));
+            }
+            return;
+        }
+        releaseTarget(targetHolder == null ? null : targetHolder.get());
+    }
+
+    private void releaseTarget(Component component) {
+        if (component == null || targetProperties == null) {
+            return;
+        }
+        for (int i = 0; i < targetProperties.length; i++) {
+            PropertyRegistry.release(component, targetProperties[i], propertyOwner);
+        }
+    }
+
+    private int indexOfProperty(Property property) {
+        Property[] properties = targetProperties;
+        if (properties != null) {
+            for (int i = 0; i < properties.length; i++) {
+                if (properties[i] == property) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private final PropertyRegistry.Owner propertyOwner = new PropertyRegistry.Owner() {
+        @Override
+        public float getValue(Component component, Property property) {
+            int index = indexOfProperty(property);
+            if (index < 0 || Float.isNaN(writtenValues[index])) {
+                // nothing written yet, the property still shows its own value
+                return readProperty(component, property);
+            }
+            return propertyValues[index];
+        }
+
+        @Override
+        public float getVelocity(Component component, Property property) {
+            int index = indexOfProperty(property);
+            if (index < 0 || previousValueTime < 0 || valueTime <= previousValueTime) {
+                return 0;
+            }
+            return (propertyValues[index] - previousValues[index]) * 1000f / (valueTime - previousValueTime);
+        }
+
+        @Override
+        public void release(Component component, Property property) {
+            int index = indexOfProperty(property);
+            if (index < 0) {
+                return;
+            }
+            if (targetGroup != null) {
+                releaseGroupTarget(component, index);
+                return;
+            }
+            if (releasedProperties == null) {
+                releasedProperties = new boolean[targetProperties.length];
+            }
+            releasedProperties[index] = true;
+            for (int i = 0; i < releasedProperties.length; i++) {
+                if (!releasedProperties[i]) {
+                    return;
+                }
+            }
+            // all the properties are taken over, nothing left to animate
+            cancel();
+        }
+    };
+
+    /**
+     * Stop writing the property of one target, the target leaves the group when all its properties are taken over,
+     * and the animation is canceled when no target is left.
+     *
+     * @param component     The target component.
+     * @param propertyIndex The index of property taken over.
+     */
+    private void releaseGroupTarget(Component component, int propertyIndex) {
+        TargetGroup group = targetGroup;
+        int index = group.indexOf(component);
+        if (index < 0) {
+            return;
+        }
+        int allProperties = (1 << targetProperties.length) - 1;
+        if (group.release(index, propertyIndex) == allProperties) {
+            group.removeAt(index);
+            if (group.prune() == 0) {
+                cancel();
+            }
+        }
+    }
+
+    private Object evaluateObject(float fraction, boolean reversed) {
+        if (evaluator == null) {
+            throw new IllegalStateException("The evaluator of object values is not set!");
+        }
+        Object[] values = objectValues;
+        if (reversed) {
+            fraction = 1f - fraction;
+        }
+        int last = values.length - 1;
+        if (last == 0) {
+            return evaluator.evaluate(fraction, values[0], values[0]);
+        }
+        float position = fraction * last;
+        int segment = Math.max(0, Math.min((int) position, last - 1));
+        return evaluator.evaluate(position - segment, values[segment], values[segment + 1]);
+    }
+
+    private void notifyPrimitiveListener(ValueAnimator animator, float fraction) {
+        Object[] floatListeners = floatUpdateListeners.getListeners();
+        if (floatListeners.length > 0) {
+            float value = getAnimatedFloat();
+            for (int i = 0; i < floatListeners.length; i++) {
+                ((FloatUpdateListener) floatListeners[i]).onAnimationUpdate(animator, fraction, value);
+            }
+        }
+        Object[] intListeners = intUpdateListeners.getListeners();
+        if (intListeners.length > 0) {
+            int value = getAnimatedInt();
+            for (int i = 0; i < intListeners.length; i++) {
+                ((IntUpdateListener) intListeners[i]).onAnimationUpdate(animator, fraction, value);
+            }
+        }
+    }
+
+    private void notifyOuterListener(ValueAnimator animator, float fraction, Object currentValue) {
+        Object[] snapshot = updateListeners.getListeners();
+        for (int i = 0; i < snapshot.length; i++) {
+            ((AnimatorUpdateListener) snapshot[i]).onAnimationUpdate(animator, fraction, currentValue);
+        }
+    }
+
+    private void updateComponentProperty(Component component, Property[] properties, float[] values) {
+        boolean[] released = releasedProperties;
+        for (int i = 0; i < properties.length; i++) {
+            if (released != null && released[i]) {
+                continue;
+            }
+            if (recordWrite(properties[i], i, values[i], 1)) {
+                writeProperty(component, properties[i], writtenValues[i]);
+            }
+        }
+    }
+
+    private void updateGroupProperty(TargetGroup group, Property[] properties, float[] values) {
+        // decide once for all the targets, they share the values
+        int changed = 0;
+        for (int i = 0; i < properties.length; i++) {
+            if (recordWrite(properties[i], i, values[i], group.size())) {
+                changed |= 1 << i;
+            }
+        }
+        if (changed == 0) {
+            return;
+        }
+        float[] written = writtenValues;
+        for (int target = 0; target < group.size(); target++) {
+            Component component = group.get(target);
+            if (component == null) {
+                continue;
+            }
+            int mask = changed & ~group.getReleasedMask(target);
+            for (int i = 0; i < properties.length; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    writeProperty(component, properties[i], written[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Record the value to write, it is skipped if it differs from the value written last frame within the tolerance.
+     *
+     * @param property     The property to write.
+     * @param index        The index of property.
+     * @param value        The new value of the property.
+     * @param skippedCount The count of writes skipped if unchanged.
+     * @return True if the value should be written.
+     */
+    private boolean recordWrite(Property property, int index, float value, int skippedCount) {
+        float last = writtenValues[index];
+        boolean unchanged;
+        if (property == Property.WIDTH || property == Property.HEIGHT) {
+            // compare the truncated size, the component only takes int values
+            value = (int) value;
+            unchanged = value == last;
+        } else if (timing.isFinished()) {
+            // the end value is written even within the tolerance, or the target stays off by the skipped changes
+            unchanged = value == last;
+        } else {
+            unchanged = value == last || Math.abs(value - last) <= writeEpsilon;
+        }
+        if (unchanged) {
+            skippedWriteCount += skippedCount;
+            totalSkippedWriteCount += skippedCount;
+            return false;
+        }
+        writtenValues[index] = value;
+        return true;
+    }
+
+    /**
+     * Write the value to the property of component, the size changes are buffered until the end of frame.
+     *
+     * @param component The target component.
+     * @param property  The property to write.
+     * @param value     The new value of the property.
+     */
+    static void writeProperty(Component component, Property property, float value) {
+        switch (property) {
+            case SCALE_X:
+                component.setScaleX(value);
+                break;
+            case SCALE_Y:
+                component.setScaleY(value);
+                break;
+            case TRANSLATION_X:
+                component.setTranslationX(value);
+                break;
+            case TRANSLATION_Y:
+                component.setTranslationY(value);
+                break;
+            case ALPHA:
+                component.setAlpha(value);
+                break;
+            case ROTATION:
+                component.setRotation(value);
+                break;
+            case WIDTH:
+                AnimationHandler.getInstance().getLayoutWriteBuffer().setWidth(component, (int) value);
+                break;
+            case HEIGHT:
+                AnimationHandler.getInstance().getLayoutWriteBuffer().setHeight(component, (int) value);
+                break;
+        }
+    }
+
+    /**
+     * Read the current value of the property of component.
+     *
+     * @param component The target component.
+     * @param property  The property to read.
+     * @return The current value of the property.
+     */
+    static float readProperty(Component component, Property property) {
+        switch (property) {
+            case SCALE_X:
+                return component.getScaleX();
+            case SCALE_Y:
+                return component.getScaleY();
+            case TRANSLATION_X:
+                return component.getTranslationX();
+            case TRANSLATION_Y:
+                return component.getTranslationY();
+            case ALPHA:
+                return component.getAlpha();
+            case ROTATION:
+                return component.getRotation();
+            case WIDTH:
+                return component.getWidth();
+            case HEIGHT:
+                return component.getHeight();
+            default:
+                return 0;
+        }
+    }
+
+    private void notifyRepeat() {
+        Object[] snapshot = listeners.getListeners();
+        for (int i = 0; i < snapshot.length; i++) {
+            ((AnimatorListener) snapshot[i]).onAnimationRepeat(this);
+        }
+    }
+
+    /**
+     * The priority of animator under the frame budget, LOW is throttled first, HIGH is never throttled and
+     * should be used by the animations follow the touch such as scroll and gesture.
+     */
+    public enum Priority {
+        LOW, NORMAL, HIGH
+    }
+
+    /**
+     * Mode for repeat play.
+     */
+    public enum RepeatMode {
+        RESTART, REVERSE
+    }
+
+    /**
+     * Set the repeat mode when the repeat count is INFINITE. It can not be set on the UI thread while the
+     * animation is running, a call from another thread is taken by the next start if the animation is running
+     * when the call reaches the UI thread.
+     *
+     * @param repeatMode The mode for repeat play.{@link RepeatMode}
+     */
+    public void setRepeatMode(final RepeatMode repeatMode) {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    // the running animation has prepared its repeat mode, the mode is read again on start
+                    ValueAnimator.this.repeatMode = repeatMode;
+                }
+            });
+            return;
+        }
+        if (isRunning) {
+            throw new RuntimeException("You can not set repeat mode when the animation is running!");
+        }
+        this.repeatMode = repeatMode;
+    }
+
+    /**
+     * Sets the duration of the animation.
+     *
+     * @param duration The length of the animation, in milliseconds.
+     */
+    public void setDuration(final long duration) {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    setDuration(duration);
+                }
+            });
+            return;
+        }
+        trajectory = null;
+        timing.setDuration(duration);
+    }
+
+    /**
+     * Sets how many times the animation should be repeated. If the repeat
+     * count is 0, the animation is never repeated. If the repeat count is
+     * greater than 0 or {@link Animator#INFINITE}, the repeat mode will be taken
+     * into account. The repeat count is 0 by default.
+     *
+     * @param value the number of times the animation should be repeated
+     */
+    public void setRepeatCount(final int value) {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    setRepeatCount(value);
+                }
+            });
+            return;
+        }
+        timing.setRepeatCount(value);
+    }
+
+    /**
+     * The amount of time, in milliseconds, to delay starting the animation after
+     * {@link #start()} is called. Note that the start delay should always be non-negative. Any
+     * negative start delay will be clamped to 0.
+     *
+     * @param startDelay The amount of the delay, in milliseconds
+     */
+    public void setStartDelay(final long startDelay) {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    setStartDelay(startDelay);
+                }
+            });
+            return;
+        }
+        timing.setStartDelay(startDelay);
+    }
+
+
+    /**
+     * The time interpolator used in calculating the elapsed fraction of this animation. The
+     * interpolator determines whether the animation runs with linear or non-linear motion,
+     * such as acceleration and deceleration. The default value is
+     *
+     * @param value the interpolator to be used by this animation. {@link Animator.CurveType}
+     * @throws IllegalArgumentException If the curve type is not supported, such as SPRING.
+     */
+    public void setInterpolatorType(final int value) {
+        Curves.checkCurveType(value);
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    setInterpolatorType(value);
+                }
+            });
+            return;
+        }
+        trajectory = null;
+        curveType = value;
+        curve = null;
+    }
+
+
+    /**
+     * The time interpolator used in calculating the elapsed fraction of this animation. The
+     * interpolator determines whether the animation runs with linear or non-linear motion,
+     * such as acceleration and deceleration. The default value is
+     *
+     * @param value the interpolator to be used by this animation.
+     */
+    public void setInterpolator(final Animator.TimelineCurve value) {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    setInterpolator(value);
+                }
+            });
+            return;
+        }
+        trajectory = null;
+        curve = value;
+    }
+
+    /**
+     * Adds a listener to the set of listeners that are sent events through the life of an animation,
+     * such as start, repeat, and end.
+     *
+     * @param listener the listener to be added to the current set of listeners for this animation.
+     */
+    public void addListener(final AnimatorListener listener) {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    addListener(listener);
+                }
+            });
+            return;
+        }
+        listeners.add(listener);
+    }
+
+    private void notifyStart() {
+        Object[] snapshot = listeners.getListeners();
+        for (int i = 0; i < snapshot.length; i++) {
+            ((AnimatorListener) snapshot[i]).onAnimationStart(this);
+        }
+    }
+
+    private void notifyStop() {
+        Object[] snapshot = listeners.getListeners();
+        for (int i = 0; i < snapshot.length; i++) {
+            ((AnimatorListener) snapshot[i]).onAnimationStop(this);
+        }
+    }
+
+    private void notifyCancel() {
+        Object[] snapshot = listeners.getListeners();
+        for (int i = 0; i < snapshot.length; i++) {
+            ((AnimatorListener) snapshot[i]).onAnimationCancel(this);
+        }
+    }
+
+    private void notifyEnd() {
+        Object[] snapshot = listeners.getListeners();
+        for (int i = 0; i < snapshot.length; i++) {
+            ((AnimatorListener) snapshot[i]).onAnimationEnd(this);
+        }
+    }
+
+    private void notifyPause() {
+        Object[] snapshot = listeners.getListeners();
+        for (int i = 0; i < snapshot.length; i++) {
+            ((AnimatorListener) snapshot[i]).onAnimationPause(this);
+        }
+    }
+
+    private void notifyResume() {
+        Object[] snapshot = listeners.getListeners();
+        for (int i = 0; i < snapshot.length; i++) {
+            ((AnimatorListener) snapshot[i]).onAnimationResume(this);
+        }
+    }
+
+    /**
+     * Removes a listener from the set listening to this animation.
+     *
+     * @param listener the listener to be removed from the current set of listeners for this animation.
+     */
+    public void removeListener(final AnimatorListener listener) {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    removeListener(listener);
+                }
+            });
+            return;
+        }
+        listeners.remove(listener);
+    }
+
+    /**
+     * Adds a listener to the set of listeners that are sent update events through the life of
+     * an animation. This method is called on all listeners for every frame of the animation,
+     * after the values for the animation have been calculated.
+     *
+     * @param listener the listener to be added to the current set of listeners for this animation.
+     */
+    public void addUpdateListener(final AnimatorUpdateListener listener) {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    addUpdateListener(listener);
+                }
+            });
+            return;
+        }
+        updateListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener from the set listening to frame updates for this animation.
+     *
+     * @param listener the listener to be removed from the current set of update listeners
+     *                 for this animation.
+     */
+    public void removeUpdateListener(final AnimatorUpdateListener listener) {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    removeUpdateListener(listener);
+                }
+            });
+            return;
+        }
+        updateListeners.remove(listener);
+    }
+
+    /**
+     * Adds a listener which receives the animated value as primitive float on every frame,
+     * no boxing happens when dispatching to it.
+     *
+     * @param listener the listener to be added to the current set of listeners for this animation.
+     */
+    public void addFloatUpdateListener(final FloatUpdateListener listener) {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    addFloatUpdateListener(listener);
+                }
+            });
+            return;
+        }
+        floatUpdateListeners.add(listener);
+    }
+
+    /**
+     * Removes a float listener from the set listening to frame updates for this animation.
+     *
+     * @param listener the listener to be removed from the current set of float update listeners
+     *                 for this animation.
+     */
+    public void removeFloatUpdateListener(final FloatUpdateListener listener) {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    removeFloatUpdateListener(listener);
+                }
+            });
+            return;
+        }
+        floatUpdateListeners.remove(listener);
+    }
+
+    /**
+     * Adds a listener which receives the animated value as primitive int on every frame,
+     * no boxing happens when dispatching to it.
+     *
+     * @param listener the listener to be added to the current set of listeners for this animation.
+     */
+    public void addIntUpdateListener(final IntUpdateListener listener) {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    addIntUpdateListener(listener);
+                }
+            });
+            return;
+        }
+        intUpdateListeners.add(listener);
+    }
+
+    /**
+     * Removes an int listener from the set listening to frame updates for this animation.
+     *
+     * @param listener the listener to be removed from the current set of int update listeners
+     *                 for this animation.
+     */
+    public void removeIntUpdateListener(final IntUpdateListener listener) {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    removeIntUpdateListener(listener);
+                }
+            });
+            return;
+        }
+        intUpdateListeners.remove(listener);
+    }
+
+    /**
+     * Removes all listeners from the set listening to frame updates for this animation.
+     */
+    public void removeAllUpdateListeners() {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    removeAllUpdateListeners();
+                }
+            });
+            return;
+        }
+        updateListeners.clear();
+        floatUpdateListeners.clear();
+        intUpdateListeners.clear();
+    }
+
+    /**
+     * Start the animation playing.
+     */
+    public void start() {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    start();
+                }
+            });
+            return;
+        }
+        prepareRepeatMode();
+        startAnimation();
+    }
+
+    /**
+     * Start the animation without joining the {@link AnimationHandler}, the parent will drive it
+     * by {@link #animateBasedOnPlayTime(long)}.
+     */
+    void startByParent() {
+        prepareRepeatMode();
+        resetWrittenValues();
+        if (metrics != null) {
+            metrics.markDiscontinuity();
+        }
+        isDrivenByParent = true;
+        isStarted = true;
+        isRunning = false;
+        isPaused = false;
+        isSuspended = false;
+        lastUpdateTime = -1;
+        timing.start();
+        // the set drives the play time of its children
+        pendingPlayTime = NO_PENDING_SEEK;
+        prepareTrajectory();
+        // the children of a set take over their properties on the first frame, not all at the start of the set
+        releaseProperties();
+        valueTime = -1;
+        notifyStart();
+    }
+
+    /**
+     * Whether the animation is driven by its set now, it leaves the set when started by itself.
+     *
+     * @return True if started by the set and not started by itself after.
+     */
+    boolean isDrivenByParent() {
+        return isDrivenByParent;
+    }
+
+    private static boolean isUiThread() {
+        return AnimationHandler.getInstance().isUiThread();
+    }
+
+    private static void runOnUiThread(Runnable command) {
+        AnimationHandler.getInstance().runOnUiThread(command);
+    }
+
+    private void prepareRepeatMode() {
+        if (timing.isInfinite()) {
+            // looper mode
+            if (repeatMode == RepeatMode.REVERSE) {
+                // if reverse mode, take custom logic: reverse animation value when update
+                timing.setReverseOnRepeat(true);
+            }
+        }
+    }
+
+    /**
+     * Get the shared trajectory of an infinite animation if the replay is enabled, the samples are taken at
+     * the frame rate of this animator.
+     */
+    private void prepareTrajectory() {
+        trajectory = null;
+        long duration = timing.getDuration();
+        if (!replayTrajectory || !timing.isInfinite() || duration <= 0 || valueType != TYPE_FLOAT
+                || valuesHolders != null || motionPath != null) {
+            return;
+        }
+        float frameInterval = frameRate != FRAME_RATE_UNLIMITED
+                ? 1000f / frameRate : AnimationHandler.getInstance().getFrameIntervalMillis();
+        trajectory = Trajectory.obtain(keyframes, curveType, curve, duration, frameInterval);
+    }
+
+    private void startAnimation() {
+        resetWrittenValues();
+        if (metrics != null) {
+            metrics.markDiscontinuity();
+        }
+        isDrivenByParent = false;
+        isStarted = true;
+        isRunning = false;
+        isPaused = false;
+        isSuspended = false;
+        lastUpdateTime = -1;
+        timing.start();
+        if (pendingPlayTime != NO_PENDING_SEEK) {
+            // continue from the play time seeked before started, the start delay is skipped
+            timing.seek(pendingPlayTime, AnimationHandler.currentTimeMillis());
+            pendingPlayTime = NO_PENDING_SEEK;
+        }
+        prepareTrajectory();
+        valueTime = -1;
+        claimProperties();
+        AnimationHandler.getInstance().addFrameCallback(frameCallback);
+        notifyStart();
+    }
+
+    private void endAnimation() {
+        resetState();
+        notifyEnd();
+    }
+
+    private void resetState() {
+        if (!isDrivenByParent) {
+            AnimationHandler.getInstance().removeFrameCallback(frameCallback);
+        }
+        isDrivenByParent = false;
+        isStarted = false;
+        isRunning = false;
+        isPaused = false;
+        isSuspended = false;
+        releaseProperties();
+        handoffOffsets = null;
+        handoffVelocities = null;
+    }
+
+    /**
+     * Plays the ValueAnimator in reverse.
+     */
+    public void reverse() {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    reverse();
+                }
+            });
+            return;
+        }
+        timing.toggleReverse();
+        if (isRunning) {
+            end();
+        }
+        startAnimation();
+    }
+
+    /**
+     * Stop the animation.
+     */
+    public void stop() {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    stop();
+                }
+            });
+            return;
+        }
+        if (!isStarted) {
+            return;
+        }
+        resetState();
+        notifyStop();
+    }
+
+    /**
+     * Cancel the animation.Unlike {@link #end()}, this causes the animation to stop in its tracks.
+     */
+    public void cancel() {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    cancel();
+                }
+            });
+            return;
+        }
+        if (!isStarted) {
+            return;
+        }
+        resetState();
+        notifyCancel();
+    }
+
+    /**
+     * End the animation, the animated value will jump to the end value.
      */
     public void end() {
-        innerAnimator.end();
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    end();
+                }
+            });
+            return;
+        }
+        if (!isStarted) {
+            return;
+        }
+        int repeats = timing.finish();
+        for (int i = 0; i < repeats; i++) {
+            notifyRepeat();
+        }
+        animateValue(getCurvedTime(1f));
+        endAnimation();
+    }
+
+    /**
+     * Jump to the play time and apply the value to the listeners and the target immediately, without waiting
+     * for a frame. The value is evaluated directly at the play time, across the repeats and the reversed
+     * iterations, so it can be called on every move of a gesture to scrub the animation. A running animation
+     * continues from the play time, and an animation not started yet starts from the play time.
+     * <p>
+     * The properties of the target are taken over from other animations before written, an animation not started
+     * gives them back after the write so it does not hold the target.
+     *
+     * @param playTime The time after the start delay, in milliseconds, from 0 to the total duration.
+     */
+    public void setCurrentPlayTime(final long playTime) {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    setCurrentPlayTime(playTime);
+                }
+            });
+            return;
+        }
+        if (isDrivenByParent) {
+            throw new IllegalStateException("You can not seek an animator played by AnimatorSet!");
+        }
+        prepareRepeatMode();
+        long now = AnimationHandler.currentTimeMillis();
+        timing.seek(playTime, now);
+        if (!hasClaimedProperties) {
+            claimProperties();
+        }
+        lastUpdateTime = -1;
+        // a jump has no velocity, and it is not faded from the previous owner
+        valueTime = -1;
+        previousValueTime = -1;
+        handoffOffsets = null;
+        handoffVelocities = null;
+        if (metrics != null) {
+            metrics.markDiscontinuity();
+        }
+        animateValue(getCurvedTime(timing.getFraction()));
+        if (!isStarted) {
+            pendingPlayTime = Math.max(0, playTime);
+            releaseProperties();
+            // the timing stays at the beginning until started
+            timing.seek(0, now);
+        }
+    }
+
+    /**
+     * Jump to the fraction of the animation, see {@link #setCurrentPlayTime(long)}.
+     *
+     * @param fraction The fraction, 0 to 1 in the first iteration, 1 to 2 in the second iteration and so on.
+     */
+    public void setCurrentFraction(final float fraction) {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    setCurrentFraction(fraction);
+                }
+            });
+            return;
+        }
+        setCurrentPlayTime((long) (Math.max(0f, fraction) * timing.getDuration()));
+    }
+
+    /**
+     * Start recording the frame timing of this animator, it costs nothing when not enabled. A call from another
+     * thread starts a new record from the next frame.
+     *
+     * @param name The name to identify this animator in the dump.
+     * @return The metrics of this animator {@link AnimatorMetrics}.
+     */
+    public AnimatorMetrics enableMetrics(String name) {
+        if (!isUiThread()) {
+            final AnimatorMetrics created = new AnimatorMetrics(name);
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    metrics = created;
+                }
+            });
+            return created;
+        }
+        if (metrics == null) {
+            metrics = new AnimatorMetrics(name);
+        }
+        return metrics;
+    }
+
+    /**
+     * Stop recording the frame timing of this animator, the records are dropped.
+     */
+    public void disableMetrics() {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    disableMetrics();
+                }
+            });
+            return;
+        }
+        metrics = null;
+    }
+
+    /**
+     * Get the frame timing of this animator.
+     *
+     * @return The metrics, null if not enabled.
+     */
+    public AnimatorMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Return the animator to the state of a new instance so that it can be reused, the running animation is
+     * canceled without notifying the listeners, all the listeners, values, target and settings are cleared.
+     */
+    public void reset() {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    reset();
+                }
+            });
+            return;
+        }
+        listeners.clear();
+        updateListeners.clear();
+        floatUpdateListeners.clear();
+        intUpdateListeners.clear();
+        if (isStarted) {
+            resetState();
+        }
+        timing.reset();
+        repeatMode = RepeatMode.RESTART;
+        curveType = Animator.CurveType.LINEAR;
+        curve = null;
+        valueType = TYPE_NONE;
+        evaluator = null;
+        argbEvaluator = null;
+        objectValues = null;
+        currentObject = null;
+        targetHolder = null;
+        targetGroup = null;
+        targetProperties = null;
+        unpublishValues();
+        valuesHolders = null;
+        motionPath = null;
+        releasedProperties = null;
+        replayTrajectory = false;
+        trajectory = null;
+        writeEpsilon = 0f;
+        resetWrittenValues();
+        pendingPlayTime = NO_PENDING_SEEK;
+        cancelWhenTargetCollected = true;
+        suspendWhenTargetHidden = true;
+        frameRate = FRAME_RATE_UNLIMITED;
+        priority = Priority.NORMAL;
+        skippedWriteCount = 0;
+        hasAnimatedValue = false;
+        currentInt = 0;
+        currentFloat = 0f;
+        metrics = null;
+    }
+
+    /**
+     * Replay the samples of one iteration in the next iterations of an infinite animation, instead of evaluating
+     * the curve and the values on every frame. The samples are taken at the frame rate when started, and shared by
+     * all the animators with the same values, curve and duration, so the ambient loops such as spinners and pulses
+     * cost nearly nothing per frame. It applies to the float values without {@link PropertyValuesHolder} or
+     * {@link MotionPath}, and takes effect from the next start.
+     *
+     * @param replayTrajectory True to replay the samples, false by default.
+     */
+    public void setTrajectoryReplay(final boolean replayTrajectory) {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    setTrajectoryReplay(replayTrajectory);
+                }
+            });
+            return;
+        }
+        this.replayTrajectory = replayTrajectory;
+    }
+
+    /**
+     * Whether the samples of one iteration are replayed.
+     *
+     * @return True if replay is enabled.
+     */
+    public boolean isTrajectoryReplay() {
+        return replayTrajectory;
+    }
+
+    /**
+     * Set the executor to sample the trajectories, the animators evaluate as usual until the samples are ready.
+     *
+     * @param executor The executor such as a background thread, null to sample on the UI thread when started.
+     */
+    public static void setTrajectoryExecutor(Executor executor) {
+        Trajectory.setExecutor(executor);
     }
 
     /**
      * Pauses a running animation.
      */
     public void pause() {
-        innerAnimator.pause();
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    pause();
+                }
+            });
+            return;
+        }
+        if (!isStarted || isPaused || isDrivenByParent) {
+            return;
+        }
+        isPaused = true;
+        long now = AnimationHandler.currentTimeMillis();
+        if (isSuspended) {
+            // close the suspended period, the time from now on is excluded by the pause
+            isSuspended = false;
+            timing.resume(now);
+        }
+        timing.pause(now);
+        AnimationHandler.getInstance().removeFrameCallback(frameCallback);
+        notifyPause();
     }
 
     /**
      * Resumes a paused animation.
      */
     public void resume() {
-        innerAnimator.resume();
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    resume();
+                }
+            });
+            return;
+        }
+        if (!isPaused) {
+            return;
+        }
+        isPaused = false;
+        lastUpdateTime = -1;
+        timing.resume(AnimationHandler.currentTimeMillis());
+        if (metrics != null) {
+            metrics.markDiscontinuity();
+        }
+        AnimationHandler.getInstance().addFrameCallback(frameCallback);
+        notifyResume();
+    }
+
+    /**
+     * Set the max count of updates per second, the frames of device beyond it are skipped. A decorative or
+     * background animation can run at 30 or 15 to leave the time of frames to the others.
+     *
+     * @param frameRate The frame rate, such as 60, 30 or 15, {@link #FRAME_RATE_UNLIMITED} by default.
+     */
+    public void setFrameRate(final int frameRate) {
+        if (frameRate < 0) {
+            throw new IllegalArgumentException("The frame rate can not be negative!");
+        }
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    setFrameRate(frameRate);
+                }
+            });
+            return;
+        }
+        this.frameRate = frameRate;
+    }
+
+    /**
+     * Get the max count of updates per second.
+     *
+     * @return The frame rate, or {@link #FRAME_RATE_UNLIMITED}.
+     */
+    public int getFrameRate() {
+        return frameRate;
+    }
+
+    /**
+     * Set the priority of the animator, the low priority animators are throttled first when the frames run
+     * over the budget of {@link AnimationHandler#setFrameBudgetMillis(float)}.
+     *
+     * @param priority The priority {@link Priority}, {@link Priority#NORMAL} by default.
+     */
+    public void setPriority(final Priority priority) {
+        if (priority == null) {
+            throw new IllegalArgumentException("The priority can not be null!");
+        }
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    setPriority(priority);
+                }
+            });
+            return;
+        }
+        this.priority = priority;
+    }
+
+    /**
+     * Get the priority of the animator.
+     *
+     * @return The priority.
+     */
+    public Priority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Set whether the animation is canceled when the target component has been collected, true by default.
+     * The listeners receive {@link AnimatorListener#onAnimationCancel(ValueAnimator)}.
+     *
+     * @param cancelWhenTargetCollected True to cancel when the target is gone.
+     */
+    public void setCancelWhenTargetCollected(final boolean cancelWhenTargetCollected) {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    setCancelWhenTargetCollected(cancelWhenTargetCollected);
+                }
+            });
+            return;
+        }
+        this.cancelWhenTargetCollected = cancelWhenTargetCollected;
+    }
+
+    /**
+     * Whether the animation is canceled when the target component has been collected.
+     *
+     * @return True if canceled when the target is gone.
+     */
+    public boolean isCancelWhenTargetCollected() {
+        return cancelWhenTargetCollected;
+    }
+
+    /**
+     * Set whether the animation is suspended while the target component is detached from window or not visible,
+     * true by default. A suspended animation skips the frames and its time stops, it continues from where it was
+     * when the target returns. Unlike {@link #pause()}, no listener is notified.
+     *
+     * @param suspendWhenTargetHidden True to suspend while the target is hidden.
+     */
+    public void setSuspendWhenTargetHidden(final boolean suspendWhenTargetHidden) {
+        if (!isUiThread()) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    setSuspendWhenTargetHidden(suspendWhenTargetHidden);
+                }
+            });
+            return;
+        }
+        this.suspendWhenTargetHidden = suspendWhenTargetHidden;
+    }
+
+    /**
+     * Whether the animation is suspended while the target component is detached from window or not visible.
+     *
+     * @return True if suspended while the target is hidden.
+     */
+    public boolean isSuspendWhenTargetHidden() {
+        return suspendWhenTargetHidden;
+    }
+
+    /**
+     * Returns whether this animator is suspended because the target component is detached or not visible.
+     *
+     * @return True if the animator is currently suspended.
+     */
+    public boolean isSuspended() {
+        return isSuspended;
     }
 
     /**
@@ -494,7 +2484,7 @@ public class ValueAnimator {
      * @return True if the animator is currently paused, false otherwise.
      */
     public boolean isPaused() {
-        return innerAnimator.isPaused();
+        return isPaused;
     }
 
     /**
@@ -504,7 +2494,25 @@ public class ValueAnimator {
      * @return Whether the Animator is running.
      */
     public boolean isRunning() {
-        return innerAnimator.isRunning();
+        return isRunning;
+    }
+
+    /**
+     * Returns whether this Animator has been started and not yet ended, include the startDelay period.
+     *
+     * @return Whether the Animator has been started.
+     */
+    public boolean isStarted() {
+        return isStarted;
+    }
+
+    /**
+     * Gets the total duration of the animation, include the start delay and all the repeats.
+     *
+     * @return The total length of the animation in milliseconds, or {@link #DURATION_INFINITE} if repeat infinitely.
+     */
+    public long getTotalDuration() {
+        return timing.isInfinite() ? DURATION_INFINITE : timing.getTotalDuration();
     }
 
     /**
@@ -513,7 +2521,7 @@ public class ValueAnimator {
      * @return The length of the animation, in milliseconds.
      */
     public long getDuration() {
-        return innerAnimator.getDuration();
+        return timing.getDuration();
     }
 
     /**
@@ -523,7 +2531,7 @@ public class ValueAnimator {
      * @return the number of milliseconds to delay running the animation
      */
     public long getStartDelay() {
-        return innerAnimator.getDelay();
+        return timing.getStartDelay();
     }
 
     /**
@@ -533,7 +2541,7 @@ public class ValueAnimator {
      * @return the number of times the animation should repeat, or {@link Animator#INFINITE}
      */
     public int getRepeatCount() {
-        return innerAnimator.getLoopedCount();
+        return timing.getRepeatCount();
     }
 
     /**
@@ -542,7 +2550,7 @@ public class ValueAnimator {
      * @return The timing interpolator for this ValueAnimator.
      */
     public int getInterpolatorType() {
-        return innerAnimator.getCurveType();
+        return curveType;
     }
 
     /**
@@ -562,6 +2570,36 @@ public class ValueAnimator {
         void onAnimationUpdate(ValueAnimator animator, float fraction, Object animatedValue);
     }
 
+    /**
+     * Primitive version of {@link AnimatorUpdateListener}, receives the animated value as float
+     * so that no object is allocated per frame.
+     */
+    public interface FloatUpdateListener {
+        /**
+         * Notifies the occurrence of another frame of the animation.
+         *
+         * @param animator      The animation current playing.
+         * @param fraction      The fraction of animation from 0 to 1.
+         * @param animatedValue The animate value of current frame.
+         */
+        void onAnimationUpdate(ValueAnimator animator, float fraction, float animatedValue);
+    }
+
+    /**
+     * Primitive version of {@link AnimatorUpdateListener}, receives the animated value as int
+     * so that no object is allocated per frame.
+     */
+    public interface IntUpdateListener {
+        /**
+         * Notifies the occurrence of another frame of the animation.
+         *
+         * @param animator      The animation current playing.
+         * @param fraction      The fraction of animation from 0 to 1.
+         * @param animatedValue The animate value of current frame.
+         */
+        void onAnimationUpdate(ValueAnimator animator, float fraction, int animatedValue);
+    }
+
     /**
      * Animator state changed listener.
      */
@@ -0,0 +1,164 @@
+package com.seagazer.ui.animation;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+/**
+ * WeakIdentityIndex finds the slot of an object in an array of weak references without scanning the array. It only
+ * holds the identity hash code and the slot of each object, the object is compared with the referent of the slot,
+ * so the index never keeps an object alive. A collected object leaves its entry until the slot is removed, and
+ * the entry never matches again.
+ */
+final class WeakIdentityIndex {
+    private static final int EMPTY = -1;
+    private int[] hashes;
+    private int[] slots;
+    private int size = 0;
+
+    /**
+     * Create an index.
+     *
+     * @param expectedSize The count of slots expected, the table grows when needed.
+     */
+    WeakIdentityIndex(int expectedSize) {
+        int capacity = 4;
+        while (capacity < expectedSize * 2) {
+            capacity *= 2;
+        }
+        hashes = new int[capacity];
+        slots = new int[capacity];
+        Arrays.fill(slots, EMPTY);
+    }
+
+    /**
+     * Get the hash code of an object in the index.
+     *
+     * @param object The object compared by identity.
+     * @return The hash code.
+     */
+    static int hash(Object object) {
+        return System.identityHashCode(object);
+    }
+
+    /**
+     * Find the slot of the object.
+     *
+     * @param object     The object compared by identity.
+     * @param references The weak references indexed by slot.
+     * @return The slot of the object, -1 if not found.
+     */
+    int find(Object object, WeakReference<?>[] references) {
+        int hash = hash(object);
+        int mask = slots.length - 1;
+        for (int i = spread(hash) & mask; slots[i] != EMPTY; i = (i + 1) & mask) {
+            if (hashes[i] == hash && references[slots[i]].get() == object) {
+                return slots[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Add the slot of an object.
+     *
+     * @param hash The hash code of object by {@link #hash(Object)}.
+     * @param slot The slot of object.
+     */
+    void put(int hash, int slot) {
+        if ((size + 1) * 2 > slots.length) {
+            resize(slots.length * 2);
+        }
+        int mask = slots.length - 1;
+        int i = spread(hash) & mask;
+        while (slots[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        hashes[i] = hash;
+        slots[i] = slot;
+        size++;
+    }
+
+    /**
+     * Move an object to another slot.
+     *
+     * @param hash    The hash code of object.
+     * @param oldSlot The current slot.
+     * @param newSlot The new slot.
+     */
+    void move(int hash, int oldSlot, int newSlot) {
+        int i = indexOf(hash, oldSlot);
+        if (i >= 0) {
+            slots[i] = newSlot;
+        }
+    }
+
+    /**
+     * Remove the slot of an object.
+     *
+     * @param hash The hash code of object.
+     * @param slot The slot.
+     */
+    void remove(int hash, int slot) {
+        int i = indexOf(hash, slot);
+        if (i < 0) {
+            return;
+        }
+        int mask = slots.length - 1;
+        // shift the following entries of the probe back, so no tombstone is needed
+        int hole = i;
+        for (int j = (i + 1) & mask; slots[j] != EMPTY; j = (j + 1) & mask) {
+            int home = spread(hashes[j]) & mask;
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                hashes[hole] = hashes[j];
+                slots[hole] = slots[j];
+                hole = j;
+            }
+        }
+        slots[hole] = EMPTY;
+        size--;
+    }
+
+    /**
+     * Remove all the slots.
+     */
+    void clear() {
+        if (size > 0) {
+            Arrays.fill(slots, EMPTY);
+            size = 0;
+        }
+    }
+
+    private int indexOf(int hash, int slot) {
+        int mask = slots.length - 1;
+        for (int i = spread(hash) & mask; slots[i] != EMPTY; i = (i + 1) & mask) {
+            if (slots[i] == slot) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void resize(int capacity) {
+        int[] oldHashes = hashes;
+        int[] oldSlots = slots;
+        hashes = new int[capacity];
+        slots = new int[capacity];
+        Arrays.fill(slots, EMPTY);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldSlots.length; i++) {
+            if (oldSlots[i] != EMPTY) {
+                int j = spread(oldHashes[i]) & mask;
+                while (slots[j] != EMPTY) {
+                    j = (j + 1) & mask;
+                }
+                hashes[j] = oldHashes[i];
+                slots[j] = oldSlots[i];
+            }
+        }
+    }
+
+    private static int spread(int hash) {
+        // the identity hash codes may differ only in the high bits
+        return hash ^ (hash >>> 16);
+    }
+}
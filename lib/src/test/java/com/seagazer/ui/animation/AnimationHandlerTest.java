@@ -0,0 +1,265 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.components.Component;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AnimationHandlerTest {
+    private ManualFrameSource frameSource;
+
+    @Before
+    public void setUp() {
+        frameSource = new ManualFrameSource();
+        AnimationHandler.getInstance().setFrameSource(frameSource);
+    }
+
+    private static void runOnWorker(Runnable command) throws InterruptedException {
+        Thread worker = new Thread(command);
+        worker.start();
+        worker.join();
+    }
+
+    @Test
+    public void controlFromWorkerInOrder() throws InterruptedException {
+        final ValueAnimator animator = new ValueAnimator();
+        animator.setDuration(1000);
+        runOnWorker(new Runnable() {
+            @Override
+            public void run() {
+                animator.setFloatValues(0, 100);
+                animator.start();
+                animator.setCurrentFraction(0.5f);
+                animator.pause();
+            }
+        });
+        // nothing changes until the UI thread takes the commands
+        Assert.assertFalse(animator.isStarted());
+        Assert.assertFalse(frameSource.isRunning());
+        frameSource.advance(16);
+        Assert.assertTrue(animator.isPaused());
+        Assert.assertEquals(50f, animator.getAnimatedFloat(), 0f);
+        runOnWorker(new Runnable() {
+            @Override
+            public void run() {
+                animator.resume();
+            }
+        });
+        // resumed at the start of the first frame
+        frameSource.advanceFrames(3, 16);
+        Assert.assertEquals(53.2f, animator.getAnimatedFloat(), 1e-3f);
+        runOnWorker(new Runnable() {
+            @Override
+            public void run() {
+                animator.cancel();
+            }
+        });
+        Assert.assertTrue(animator.isRunning());
+        frameSource.advance(16);
+        Assert.assertFalse(animator.isStarted());
+        Assert.assertEquals(0, AnimationHandler.getInstance().getActiveCount());
+    }
+
+    @Test
+    public void settersFromWorkerInOrder() throws InterruptedException {
+        final ValueAnimator animator = new ValueAnimator();
+        final int[] updates = new int[1];
+        runOnWorker(new Runnable() {
+            @Override
+            public void run() {
+                animator.setDuration(160);
+                animator.setValues(null, PropertyValuesHolder.ofFloat(ValueAnimator.Property.TRANSLATION_X, 0, 100),
+                        PropertyValuesHolder.ofFloat(ValueAnimator.Property.TRANSLATION_Y, 0, 50));
+                animator.addFloatUpdateListener(new ValueAnimator.FloatUpdateListener() {
+                    @Override
+                    public void onAnimationUpdate(ValueAnimator animator, float fraction, float value) {
+                        updates[0]++;
+                    }
+                });
+                animator.start();
+            }
+        });
+        // the settings are applied on the UI thread with the start
+        Assert.assertEquals(300, animator.getDuration());
+        frameSource.advanceFrames(5, 16);
+        Assert.assertEquals(160, animator.getDuration());
+        Assert.assertEquals(5, updates[0]);
+        final float[] values = new float[2];
+        runOnWorker(new Runnable() {
+            @Override
+            public void run() {
+                values[0] = animator.getAnimatedValue(ValueAnimator.Property.TRANSLATION_X);
+                values[1] = animator.getAnimatedValue(ValueAnimator.Property.TRANSLATION_Y);
+            }
+        });
+        Assert.assertEquals(40f, values[0], 1e-3f);
+        Assert.assertEquals(20f, values[1], 1e-3f);
+        animator.cancel();
+    }
+
+    @Test
+    public void specAppliedFromWorkerInOrder() throws InterruptedException {
+        final AnimatorSpec spec = AnimatorSpecInflater.parse("{\"animators\": {\"move\": {"
+                + "\"values\": [0, 100], \"duration\": 160}}}").get("move");
+        final ValueAnimator animator = ValueAnimator.ofFloat(0, 10);
+        animator.setDuration(1000);
+        animator.start();
+        frameSource.advance(16);
+        final AnimatorMetrics[] metrics = new AnimatorMetrics[1];
+        runOnWorker(new Runnable() {
+            @Override
+            public void run() {
+                // neither rejected nor applied while the animation is running
+                animator.setRepeatMode(ValueAnimator.RepeatMode.REVERSE);
+                metrics[0] = animator.enableMetrics("move");
+                spec.applyTo(animator, null);
+            }
+        });
+        Assert.assertNull(animator.getMetrics());
+        Assert.assertEquals(1000, animator.getDuration());
+        frameSource.advance(16);
+        Assert.assertSame(metrics[0], animator.getMetrics());
+        Assert.assertEquals(160, animator.getDuration());
+        animator.cancel();
+    }
+
+    @Test
+    public void runAtOnceOnUiThread() {
+        final boolean[] ran = new boolean[1];
+        AnimationHandler.getInstance().runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                ran[0] = true;
+            }
+        });
+        Assert.assertTrue(ran[0]);
+    }
+
+    @Test
+    public void throwingCallbackFlushesLayout() {
+        final int[] width = new int[1];
+        final Component component = new Component() {
+            @Override
+            public void setWidth(int value) {
+                width[0] = value;
+            }
+        };
+        final AnimationHandler handler = AnimationHandler.getInstance();
+        AnimationHandler.FrameCallback callback = new AnimationHandler.FrameCallback() {
+            @Override
+            public void doAnimationFrame(long frameTime) {
+                handler.getLayoutWriteBuffer().setWidth(component, 100);
+                throw new IllegalStateException("Broken callback!");
+            }
+        };
+        handler.addFrameCallback(callback);
+        try {
+            frameSource.advance(16);
+            Assert.fail();
+        } catch (IllegalStateException expected) {
+            Assert.assertEquals(100, width[0]);
+        } finally {
+            handler.removeFrameCallback(callback);
+        }
+        // out of the frame, written directly
+        handler.getLayoutWriteBuffer().setWidth(component, 200);
+        Assert.assertEquals(200, width[0]);
+    }
+
+    private static int[] countUpdates(ValueAnimator animator) {
+        final int[] updates = new int[1];
+        animator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            @Override
+            public void onAnimationUpdate(ValueAnimator animator, float fraction, Object animatedValue) {
+                updates[0]++;
+            }
+        });
+        return updates;
+    }
+
+    @Test
+    public void frameRateSkipsAlternateFrames() {
+        ValueAnimator animator = ValueAnimator.ofFloat(0, 100);
+        animator.setDuration(1000);
+        animator.setFrameRate(30);
+        int[] updates = countUpdates(animator);
+        animator.start();
+        frameSource.advance(16);
+        Assert.assertEquals(1, updates[0]);
+        for (int i = 0; i < 10; i++) {
+            frameSource.advance(16);
+            Assert.assertEquals(1 + (i + 1) / 2, updates[0]);
+        }
+        Assert.assertEquals(16f, animator.getAnimatedFloat(), 1e-3f);
+        animator.cancel();
+    }
+
+    @Test
+    public void lowPriorityRecoversUnderBudget() {
+        final boolean[] slow = new boolean[1];
+        ValueAnimator normal = ValueAnimator.ofFloat(0, 100);
+        normal.setDuration(10000);
+        normal.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            @Override
+            public void onAnimationUpdate(ValueAnimator animator, float fraction, Object animatedValue) {
+                long end = System.nanoTime() + 20000000L;
+                while (slow[0] && System.nanoTime() < end) {
+                    // run over the budget of the frame
+                }
+            }
+        });
+        ValueAnimator low = ValueAnimator.ofFloat(0, 100);
+        low.setDuration(10000);
+        low.setPriority(ValueAnimator.Priority.LOW);
+        int[] updates = countUpdates(low);
+        AnimationHandler handler = AnimationHandler.getInstance();
+        handler.setFrameBudgetMillis(10);
+        try {
+            normal.start();
+            low.start();
+            slow[0] = true;
+            frameSource.advance(16);
+            slow[0] = false;
+            Assert.assertEquals(1, handler.getThrottleLevel());
+            // the throttled animator is capped to 15fps, one update in four frames of 16ms
+            updates[0] = 0;
+            frameSource.advanceFrames(28, 16);
+            Assert.assertEquals(7, updates[0]);
+            Assert.assertEquals(1, handler.getThrottleLevel());
+            // released after 30 frames under the budget
+            frameSource.advanceFrames(2, 16);
+            Assert.assertEquals(0, handler.getThrottleLevel());
+            updates[0] = 0;
+            frameSource.advanceFrames(3, 16);
+            Assert.assertEquals(3, updates[0]);
+        } finally {
+            handler.setFrameBudgetMillis(0);
+            normal.cancel();
+            low.cancel();
+        }
+    }
+
+    @Test
+    public void manyWidthsInOneFrame() {
+        final int[] widths = new int[20];
+        Component[] components = new Component[widths.length];
+        for (int i = 0; i < components.length; i++) {
+            final int index = i;
+            components[i] = new Component() {
+                @Override
+                public void setWidth(int value) {
+                    widths[index] = value;
+                }
+            };
+        }
+        ValueAnimator animator = ValueAnimator.ofObject(components, 0f, 100f, ValueAnimator.Property.WIDTH);
+        animator.setDuration(160);
+        animator.start();
+        // the buffer grows while the frame writes the sizes
+        frameSource.advanceFrames(2, 16);
+        for (int width : widths) {
+            Assert.assertEquals(10, width);
+        }
+        animator.cancel();
+    }
+}
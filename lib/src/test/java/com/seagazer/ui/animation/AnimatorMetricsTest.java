@@ -0,0 +1,74 @@
+package com.seagazer.ui.animation;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AnimatorMetricsTest {
+    private ManualFrameSource frameSource;
+
+    @Before
+    public void setUp() {
+        frameSource = new ManualFrameSource();
+        AnimationHandler.getInstance().setFrameSource(frameSource);
+    }
+
+    private ValueAnimator createAnimator() {
+        ValueAnimator animator = ValueAnimator.ofFloat(0, 100);
+        animator.setDuration(10000);
+        return animator;
+    }
+
+    @Test
+    public void missedFramesAt60Hz() {
+        ValueAnimator animator = createAnimator();
+        AnimatorMetrics metrics = animator.enableMetrics("60hz");
+        animator.start();
+        frameSource.advanceFrames(10, 16);
+        Assert.assertEquals(0, metrics.snapshot().getMissedFrameCount());
+        // two frames dropped
+        frameSource.advance(48);
+        frameSource.advance(16);
+        AnimatorMetrics.Snapshot snapshot = metrics.snapshot();
+        Assert.assertEquals(12, snapshot.getFrameCount());
+        Assert.assertEquals(2, snapshot.getMissedFrameCount());
+        Assert.assertEquals(48000000L, snapshot.getMaxIntervalNanos());
+        animator.cancel();
+    }
+
+    @Test
+    public void missedFramesFollowDeviceInterval() {
+        ValueAnimator animator = createAnimator();
+        AnimatorMetrics metrics = animator.enableMetrics("120hz");
+        animator.start();
+        frameSource.advanceFrames(10, 8);
+        Assert.assertEquals(0, metrics.snapshot().getMissedFrameCount());
+        // one frame of 120Hz dropped, the fixed 16.67ms interval would not count it
+        frameSource.advance(16);
+        Assert.assertEquals(1, metrics.snapshot().getMissedFrameCount());
+        animator.cancel();
+    }
+
+    @Test
+    public void missedFramesFollowFrameRate() {
+        ValueAnimator animator = createAnimator();
+        animator.setFrameRate(30);
+        AnimatorMetrics metrics = animator.enableMetrics("30fps");
+        animator.start();
+        // the skipped frames under the cap are not missed
+        frameSource.advanceFrames(20, 16);
+        AnimatorMetrics.Snapshot snapshot = metrics.snapshot();
+        Assert.assertEquals(10, snapshot.getFrameCount());
+        Assert.assertEquals(0, snapshot.getMissedFrameCount());
+        // one update of 30fps dropped
+        frameSource.advance(16);
+        frameSource.advance(64);
+        Assert.assertEquals(1, metrics.snapshot().getMissedFrameCount());
+        // a fixed interval overrides the animator
+        metrics.reset();
+        metrics.setFrameIntervalNanos(16000000L);
+        frameSource.advanceFrames(6, 16);
+        Assert.assertEquals(2, metrics.snapshot().getMissedFrameCount());
+        animator.cancel();
+    }
+}
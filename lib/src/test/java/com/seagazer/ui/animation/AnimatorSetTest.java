@@ -0,0 +1,194 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.components.Component;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AnimatorSetTest {
+    private ManualFrameSource frameSource;
+    private ValueAnimator first;
+    private ValueAnimator second;
+    private ValueAnimator third;
+
+    private static class AlphaComponent extends Component {
+        private float alpha = -1;
+        private boolean hidden = false;
+
+        @Override
+        public void setAlpha(float alpha) {
+            this.alpha = alpha;
+        }
+
+        @Override
+        public float getAlpha() {
+            return alpha;
+        }
+
+        @Override
+        public int getVisibility() {
+            return hidden ? INVISIBLE : VISIBLE;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        frameSource = new ManualFrameSource();
+        AnimationHandler.getInstance().setFrameSource(frameSource);
+        first = createAnimator();
+        second = createAnimator();
+        third = createAnimator();
+    }
+
+    private static ValueAnimator createAnimator() {
+        ValueAnimator animator = ValueAnimator.ofFloat(0, 100);
+        animator.setDuration(100);
+        return animator;
+    }
+
+    @Test
+    public void playSequentially() {
+        AnimatorSet set = new AnimatorSet();
+        set.playSequentially(first, second);
+        Assert.assertEquals(200, set.getTotalDuration());
+        set.start();
+        frameSource.advanceFrames(7, 16);
+        Assert.assertEquals(96f, first.getAnimatedFloat(), 0f);
+        Assert.assertFalse(second.isStarted());
+        // the second one starts in the frame the first one ends
+        frameSource.advance(16);
+        Assert.assertFalse(first.isStarted());
+        Assert.assertEquals(100f, first.getAnimatedFloat(), 0f);
+        Assert.assertEquals(12f, second.getAnimatedFloat(), 0f);
+        frameSource.advanceFrames(6, 16);
+        Assert.assertFalse(set.isStarted());
+        Assert.assertEquals(100f, second.getAnimatedFloat(), 0f);
+    }
+
+    @Test
+    public void playTogether() {
+        AnimatorSet set = new AnimatorSet();
+        second.setStartDelay(20);
+        set.playTogether(first, second);
+        Assert.assertEquals(120, set.getTotalDuration());
+        set.start();
+        frameSource.advanceFrames(3, 16);
+        Assert.assertEquals(32f, first.getAnimatedFloat(), 0f);
+        Assert.assertEquals(12f, second.getAnimatedFloat(), 0f);
+        frameSource.advanceFrames(6, 16);
+        Assert.assertFalse(set.isStarted());
+    }
+
+    @Test
+    public void withIsSymmetric() {
+        AnimatorSet set = new AnimatorSet();
+        set.play(third).before(second);
+        set.play(first).with(second);
+        AnimatorSet reversed = new AnimatorSet();
+        reversed.play(third).before(second);
+        reversed.play(second).with(first);
+        Assert.assertEquals(200, set.getTotalDuration());
+        Assert.assertEquals(200, reversed.getTotalDuration());
+        set.start();
+        frameSource.advanceFrames(7, 16);
+        // both wait for the third one
+        Assert.assertFalse(first.isStarted());
+        Assert.assertFalse(second.isStarted());
+        frameSource.advance(16);
+        Assert.assertEquals(12f, first.getAnimatedFloat(), 0f);
+        Assert.assertEquals(12f, second.getAnimatedFloat(), 0f);
+        set.cancel();
+    }
+
+    @Test
+    public void playAfterOffset() {
+        AnimatorSet set = new AnimatorSet();
+        set.play(first).after(50);
+        set.playTogether(second);
+        Assert.assertEquals(150, set.getTotalDuration());
+        set.start();
+        frameSource.advanceFrames(4, 16);
+        Assert.assertEquals(48f, second.getAnimatedFloat(), 0f);
+        Assert.assertFalse(first.isStarted());
+        frameSource.advance(16);
+        Assert.assertEquals(14f, first.getAnimatedFloat(), 0f);
+        set.cancel();
+        Assert.assertFalse(first.isStarted());
+        Assert.assertFalse(second.isStarted());
+    }
+
+    @Test
+    public void childFrameRate() {
+        AnimatorSet set = new AnimatorSet();
+        first.setFrameRate(30);
+        set.playTogether(first, second);
+        set.start();
+        frameSource.advance(16);
+        frameSource.advance(16);
+        // the capped child skips every other frame of 16ms
+        Assert.assertEquals(0f, first.getAnimatedFloat(), 0f);
+        Assert.assertEquals(16f, second.getAnimatedFloat(), 0f);
+        frameSource.advance(16);
+        Assert.assertEquals(32f, first.getAnimatedFloat(), 0f);
+        set.cancel();
+    }
+
+    @Test
+    public void hiddenChildHoldsSet() {
+        AlphaComponent target = new AlphaComponent();
+        ValueAnimator fade = ValueAnimator.ofObject(target, 0f, 1f, ValueAnimator.Property.ALPHA);
+        fade.setDuration(100);
+        AnimatorSet set = new AnimatorSet();
+        set.playSequentially(fade, second);
+        set.start();
+        frameSource.advanceFrames(2, 16);
+        Assert.assertEquals(0.16f, target.getAlpha(), 1e-4f);
+        target.hidden = true;
+        frameSource.advanceFrames(10, 16);
+        Assert.assertTrue(fade.isSuspended());
+        Assert.assertEquals(0.16f, target.getAlpha(), 1e-4f);
+        Assert.assertFalse(second.isStarted());
+        // continues from the first hidden frame, the following child is still in order
+        target.hidden = false;
+        frameSource.advance(16);
+        Assert.assertFalse(fade.isSuspended());
+        Assert.assertEquals(0.32f, target.getAlpha(), 1e-4f);
+        frameSource.advanceFrames(4, 16);
+        Assert.assertFalse(second.isStarted());
+        frameSource.advance(16);
+        Assert.assertFalse(fade.isStarted());
+        Assert.assertEquals(12f, second.getAnimatedFloat(), 0f);
+        set.cancel();
+    }
+
+    @Test
+    public void runningChildDrivenOnce() {
+        final int[] updates = new int[1];
+        first.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            @Override
+            public void onAnimationUpdate(ValueAnimator animator, float fraction, Object animatedValue) {
+                updates[0]++;
+            }
+        });
+        first.start();
+        frameSource.advanceFrames(2, 16);
+        AnimatorSet set = new AnimatorSet();
+        set.playTogether(first, second);
+        set.start();
+        updates[0] = 0;
+        frameSource.advanceFrames(3, 16);
+        // the running child is taken by the set and plays from the start of the set
+        Assert.assertEquals(3, updates[0]);
+        Assert.assertEquals(32f, first.getAnimatedFloat(), 0f);
+        Assert.assertEquals(1, AnimationHandler.getInstance().getActiveCount());
+        // started by itself again, it leaves the set
+        first.start();
+        updates[0] = 0;
+        frameSource.advanceFrames(2, 16);
+        Assert.assertEquals(2, updates[0]);
+        Assert.assertEquals(16f, first.getAnimatedFloat(), 0f);
+        set.cancel();
+        Assert.assertTrue(first.isStarted());
+        first.cancel();
+    }
+}
@@ -0,0 +1,68 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.animation.Animator;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+public class AnimatorSpecInflaterTest {
+
+    @Before
+    public void setUp() {
+        AnimationHandler.getInstance().setFrameSource(new ManualFrameSource());
+    }
+
+    @Test
+    public void compileValuesSpec() {
+        Map<String, AnimatorSpec> specs = AnimatorSpecInflater.parse("{\"animators\": {\"scale\": {"
+                + "\"values\": [1, 1.5], \"properties\": [\"scale_x\", \"SCALE_Y\"], \"duration\": 1000,"
+                + " \"repeatCount\": \"infinite\", \"repeatMode\": \"reverse\", \"replay\": true}}}");
+        AnimatorSpec spec = specs.get("scale");
+        Assert.assertEquals(1000, spec.getDuration());
+        Assert.assertEquals(Animator.INFINITE, spec.getRepeatCount());
+        Assert.assertArrayEquals(new ValueAnimator.Property[]{ValueAnimator.Property.SCALE_X,
+                ValueAnimator.Property.SCALE_Y}, spec.getProperties());
+        ValueAnimator animator = spec.create(null);
+        Assert.assertTrue(animator.isTrajectoryReplay());
+        animator.animateBasedOnPlayTime(500);
+        Assert.assertEquals(1.25f, animator.getAnimatedFloat(), 1e-4f);
+    }
+
+    @Test
+    public void compiledKeyframesAreCopied() {
+        AnimatorSpec spec = AnimatorSpecInflater.parse("{\"animators\": {\"count\": {\"type\": \"int\","
+                + " \"keyframes\": [{\"fraction\": 0, \"value\": 0}, {\"fraction\": 0.5, \"value\": 100},"
+                + " {\"fraction\": 1, \"value\": 0, \"curve\": \"accelerate\"}], \"duration\": 1000}}}").get("count");
+        ValueAnimator first = spec.create(null);
+        first.setIntValues(7, 7);
+        ValueAnimator second = spec.create(null);
+        second.animateBasedOnPlayTime(250);
+        Assert.assertEquals(50, second.getAnimatedInt());
+        second.animateBasedOnPlayTime(750);
+        // accelerate in the last segment, a quarter of the way back
+        Assert.assertEquals(75, second.getAnimatedInt());
+    }
+
+    @Test
+    public void invalidSpecIsRejected() {
+        assertRejected("{\"animators\": {\"a\": {\"values\": [0, 1], \"curve\": \"springy\"}}}");
+        assertRejected("{\"animators\": {\"a\": {\"values\": [0, 1], \"duraton\": 100}}}");
+        assertRejected("{\"animators\": {\"a\": {\"type\": \"int\", \"values\": [0, 1],"
+                + " \"properties\": [\"alpha\"]}}}");
+        assertRejected("{\"animators\": {\"a\": {\"keyframes\": [{\"fraction\": 0.5, \"value\": 1},"
+                + " {\"fraction\": 1, \"value\": 0}]}}}");
+        assertRejected("{\"animators\": {\"a\": {\"values\": [0, 1], \"replay\": 1}}}");
+        assertRejected("{\"animators\": {\"a\": {\"values\": [0, 1]}}");
+    }
+
+    private static void assertRejected(String json) {
+        try {
+            AnimatorSpecInflater.parse(json);
+            Assert.fail("Expected the spec to be rejected: " + json);
+        } catch (IllegalArgumentException expected) {
+            Assert.assertTrue(expected.getMessage().endsWith("!"));
+        }
+    }
+}
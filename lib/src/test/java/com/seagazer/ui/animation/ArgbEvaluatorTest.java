@@ -0,0 +1,37 @@
+package com.seagazer.ui.animation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ArgbEvaluatorTest {
+
+    @Test
+    public void endpointsAreExact() {
+        ArgbEvaluator[] evaluators = {ArgbEvaluator.getInstance(), ArgbEvaluator.getGammaInstance()};
+        for (ArgbEvaluator evaluator : evaluators) {
+            Assert.assertEquals(0x80123456, evaluator.evaluate(0f, 0x80123456, 0xff654321));
+            Assert.assertEquals(0xff654321, evaluator.evaluate(1f, 0x80123456, 0xff654321));
+        }
+    }
+
+    @Test
+    public void interpolateInSrgb() {
+        Assert.assertEquals(0xff808080, ArgbEvaluator.getInstance().evaluate(0.5f, 0xff000000, 0xffffffff));
+        Assert.assertEquals(0x80000000, ArgbEvaluator.getInstance().evaluate(0.5f, 0x00000000, 0xff000000));
+    }
+
+    @Test
+    public void gammaCorrectIsBrighterInTheMiddle() {
+        int color = ArgbEvaluator.getGammaInstance().evaluate(0.5f, 0xff000000, 0xffffffff);
+        // (0.5 ^ (1 / 2.2)) * 255 = 186
+        Assert.assertEquals(0xffbababa, color);
+        // alpha is always linear
+        Assert.assertEquals(0x80, ArgbEvaluator.getGammaInstance().evaluate(0.5f, 0x00000000, 0xff000000) >>> 24);
+    }
+
+    @Test
+    public void overshootIsClamped() {
+        Assert.assertEquals(0xffffffff, ArgbEvaluator.getInstance().evaluate(1.5f, 0xff000000, 0xffffffff));
+        Assert.assertEquals(0xff000000, ArgbEvaluator.getGammaInstance().evaluate(-0.5f, 0xff000000, 0xffffffff));
+    }
+}
@@ -0,0 +1,93 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.animation.Animator;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BakedInterpolatorTest {
+    private static final Animator.TimelineCurve OVERSHOOT = new Animator.TimelineCurve() {
+        @Override
+        public float getCurvedTime(float input) {
+            float t = input - 1.0f;
+            return t * t * (3.0f * t + 2.0f) + 1.0f;
+        }
+    };
+
+    private static final Animator.TimelineCurve EASE = new Animator.TimelineCurve() {
+        @Override
+        public float getCurvedTime(float input) {
+            return (float) (Math.cos((input + 1) * Math.PI) / 2.0f) + 0.5f;
+        }
+    };
+
+    @Test
+    public void maxErrorOfDefaultResolution() {
+        BakedInterpolator overshoot = new BakedInterpolator(OVERSHOOT, BakedInterpolator.DEFAULT_RESOLUTION);
+        Assert.assertTrue(overshoot.computeMaxError(OVERSHOOT) < 1e-4f);
+        BakedInterpolator ease = new BakedInterpolator(EASE, BakedInterpolator.DEFAULT_RESOLUTION);
+        Assert.assertTrue(ease.computeMaxError(EASE) < 1e-4f);
+    }
+
+    @Test
+    public void endpointsAreExact() {
+        BakedInterpolator baked = new BakedInterpolator(OVERSHOOT, 16);
+        Assert.assertEquals(OVERSHOOT.getCurvedTime(0f), baked.getCurvedTime(0f), 0f);
+        Assert.assertEquals(OVERSHOOT.getCurvedTime(1f), baked.getCurvedTime(1f), 0f);
+    }
+
+    @Test
+    public void maxErrorKnob() {
+        float maxError = 1e-5f;
+        BakedInterpolator baked = BakedInterpolator.ofMaxError(EASE, maxError);
+        Assert.assertTrue(baked.computeMaxError(EASE) <= maxError);
+        Assert.assertTrue(baked.getResolution() > BakedInterpolator.ofMaxError(EASE, 1e-3f).getResolution());
+    }
+
+    @Test
+    public void sharedByCurveAndResolution() {
+        BakedInterpolator.clearCache();
+        Assert.assertSame(BakedInterpolator.of(EASE), BakedInterpolator.of(EASE));
+        Assert.assertNotSame(BakedInterpolator.of(EASE, 64), BakedInterpolator.of(EASE, 128));
+        Assert.assertNotSame(BakedInterpolator.of(EASE), BakedInterpolator.of(OVERSHOOT));
+    }
+
+    private static class EqualCurve implements Animator.TimelineCurve {
+        private final float power;
+
+        EqualCurve(float power) {
+            this.power = power;
+        }
+
+        @Override
+        public float getCurvedTime(float input) {
+            return (float) Math.pow(input, power);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof EqualCurve;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+
+    @Test
+    public void sharedByIdentity() {
+        BakedInterpolator.clearCache();
+        BakedInterpolator square = BakedInterpolator.of(new EqualCurve(2));
+        BakedInterpolator cube = BakedInterpolator.of(new EqualCurve(3));
+        Assert.assertNotSame(square, cube);
+        Assert.assertEquals(0.125f, cube.getCurvedTime(0.5f), 1e-4f);
+    }
+
+    @Test
+    public void maxErrorSharesChosenTable() {
+        BakedInterpolator.clearCache();
+        BakedInterpolator baked = BakedInterpolator.ofMaxError(EASE, 1e-5f);
+        Assert.assertSame(baked, BakedInterpolator.ofMaxError(EASE, 1e-5f));
+        Assert.assertSame(baked, BakedInterpolator.of(EASE, baked.getResolution()));
+    }
+}
@@ -0,0 +1,36 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.animation.Animator;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CurvesTest {
+
+    @Test
+    public void supportedCurves() {
+        for (int type = Animator.CurveType.LINEAR; type <= Animator.CurveType.CYCLE; type++) {
+            Assert.assertSame(Curves.of(type), Curves.of(type));
+            Assert.assertEquals(Curves.getCurvedTime(type, 0.3f), Curves.of(type).getCurvedTime(0.3f), 0f);
+        }
+        Assert.assertEquals(0.25f, Curves.getCurvedTime(Animator.CurveType.ACCELERATE, 0.5f), 0f);
+    }
+
+    @Test
+    public void rejectUnknownCurves() {
+        int[] unknown = {Animator.CurveType.INVALID, Animator.CurveType.SPRING, 100};
+        for (int type : unknown) {
+            try {
+                Curves.of(type);
+                Assert.fail();
+            } catch (IllegalArgumentException expected) {
+                Assert.assertTrue(expected.getMessage().endsWith("!"));
+            }
+            try {
+                new ValueAnimator().setInterpolatorType(type);
+                Assert.fail();
+            } catch (IllegalArgumentException expected) {
+                Assert.assertTrue(expected.getMessage().endsWith("!"));
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.seagazer.ui.animation;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DynamicAnimationTest {
+    private ManualFrameSource frameSource;
+
+    @Before
+    public void setUp() {
+        frameSource = new ManualFrameSource();
+        AnimationHandler.getInstance().setFrameSource(frameSource);
+    }
+
+    private int runUntilEnd(DynamicAnimation animation) {
+        int frames = 0;
+        while (animation.isRunning() && frames < 1000) {
+            frameSource.advance(16);
+            frames++;
+        }
+        return frames;
+    }
+
+    @Test
+    public void springSettlesAtFinalPosition() {
+        SpringAnimation spring = new SpringAnimation(100f);
+        spring.setStartValue(0f);
+        spring.setDampingRatio(SpringAnimation.DAMPING_RATIO_NO_BOUNCY);
+        spring.start();
+        int frames = runUntilEnd(spring);
+        Assert.assertFalse(spring.isRunning());
+        Assert.assertTrue(frames < 1000);
+        Assert.assertEquals(100f, spring.getValue(), 0f);
+        Assert.assertEquals(0f, spring.getVelocity(), 0f);
+    }
+
+    @Test
+    public void springOvershootsWhenBouncy() {
+        final float[] max = {0f};
+        SpringAnimation spring = new SpringAnimation(100f);
+        spring.setStartValue(0f);
+        spring.setDampingRatio(SpringAnimation.DAMPING_RATIO_HIGH_BOUNCY);
+        spring.addUpdateListener(new DynamicAnimation.OnAnimationUpdateListener() {
+            @Override
+            public void onAnimationUpdate(DynamicAnimation animation, float value, float velocity) {
+                max[0] = Math.max(max[0], value);
+            }
+        });
+        spring.start();
+        runUntilEnd(spring);
+        Assert.assertTrue(max[0] > 100f);
+        Assert.assertEquals(100f, spring.getValue(), 0f);
+    }
+
+    @Test
+    public void flingDecaysAndStops() {
+        FlingAnimation fling = new FlingAnimation();
+        fling.setStartValue(0f);
+        fling.setStartVelocity(1000f);
+        fling.start();
+        int frames = runUntilEnd(fling);
+        Assert.assertTrue(frames < 1000);
+        // the total distance of exponential decay is velocity / rate, less the tail under the velocity threshold
+        float tail = fling.getMinimumVisibleChange() * 0.75f * 62.5f / 4.2f;
+        Assert.assertEquals(1000f / 4.2f - tail, fling.getValue(), 1f);
+    }
+
+    @Test
+    public void flingEndsAtBound() {
+        final boolean[] canceled = {true};
+        FlingAnimation fling = new FlingAnimation();
+        fling.setStartValue(0f);
+        fling.setStartVelocity(1000f);
+        fling.setMaxValue(50f);
+        fling.addEndListener(new DynamicAnimation.OnAnimationEndListener() {
+            @Override
+            public void onAnimationEnd(DynamicAnimation animation, boolean isCanceled, float value, float velocity) {
+                canceled[0] = isCanceled;
+            }
+        });
+        fling.start();
+        runUntilEnd(fling);
+        Assert.assertFalse(canceled[0]);
+        Assert.assertEquals(50f, fling.getValue(), 0f);
+    }
+}
@@ -0,0 +1,53 @@
+package com.seagazer.ui.animation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IdentityIndexMapTest {
+    private static class EqualKey {
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof EqualKey;
+        }
+
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+    }
+
+    @Test
+    public void keyedByIdentity() {
+        IdentityIndexMap map = new IdentityIndexMap();
+        EqualKey first = new EqualKey();
+        EqualKey second = new EqualKey();
+        map.put(first, 1);
+        Assert.assertEquals(-1, map.get(second));
+        map.put(second, 2);
+        map.put(first, 3);
+        Assert.assertEquals(2, map.size());
+        Assert.assertEquals(3, map.get(first));
+        Assert.assertEquals(2, map.get(second));
+    }
+
+    @Test
+    public void removeKeepsOtherKeys() {
+        IdentityIndexMap map = new IdentityIndexMap();
+        Object[] keys = new Object[1000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new Object();
+            map.put(keys[i], i);
+        }
+        for (int i = 0; i < keys.length; i += 2) {
+            Assert.assertEquals(i, map.remove(keys[i]));
+        }
+        Assert.assertEquals(-1, map.remove(keys[0]));
+        Assert.assertEquals(500, map.size());
+        for (int i = 0; i < keys.length; i++) {
+            Assert.assertEquals(i % 2 == 0 ? -1 : i, map.get(keys[i]));
+        }
+        map.clear();
+        Assert.assertEquals(0, map.size());
+        Assert.assertEquals(-1, map.get(keys[1]));
+    }
+}
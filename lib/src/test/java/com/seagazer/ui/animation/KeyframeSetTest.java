@@ -0,0 +1,29 @@
+package com.seagazer.ui.animation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class KeyframeSetTest {
+
+    @Test
+    public void invalidKeyframesLeaveSetUnchanged() {
+        KeyframeSet keyframes = new KeyframeSet();
+        keyframes.setFloatValues(0, 100);
+        Keyframe[][] invalid = {
+                {Keyframe.ofFloat(0f, 0), Keyframe.ofFloat(0.6f, 1), Keyframe.ofFloat(0.4f, 2), Keyframe.ofFloat(1f, 3)},
+                {Keyframe.ofFloat(0f, 0), Keyframe.ofFloat(0.5f, 1), Keyframe.ofInt(0.8f, 2), Keyframe.ofFloat(1f, 3)},
+                {Keyframe.ofInt(0f, 0), Keyframe.ofInt(0.5f, 1)}
+        };
+        for (Keyframe[] frames : invalid) {
+            try {
+                keyframes.setKeyframes(frames);
+                Assert.fail();
+            } catch (IllegalArgumentException expected) {
+                Assert.assertTrue(expected.getMessage().endsWith("!"));
+            }
+            Assert.assertFalse(keyframes.isIntValues());
+            Assert.assertEquals(2, keyframes.getKeyframeCount());
+            Assert.assertEquals(50f, keyframes.getFloatValue(0.5f, false), 0f);
+        }
+    }
+}
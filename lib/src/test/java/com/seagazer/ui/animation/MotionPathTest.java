@@ -0,0 +1,51 @@
+package com.seagazer.ui.animation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MotionPathTest {
+
+    @Test
+    public void polylineByArcLength() {
+        MotionPath path = MotionPath.ofPolyline(0, 0, 100, 0, 100, 100);
+        Assert.assertEquals(200f, path.getLength(), 1e-4f);
+        float[] out = new float[3];
+        path.getPosTan(0.25f, out);
+        Assert.assertArrayEquals(new float[]{50f, 0f, 0f}, out, 1e-4f);
+        path.getPosTan(0.75f, out);
+        Assert.assertArrayEquals(new float[]{100f, 50f, 90f}, out, 1e-4f);
+        path.getPosTan(1f, out);
+        Assert.assertArrayEquals(new float[]{100f, 100f, 90f}, out, 1e-4f);
+    }
+
+    @Test
+    public void curveEndsAtEndPoint() {
+        MotionPath path = new MotionPath().moveTo(10, 10).cubicTo(10, 110, 110, 110, 110, 10);
+        float[] out = new float[3];
+        path.getPosTan(0f, out);
+        Assert.assertEquals(10f, out[0], 1e-4f);
+        Assert.assertEquals(10f, out[1], 1e-4f);
+        Assert.assertEquals(90f, out[2], 1f);
+        path.getPosTan(0.5f, out);
+        // symmetric curve, the middle of the length is the top of the arch
+        Assert.assertEquals(60f, out[0], 0.5f);
+        Assert.assertEquals(85f, out[1], 0.5f);
+        path.getPosTan(1f, out);
+        Assert.assertEquals(110f, out[0], 1e-3f);
+        Assert.assertEquals(10f, out[1], 1e-3f);
+        Assert.assertEquals(-90f, out[2], 1f);
+    }
+
+    @Test
+    public void quadLengthMatchesArcLength() {
+        // the arc length of this parabola is 2 * (sqrt(2) + asinh(1)) * 50
+        MotionPath path = new MotionPath().quadTo(100, -100, 200, 0);
+        double expected = 100 * (Math.sqrt(2) + Math.log(1 + Math.sqrt(2)));
+        Assert.assertEquals(expected, path.getLength(), 0.1);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void moveToAfterSegments() {
+        new MotionPath().lineTo(10, 10).moveTo(0, 0);
+    }
+}
@@ -0,0 +1,82 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.components.Component;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PropertyRegistryTest {
+    private ManualFrameSource frameSource;
+    private final Component component = new Component();
+
+    @Before
+    public void setUp() {
+        frameSource = new ManualFrameSource();
+        AnimationHandler.getInstance().setFrameSource(frameSource);
+    }
+
+    private void advanceFrames(int frames) {
+        for (int i = 0; i < frames; i++) {
+            frameSource.advance(16);
+        }
+    }
+
+    @Test
+    public void takeOverValueAndVelocity() {
+        ValueAnimator first = ValueAnimator.ofObject(component, 0, 160, ValueAnimator.Property.TRANSLATION_X);
+        first.setDuration(1600);
+        first.start();
+        advanceFrames(50);
+        float value = first.getAnimatedValue(ValueAnimator.Property.TRANSLATION_X);
+        ValueAnimator second = ValueAnimator.ofObject(component, 200, 0, ValueAnimator.Property.TRANSLATION_X);
+        second.setDuration(1000);
+        second.start();
+        // the first one owns no property any more
+        Assert.assertFalse(first.isStarted());
+        advanceFrames(1);
+        Assert.assertEquals(value, second.getAnimatedValue(ValueAnimator.Property.TRANSLATION_X), 1e-3f);
+        advanceFrames(1);
+        // still moving forward at the speed of the first one, 0.1 per millisecond
+        float moved = second.getAnimatedValue(ValueAnimator.Property.TRANSLATION_X) - value;
+        Assert.assertEquals(1.6f, moved, 0.5f);
+        advanceFrames(70);
+        Assert.assertFalse(second.isStarted());
+        Assert.assertEquals(0f, second.getAnimatedValue(ValueAnimator.Property.TRANSLATION_X), 0f);
+    }
+
+    @Test
+    public void dropOnlyTakenProperty() {
+        ValueAnimator first = ValueAnimator.ofObject(component, 0, 100,
+                ValueAnimator.Property.TRANSLATION_X, ValueAnimator.Property.TRANSLATION_Y);
+        first.setDuration(1000);
+        first.start();
+        advanceFrames(10);
+        float taken = first.getAnimatedValue(ValueAnimator.Property.TRANSLATION_Y);
+        ValueAnimator second = ValueAnimator.ofObject(component, 0, 50, ValueAnimator.Property.TRANSLATION_Y);
+        second.setDuration(1000);
+        second.start();
+        Assert.assertTrue(first.isStarted());
+        float x = first.getAnimatedValue(ValueAnimator.Property.TRANSLATION_X);
+        advanceFrames(1);
+        Assert.assertTrue(first.getAnimatedValue(ValueAnimator.Property.TRANSLATION_X) > x);
+        Assert.assertEquals(taken, second.getAnimatedValue(ValueAnimator.Property.TRANSLATION_Y), 1e-3f);
+        advanceFrames(100);
+        Assert.assertNull(PropertyRegistry.getOwner(component, ValueAnimator.Property.TRANSLATION_X));
+        Assert.assertNull(PropertyRegistry.getOwner(component, ValueAnimator.Property.TRANSLATION_Y));
+    }
+
+    @Test
+    public void springTakesOverVelocity() {
+        ValueAnimator animator = ValueAnimator.ofObject(component, 0, 1000, ValueAnimator.Property.TRANSLATION_X);
+        animator.setDuration(1000);
+        animator.start();
+        advanceFrames(20);
+        SpringAnimation spring = new SpringAnimation(component, ValueAnimator.Property.TRANSLATION_X, 0);
+        spring.start();
+        Assert.assertFalse(animator.isStarted());
+        Assert.assertEquals(animator.getAnimatedValue(ValueAnimator.Property.TRANSLATION_X), spring.getValue(), 0f);
+        Assert.assertEquals(1000f, spring.getVelocity(), 1f);
+        spring.cancel();
+        Assert.assertNull(PropertyRegistry.getOwner(component, ValueAnimator.Property.TRANSLATION_X));
+    }
+}
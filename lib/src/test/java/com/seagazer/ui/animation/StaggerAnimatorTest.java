@@ -0,0 +1,157 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.animation.Animator;
+import ohos.agp.components.Component;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StaggerAnimatorTest {
+    private ManualFrameSource frameSource;
+    private AlphaComponent[] items;
+    private int curveCalls;
+
+    private static class AlphaComponent extends Component {
+        private float alpha = -1;
+
+        @Override
+        public void setAlpha(float alpha) {
+            this.alpha = alpha;
+        }
+
+        @Override
+        public float getAlpha() {
+            return alpha;
+        }
+    }
+
+    // linear, counts the items updated
+    private final Animator.TimelineCurve countingCurve = new Animator.TimelineCurve() {
+        @Override
+        public float getCurvedTime(float input) {
+            curveCalls++;
+            return input;
+        }
+    };
+
+    @Before
+    public void setUp() {
+        frameSource = new ManualFrameSource();
+        AnimationHandler.getInstance().setFrameSource(frameSource);
+        items = new AlphaComponent[]{new AlphaComponent(), new AlphaComponent(), new AlphaComponent()};
+    }
+
+    private StaggerAnimator createStagger() {
+        StaggerAnimator stagger = new StaggerAnimator(items, 0f, 1f, ValueAnimator.Property.ALPHA);
+        stagger.setDuration(100);
+        stagger.setStaggerDelay(50);
+        stagger.setInterpolator(countingCurve);
+        return stagger;
+    }
+
+    @Test
+    public void itemsStartOneByOne() {
+        StaggerAnimator stagger = createStagger();
+        stagger.start();
+        // the first frame sets the start time and shows the start values
+        frameSource.advance(16);
+        Assert.assertEquals(0f, items[2].getAlpha(), 0f);
+        frameSource.advance(60);
+        Assert.assertEquals(0.6f, items[0].getAlpha(), 1e-4f);
+        Assert.assertEquals(0.1f, items[1].getAlpha(), 1e-4f);
+        Assert.assertEquals(0f, items[2].getAlpha(), 0f);
+        frameSource.advance(60);
+        Assert.assertEquals(1f, items[0].getAlpha(), 0f);
+        Assert.assertEquals(0.7f, items[1].getAlpha(), 1e-4f);
+        Assert.assertEquals(0.2f, items[2].getAlpha(), 1e-4f);
+        Assert.assertEquals(200, stagger.getTotalDuration());
+        frameSource.advance(100);
+        Assert.assertFalse(stagger.isStarted());
+        Assert.assertEquals(1f, items[2].getAlpha(), 0f);
+    }
+
+    @Test
+    public void finishedItemsAreSkipped() {
+        StaggerAnimator stagger = createStagger();
+        stagger.start();
+        frameSource.advance(16);
+        frameSource.advance(110);
+        // the first item is finished, only the second and the third are updated
+        curveCalls = 0;
+        frameSource.advance(10);
+        Assert.assertEquals(2, curveCalls);
+        stagger.cancel();
+    }
+
+    @Test
+    public void endAndCancel() {
+        StaggerAnimator stagger = createStagger();
+        stagger.start();
+        frameSource.advance(16);
+        frameSource.advance(60);
+        stagger.cancel();
+        Assert.assertFalse(stagger.isStarted());
+        frameSource.advance(60);
+        Assert.assertEquals(0.6f, items[0].getAlpha(), 1e-4f);
+        Assert.assertNull(PropertyRegistry.getOwner(items[0], ValueAnimator.Property.ALPHA));
+        stagger.start();
+        frameSource.advance(16);
+        stagger.end();
+        Assert.assertFalse(stagger.isStarted());
+        for (AlphaComponent item : items) {
+            Assert.assertEquals(1f, item.getAlpha(), 0f);
+        }
+    }
+
+    @Test
+    public void pauseAndResume() {
+        StaggerAnimator stagger = createStagger();
+        stagger.start();
+        frameSource.advance(16);
+        frameSource.advance(60);
+        stagger.pause();
+        Assert.assertTrue(stagger.isPaused());
+        frameSource.advance(500);
+        Assert.assertEquals(0.6f, items[0].getAlpha(), 1e-4f);
+        stagger.resume();
+        frameSource.advance(20);
+        Assert.assertEquals(0.8f, items[0].getAlpha(), 1e-4f);
+        Assert.assertEquals(0.3f, items[1].getAlpha(), 1e-4f);
+        stagger.cancel();
+    }
+
+    @Test
+    public void zeroDuration() {
+        StaggerAnimator stagger = createStagger();
+        stagger.setDuration(0);
+        stagger.start();
+        frameSource.advance(16);
+        Assert.assertEquals(1f, items[0].getAlpha(), 0f);
+        Assert.assertEquals(0f, items[1].getAlpha(), 0f);
+        frameSource.advance(50);
+        Assert.assertEquals(1f, items[1].getAlpha(), 0f);
+        frameSource.advance(50);
+        Assert.assertFalse(stagger.isStarted());
+        Assert.assertEquals(1f, items[2].getAlpha(), 0f);
+    }
+
+    @Test
+    public void itemTakenOver() {
+        StaggerAnimator stagger = createStagger();
+        stagger.start();
+        frameSource.advance(16);
+        frameSource.advance(60);
+        ValueAnimator fade = ValueAnimator.ofObject(items[1], 0.1f, 0.5f, ValueAnimator.Property.ALPHA);
+        fade.setDuration(1000);
+        fade.start();
+        frameSource.advance(16);
+        // the stagger no longer writes the item taken over
+        float written = items[1].getAlpha();
+        Assert.assertTrue(stagger.isStarted());
+        frameSource.advance(16);
+        Assert.assertEquals(fade.getAnimatedValue(ValueAnimator.Property.ALPHA), items[1].getAlpha(), 0f);
+        Assert.assertTrue(items[1].getAlpha() > written);
+        fade.cancel();
+        stagger.cancel();
+    }
+}
@@ -0,0 +1,77 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.components.Component;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TargetGroupTest {
+    private ManualFrameSource frameSource;
+    private final Component[] cells = {new Component(), new Component(), new Component()};
+
+    @Before
+    public void setUp() {
+        frameSource = new ManualFrameSource();
+        AnimationHandler.getInstance().setFrameSource(frameSource);
+    }
+
+    private void advanceFrames(int frames) {
+        for (int i = 0; i < frames; i++) {
+            frameSource.advance(16);
+        }
+    }
+
+    @Test
+    public void takeOverOneTarget() {
+        ValueAnimator dim = ValueAnimator.ofObject(cells, 1f, 0.5f, ValueAnimator.Property.ALPHA);
+        dim.setDuration(1000);
+        dim.start();
+        advanceFrames(10);
+        Assert.assertEquals(3, dim.getTargetCount());
+        PropertyRegistry.Owner owner = PropertyRegistry.getOwner(cells[0], ValueAnimator.Property.ALPHA);
+        Assert.assertSame(owner, PropertyRegistry.getOwner(cells[2], ValueAnimator.Property.ALPHA));
+        ValueAnimator highlight = ValueAnimator.ofObject(cells[1], 0.5f, 1f, ValueAnimator.Property.ALPHA);
+        highlight.start();
+        // only the cell taken over leaves the group
+        Assert.assertTrue(dim.isStarted());
+        Assert.assertEquals(2, dim.getTargetCount());
+        Assert.assertSame(owner, PropertyRegistry.getOwner(cells[0], ValueAnimator.Property.ALPHA));
+        ValueAnimator.ofObject(new Component[]{cells[0], cells[2]}, 1f, 0f, ValueAnimator.Property.ALPHA).start();
+        Assert.assertFalse(dim.isStarted());
+    }
+
+    @Test
+    public void addAndRemoveTargets() {
+        ValueAnimator animator = ValueAnimator.ofObject(cells[0], 0, 100, ValueAnimator.Property.TRANSLATION_X,
+                ValueAnimator.Property.TRANSLATION_Y);
+        animator.setDuration(1000);
+        animator.start();
+        advanceFrames(5);
+        animator.addTarget(cells[1]);
+        animator.addTarget(cells[1]);
+        Assert.assertEquals(2, animator.getTargetCount());
+        Assert.assertNotNull(PropertyRegistry.getOwner(cells[1], ValueAnimator.Property.TRANSLATION_Y));
+        animator.removeTarget(cells[0]);
+        Assert.assertEquals(1, animator.getTargetCount());
+        Assert.assertNull(PropertyRegistry.getOwner(cells[0], ValueAnimator.Property.TRANSLATION_X));
+        advanceFrames(100);
+        Assert.assertFalse(animator.isStarted());
+        Assert.assertEquals(100f, animator.getAnimatedValue(ValueAnimator.Property.TRANSLATION_Y), 0f);
+        Assert.assertNull(PropertyRegistry.getOwner(cells[1], ValueAnimator.Property.TRANSLATION_X));
+    }
+
+    @Test
+    public void pruneByMovingLast() {
+        TargetGroup group = new TargetGroup();
+        for (Component cell : cells) {
+            group.add(cell);
+        }
+        group.release(2, 1);
+        group.removeAt(0);
+        Assert.assertEquals(2, group.size());
+        Assert.assertSame(cells[2], group.get(0));
+        Assert.assertEquals(2, group.getReleasedMask(0));
+        Assert.assertEquals(-1, group.indexOf(cells[0]));
+        Assert.assertEquals(2, group.prune());
+    }
+}
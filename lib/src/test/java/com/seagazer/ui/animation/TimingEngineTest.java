@@ -0,0 +1,124 @@
+package com.seagazer.ui.animation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TimingEngineTest {
+
+    @Test
+    public void startDelay() {
+        TimingEngine timing = new TimingEngine();
+        timing.setDuration(100);
+        timing.setStartDelay(50);
+        timing.start();
+        Assert.assertEquals(-1, timing.getPlayTime(1000));
+        Assert.assertEquals(-1, timing.getPlayTime(1049));
+        Assert.assertEquals(0, timing.getPlayTime(1050));
+        Assert.assertEquals(30, timing.getPlayTime(1080));
+    }
+
+    @Test
+    public void fractionAndFinish() {
+        TimingEngine timing = new TimingEngine();
+        timing.setDuration(100);
+        timing.start();
+        timing.setPlayTime(25);
+        Assert.assertEquals(0.25f, timing.getFraction(), 1e-6f);
+        Assert.assertFalse(timing.isFinished());
+        timing.setPlayTime(130);
+        Assert.assertEquals(1f, timing.getFraction(), 0f);
+        Assert.assertTrue(timing.isFinished());
+    }
+
+    @Test
+    public void repeatCounting() {
+        TimingEngine timing = new TimingEngine();
+        timing.setDuration(100);
+        timing.setRepeatCount(2);
+        timing.start();
+        Assert.assertEquals(0, timing.setPlayTime(50));
+        Assert.assertEquals(2, timing.setPlayTime(250));
+        Assert.assertEquals(2, timing.getCurrentIteration());
+        Assert.assertEquals(0.5f, timing.getFraction(), 1e-6f);
+        Assert.assertEquals(0, timing.setPlayTime(400));
+        Assert.assertTrue(timing.isFinished());
+        Assert.assertEquals(300, timing.getTotalDuration());
+    }
+
+    @Test
+    public void reverseOnRepeat() {
+        TimingEngine timing = new TimingEngine();
+        timing.setDuration(100);
+        timing.setRepeatCount(TimingEngine.INFINITE);
+        timing.setReverseOnRepeat(true);
+        timing.start();
+        timing.setPlayTime(50);
+        Assert.assertFalse(timing.isReversing());
+        timing.setPlayTime(150);
+        Assert.assertTrue(timing.isReversing());
+        timing.setPlayTime(350);
+        Assert.assertTrue(timing.isReversing());
+        timing.setPlayTime(450);
+        Assert.assertFalse(timing.isReversing());
+        Assert.assertFalse(timing.isFinished());
+    }
+
+    @Test
+    public void pauseExcludedFromPlayTime() {
+        TimingEngine timing = new TimingEngine();
+        timing.setDuration(100);
+        timing.start();
+        timing.getPlayTime(0);
+        timing.pause(40);
+        timing.resume(1040);
+        Assert.assertEquals(100, timing.getPlayTime(1100));
+    }
+
+    @Test
+    public void seekAcrossReversedRepeats() {
+        TimingEngine timing = new TimingEngine();
+        timing.setDuration(100);
+        timing.setRepeatCount(TimingEngine.INFINITE);
+        timing.setReverseOnRepeat(true);
+        timing.start();
+        timing.seek(350, 0);
+        Assert.assertEquals(3, timing.getCurrentIteration());
+        Assert.assertEquals(0.5f, timing.getFraction(), 1e-6f);
+        Assert.assertTrue(timing.isReversing());
+        timing.seek(120, 0);
+        Assert.assertEquals(1, timing.getCurrentIteration());
+        Assert.assertTrue(timing.isReversing());
+        timing.seek(40, 0);
+        Assert.assertFalse(timing.isReversing());
+        // the running animation continues from the seeked time without reporting repeats
+        Assert.assertEquals(0, timing.setPlayTime(timing.getPlayTime(30)));
+        Assert.assertEquals(0.7f, timing.getFraction(), 1e-6f);
+    }
+
+    @Test
+    public void seekClampedAndNotFinished() {
+        TimingEngine timing = new TimingEngine();
+        timing.setDuration(100);
+        timing.setRepeatCount(1);
+        timing.start();
+        timing.seek(500, 0);
+        Assert.assertEquals(1, timing.getCurrentIteration());
+        Assert.assertEquals(1f, timing.getFraction(), 0f);
+        Assert.assertFalse(timing.isFinished());
+        timing.seek(-20, 0);
+        Assert.assertEquals(0, timing.getCurrentIteration());
+        Assert.assertEquals(0f, timing.getFraction(), 0f);
+    }
+
+    @Test
+    public void seekWhilePaused() {
+        TimingEngine timing = new TimingEngine();
+        timing.setDuration(100);
+        timing.start();
+        timing.getPlayTime(0);
+        timing.pause(10);
+        timing.seek(60, 500);
+        timing.resume(1000);
+        Assert.assertEquals(70, timing.getPlayTime(1010));
+    }
+}
@@ -0,0 +1,118 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.animation.Animator;
+import ohos.agp.animation.AnimatorValue;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+public class TrajectoryTest {
+    private ManualFrameSource frameSource;
+
+    @Before
+    public void setUp() {
+        frameSource = new ManualFrameSource();
+        AnimationHandler.getInstance().setFrameSource(frameSource);
+        Trajectory.clearCache();
+    }
+
+    private ValueAnimator createPulse(boolean replay) {
+        ValueAnimator animator = ValueAnimator.ofFloat(0, 100, 40);
+        animator.setDuration(480);
+        animator.setInterpolatorType(Animator.CurveType.ACCELERATE);
+        animator.setRepeatCount(AnimatorValue.INFINITE);
+        animator.setRepeatMode(ValueAnimator.RepeatMode.REVERSE);
+        animator.setTrajectoryReplay(replay);
+        return animator;
+    }
+
+    @Test
+    public void replayMatchesEvaluation() {
+        ValueAnimator live = createPulse(false);
+        ValueAnimator replay = createPulse(true);
+        live.start();
+        replay.start();
+        // several forward and reversed iterations on the frame rate
+        for (int i = 0; i < 120; i++) {
+            frameSource.advance(16);
+            Assert.assertEquals(live.getAnimatedFloat(), replay.getAnimatedFloat(), 1e-3f);
+        }
+        // off the frame rate, interpolated between the samples, one sample moves about 13 at most
+        for (int i = 0; i < 120; i++) {
+            frameSource.advance(i % 3 == 0 ? 7 : 16);
+            Assert.assertEquals(live.getAnimatedFloat(), replay.getAnimatedFloat(), 3f);
+        }
+        live.cancel();
+        replay.cancel();
+    }
+
+    @Test
+    public void sharedByIdenticalSpecs() {
+        KeyframeSet keyframes = new KeyframeSet();
+        keyframes.setFloatValues(0, 100);
+        KeyframeSet same = new KeyframeSet();
+        same.setFloatValues(0, 100);
+        Trajectory trajectory = Trajectory.obtain(keyframes, Animator.CurveType.LINEAR, null, 1000, 16);
+        Assert.assertSame(trajectory, Trajectory.obtain(same, Animator.CurveType.LINEAR, null, 1000, 16));
+        Assert.assertNotSame(trajectory, Trajectory.obtain(same, Animator.CurveType.LINEAR, null, 500, 16));
+        Assert.assertNotSame(trajectory, Trajectory.obtain(same, Animator.CurveType.ACCELERATE, null, 1000, 16));
+        // the reversed iterations of a linear curve read the forward samples backwards
+        Assert.assertEquals(75f, trajectory.getValue(0.25f, true), 1e-3f);
+    }
+
+    @Test
+    public void evaluateUntilSampled() {
+        final List<Runnable> tasks = new ArrayList<>();
+        Trajectory.setExecutor(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                tasks.add(command);
+            }
+        });
+        try {
+            ValueAnimator animator = createPulse(true);
+            animator.start();
+            frameSource.advance(16);
+            float value = animator.getAnimatedFloat();
+            Assert.assertEquals(1, tasks.size());
+            tasks.get(0).run();
+            KeyframeSet keyframes = new KeyframeSet();
+            keyframes.setFloatValues(0, 100, 40);
+            Trajectory trajectory = Trajectory.obtain(keyframes, Animator.CurveType.ACCELERATE, null, 480, 16);
+            Assert.assertTrue(trajectory.isReady());
+            Assert.assertEquals(value, trajectory.getValue(16 / 480f, false), 0.5f);
+            animator.cancel();
+        } finally {
+            Trajectory.setExecutor(null);
+        }
+    }
+
+    @Test
+    public void curvesHeldWeakly() throws InterruptedException {
+        Animator.TimelineCurve curve = new Animator.TimelineCurve() {
+            @Override
+            public float getCurvedTime(float input) {
+                return input * input;
+            }
+        };
+        KeyframeSet keyframes = new KeyframeSet();
+        keyframes.setKeyframes(Keyframe.ofFloat(0f, 0), Keyframe.ofFloat(1f, 100));
+        Trajectory trajectory = Trajectory.obtain(keyframes, Animator.CurveType.LINEAR, curve, 1000, 16);
+        Assert.assertTrue(trajectory.isReady());
+        Assert.assertSame(trajectory, Trajectory.obtain(keyframes, Animator.CurveType.LINEAR, curve, 1000, 16));
+        WeakReference<Animator.TimelineCurve> reference = new WeakReference<>(curve);
+        curve = null;
+        for (int i = 0; i < 10 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        // the cached trajectory does not keep the curve alive, and still replays its samples
+        Assert.assertNull(reference.get());
+        Assert.assertEquals(25f, trajectory.getValue(0.5f, false), 0.1f);
+    }
+}
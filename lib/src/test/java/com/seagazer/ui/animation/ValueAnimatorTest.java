@@ -0,0 +1,171 @@
+package com.seagazer.ui.animation;
+
+import ohos.agp.components.Component;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+
+public class ValueAnimatorTest {
+    private ManualFrameSource frameSource;
+    private AlphaComponent target;
+    private int updates;
+
+    private static class AlphaComponent extends Component {
+        private float alpha = -1;
+        private boolean hidden = false;
+
+        @Override
+        public void setAlpha(float alpha) {
+            this.alpha = alpha;
+        }
+
+        @Override
+        public float getAlpha() {
+            return alpha;
+        }
+
+        @Override
+        public int getVisibility() {
+            return hidden ? INVISIBLE : VISIBLE;
+        }
+    }
+
+    private final ValueAnimator.AnimatorUpdateListener countingListener = new ValueAnimator.AnimatorUpdateListener() {
+        @Override
+        public void onAnimationUpdate(ValueAnimator animator, float fraction, Object animatedValue) {
+            updates++;
+        }
+    };
+
+    @Before
+    public void setUp() {
+        frameSource = new ManualFrameSource();
+        AnimationHandler.getInstance().setFrameSource(frameSource);
+        target = new AlphaComponent();
+    }
+
+    @Test
+    public void endValueWrittenWithinEpsilon() {
+        ValueAnimator animator = ValueAnimator.ofObject(target, 0f, 1f, ValueAnimator.Property.ALPHA);
+        animator.setDuration(100);
+        animator.setWriteEpsilon(0.5f);
+        animator.start();
+        frameSource.advanceFrames(5, 16);
+        Assert.assertEquals(0.64f, target.getAlpha(), 1e-4f);
+        frameSource.advanceFrames(4, 16);
+        Assert.assertFalse(animator.isStarted());
+        Assert.assertEquals(1f, target.getAlpha(), 0f);
+        // end() writes the end value too
+        animator.setWriteEpsilon(2f);
+        animator.start();
+        frameSource.advance(16);
+        Assert.assertEquals(0f, target.getAlpha(), 0f);
+        animator.end();
+        Assert.assertEquals(1f, target.getAlpha(), 0f);
+    }
+
+    @Test
+    public void seekBeforeStart() {
+        ValueAnimator animator = ValueAnimator.ofObject(target, 0f, 1f, ValueAnimator.Property.ALPHA);
+        animator.setDuration(100);
+        animator.setStartDelay(500);
+        animator.setCurrentPlayTime(40);
+        // applied at once, and the target is not held by an animation not started
+        Assert.assertEquals(0.4f, target.getAlpha(), 1e-4f);
+        Assert.assertNull(PropertyRegistry.getOwner(target, ValueAnimator.Property.ALPHA));
+        animator.start();
+        frameSource.advance(16);
+        Assert.assertEquals(0.56f, target.getAlpha(), 1e-4f);
+        frameSource.advanceFrames(3, 16);
+        Assert.assertEquals(1f, target.getAlpha(), 0f);
+        Assert.assertFalse(animator.isStarted());
+        // the next start plays from the beginning again
+        animator.setStartDelay(0);
+        animator.start();
+        frameSource.advance(16);
+        Assert.assertEquals(0f, target.getAlpha(), 0f);
+        animator.cancel();
+    }
+
+    @Test
+    public void seekTakesOverTarget() {
+        ValueAnimator fade = ValueAnimator.ofObject(target, 1f, 0f, ValueAnimator.Property.ALPHA);
+        fade.setDuration(1000);
+        fade.start();
+        frameSource.advanceFrames(2, 16);
+        ValueAnimator scrub = ValueAnimator.ofObject(target, 0f, 1f, ValueAnimator.Property.ALPHA);
+        scrub.setDuration(100);
+        scrub.setCurrentFraction(0.5f);
+        Assert.assertEquals(0.5f, target.getAlpha(), 0f);
+        // the only property of fade is taken over
+        Assert.assertFalse(fade.isStarted());
+        frameSource.advance(16);
+        Assert.assertEquals(0.5f, target.getAlpha(), 0f);
+    }
+
+    @Test
+    public void intHolderStepsByWholeValues() {
+        ValueAnimator animator = ValueAnimator.ofPropertyValuesHolder(target,
+                PropertyValuesHolder.ofFloat(ValueAnimator.Property.ALPHA, 0f, 1f),
+                PropertyValuesHolder.ofInt(ValueAnimator.Property.TRANSLATION_X, 0, 10));
+        animator.setDuration(100);
+        animator.start();
+        frameSource.advanceFrames(2, 16);
+        Assert.assertEquals(0.16f, target.getAlpha(), 1e-4f);
+        Assert.assertEquals(1f, animator.getAnimatedValue(ValueAnimator.Property.TRANSLATION_X), 0f);
+        frameSource.advanceFrames(6, 16);
+        Assert.assertFalse(animator.isStarted());
+        Assert.assertEquals(10f, animator.getAnimatedValue(ValueAnimator.Property.TRANSLATION_X), 0f);
+    }
+
+    @Test
+    public void hiddenTargetSuspends() {
+        ValueAnimator animator = ValueAnimator.ofObject(target, 0f, 1f, ValueAnimator.Property.ALPHA);
+        animator.setDuration(100);
+        animator.addUpdateListener(countingListener);
+        animator.start();
+        frameSource.advanceFrames(2, 16);
+        Assert.assertEquals(0.16f, target.getAlpha(), 1e-4f);
+        target.hidden = true;
+        updates = 0;
+        frameSource.advanceFrames(10, 16);
+        // no frame is played and the time stops while hidden
+        Assert.assertTrue(animator.isSuspended());
+        Assert.assertTrue(animator.isStarted());
+        Assert.assertEquals(0, updates);
+        Assert.assertEquals(0.16f, target.getAlpha(), 1e-4f);
+        target.hidden = false;
+        frameSource.advance(16);
+        Assert.assertFalse(animator.isSuspended());
+        Assert.assertEquals(1, updates);
+        Assert.assertEquals(0.32f, target.getAlpha(), 1e-4f);
+        animator.cancel();
+    }
+
+    @Test
+    public void collectedTargetCancels() throws InterruptedException {
+        WeakReference<Component> reference = startOnDroppedTarget();
+        frameSource.advance(16);
+        Assert.assertEquals(1, updates);
+        for (int i = 0; i < 10 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertNull(reference.get());
+        frameSource.advanceFrames(3, 16);
+        // canceled on the first frame after collected, nothing is dispatched any more
+        Assert.assertEquals(1, updates);
+        Assert.assertEquals(0, AnimationHandler.getInstance().getActiveCount());
+    }
+
+    private WeakReference<Component> startOnDroppedTarget() {
+        Component component = new AlphaComponent();
+        ValueAnimator animator = ValueAnimator.ofObject(component, 0f, 1f, ValueAnimator.Property.ALPHA);
+        animator.setDuration(1000);
+        animator.addUpdateListener(countingListener);
+        animator.start();
+        return new WeakReference<>(component);
+    }
+}
@@ -0,0 +1,48 @@
+package com.seagazer.ui.animation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+
+public class WeakIdentityIndexTest {
+    @Test
+    public void findBySlot() {
+        Object[] objects = new Object[1000];
+        WeakReference<?>[] references = new WeakReference<?>[objects.length];
+        WeakIdentityIndex index = new WeakIdentityIndex(4);
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = new Object();
+            references[i] = new WeakReference<>(objects[i]);
+            index.put(WeakIdentityIndex.hash(objects[i]), i);
+        }
+        for (int i = 0; i < objects.length; i++) {
+            Assert.assertEquals(i, index.find(objects[i], references));
+        }
+        Assert.assertEquals(-1, index.find(new Object(), references));
+    }
+
+    @Test
+    public void removeAndMove() {
+        Object[] objects = new Object[100];
+        WeakReference<?>[] references = new WeakReference<?>[objects.length];
+        WeakIdentityIndex index = new WeakIdentityIndex(objects.length);
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = new Object();
+            references[i] = new WeakReference<>(objects[i]);
+            index.put(WeakIdentityIndex.hash(objects[i]), i);
+        }
+        // move the last one into the removed slot, as the target group does
+        int last = objects.length - 1;
+        index.remove(WeakIdentityIndex.hash(objects[0]), 0);
+        index.move(WeakIdentityIndex.hash(objects[last]), last, 0);
+        references[0] = references[last];
+        Assert.assertEquals(0, index.find(objects[last], references));
+        Assert.assertEquals(-1, index.find(objects[0], references));
+        for (int i = 1; i < last; i++) {
+            Assert.assertEquals(i, index.find(objects[i], references));
+        }
+        index.clear();
+        Assert.assertEquals(-1, index.find(objects[1], references));
+    }
+}